@@ -0,0 +1,29 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite with the GC profiler enabled, so that allocation rates are reported
+ * alongside throughput.  Arguments are passed to JMH as on its command line (for example, a regex
+ * selecting benchmarks such as `ShortestPaths` or `-p scale=1`).  Benchmarks run with the Vector
+ * API enabled, as the app should be (see `CrossGradRows`).  Run with the project directory as the
+ * working directory (or set `-Dbench.images`) so that bundled images can be found.
+ */
+public class RunBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Dbench.images=" + System.getProperty("bench.images", "."),
+                        "--add-modules", "jdk.incubator.vector")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,160 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares min-queue implementations under a Dijkstra-like workload: starting from one key, the
+ * minimum is repeatedly removed and a few random "neighbors" are added or have their priorities
+ * reduced to the removed priority plus a bounded random weight.  The neighbors and weights are
+ * drawn in advance so that only queue operations are measured.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MinQueueBenchmark {
+
+    /**
+     * The number of distinct keys (like the vertex count of a graph).
+     */
+    @Param({"10000", "250000"})
+    public int keyCount;
+
+    /**
+     * The number of neighbors offered after each removal (8 for an image graph).
+     */
+    static final int DEGREE = 8;
+
+    /**
+     * The largest weight added to a removed priority (255 for the scissors weighers).
+     */
+    static final int MAX_WEIGHT = 255;
+
+    /**
+     * `neighbors[DEGREE*k + i]` and `weights[DEGREE*k + i]` describe the `i`th edge offered after
+     * the `k`th removal.
+     */
+    private int[] neighbors;
+    private int[] weights;
+
+    /**
+     * The best priority offered so far for each key, reset before each run.
+     */
+    private int[] best;
+
+    /**
+     * Whether each key has been removed, reset before each run.
+     */
+    private boolean[] removed;
+
+    private MinQueue<Integer> heapQueue;
+    private MinQueue<Integer> refQueue;
+    private IntMinQueue intHeapQueue;
+    private IntMinQueue bucketQueue;
+
+    @Setup
+    public void setup() {
+        Random rng = new Random(1);
+        neighbors = new int[DEGREE * keyCount];
+        weights = new int[DEGREE * keyCount];
+        for (int i = 0; i < neighbors.length; ++i) {
+            neighbors[i] = rng.nextInt(keyCount);
+            weights[i] = rng.nextInt(MAX_WEIGHT + 1);
+        }
+        best = new int[keyCount];
+        removed = new boolean[keyCount];
+        heapQueue = new HeapMinQueue<>();
+        refQueue = new RefMinQueue<>();
+        intHeapQueue = new IntHeapMinQueue(keyCount);
+        bucketQueue = new BucketMinQueue(keyCount, MAX_WEIGHT);
+    }
+
+    @Benchmark
+    public int heapMinQueue() {
+        return run(heapQueue);
+    }
+
+    @Benchmark
+    public int refMinQueue() {
+        return run(refQueue);
+    }
+
+    @Benchmark
+    public int intHeapMinQueue() {
+        return run(intHeapQueue);
+    }
+
+    @Benchmark
+    public int bucketMinQueue() {
+        return run(bucketQueue);
+    }
+
+    /**
+     * Run the workload on the (empty) boxed queue `q`, returning the number of removals.
+     */
+    private int run(MinQueue<Integer> q) {
+        Arrays.fill(best, Integer.MAX_VALUE);
+        Arrays.fill(removed, false);
+        best[0] = 0;
+        q.addOrUpdate(0, 0);
+        int removals = 0;
+        while (!q.isEmpty()) {
+            int d = q.minPriority();
+            int key = q.remove();
+            removed[key] = true;
+            int base = DEGREE * removals;
+            for (int i = base; i < base + DEGREE; ++i) {
+                int neighbor = neighbors[i];
+                int priority = d + weights[i];
+                if (!removed[neighbor] && priority < best[neighbor]) {
+                    best[neighbor] = priority;
+                    q.addOrUpdate(neighbor, priority);
+                }
+            }
+            removals += 1;
+        }
+        return removals;
+    }
+
+    /**
+     * Run the workload on the (empty) primitive queue `q`, returning the number of removals.
+     */
+    private int run(IntMinQueue q) {
+        Arrays.fill(best, Integer.MAX_VALUE);
+        Arrays.fill(removed, false);
+        best[0] = 0;
+        q.addOrUpdate(0, 0);
+        int removals = 0;
+        while (!q.isEmpty()) {
+            int d = q.minPriority();
+            int key = q.remove();
+            removed[key] = true;
+            int base = DEGREE * removals;
+            for (int i = base; i < base + DEGREE; ++i) {
+                int neighbor = neighbors[i];
+                int priority = d + weights[i];
+                if (!removed[neighbor] && priority < best[neighbor]) {
+                    best[neighbor] = priority;
+                    q.addOrUpdate(neighbor, priority);
+                }
+            }
+            removals += 1;
+        }
+        return removals;
+    }
+}
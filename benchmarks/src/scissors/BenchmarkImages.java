@@ -0,0 +1,86 @@
+package scissors;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+/**
+ * Provides the images that scissors benchmarks run on: either a bundled image or a deterministic
+ * synthetic one, scaled to a requested size.  Bundled images are read from the directory named by
+ * the `bench.images` system property (the working directory by default).
+ */
+public class BenchmarkImages {
+
+    /**
+     * The name that selects a synthetic image instead of a bundled one.
+     */
+    public static final String SYNTHETIC = "synthetic";
+
+    /**
+     * The size of the synthetic image before scaling.
+     */
+    static final int SYNTHETIC_SIZE = 512;
+
+    /**
+     * Return the image named `name` (a bundled image file, or SYNTHETIC) with each dimension
+     * multiplied by `scale`.  Throws IOException if a bundled image cannot be read.
+     */
+    public static BufferedImage load(String name, double scale) throws IOException {
+        BufferedImage original = name.equals(SYNTHETIC) ? synthetic()
+                : ImageIO.read(new File(System.getProperty("bench.images", "."), name));
+        if (original == null) {
+            throw new IOException("Unreadable image: " + name);
+        }
+        return scaled(original, scale);
+    }
+
+    /**
+     * Return a copy of `img` with each dimension multiplied by `scale`, in a standard RGB format.
+     */
+    static BufferedImage scaled(BufferedImage img, double scale) {
+        int width = Math.max(1, (int) Math.round(img.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(img.getHeight() * scale));
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(img, 0, 0, width, height, null);
+        g.dispose();
+        return result;
+    }
+
+    /**
+     * Return a synthetic image with strong edges (overlapping shapes) over a noisy background, so
+     * that shortest paths behave as they would on a photograph.
+     */
+    static BufferedImage synthetic() {
+        Random rng = new Random(1);
+        BufferedImage img = new BufferedImage(SYNTHETIC_SIZE, SYNTHETIC_SIZE,
+                BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < SYNTHETIC_SIZE; ++y) {
+            for (int x = 0; x < SYNTHETIC_SIZE; ++x) {
+                int v = 96 + rng.nextInt(32);
+                img.setRGB(x, y, new Color(v, v, v).getRGB());
+            }
+        }
+        Graphics2D g = img.createGraphics();
+        for (int i = 0; i < 40; ++i) {
+            g.setColor(new Color(rng.nextInt(256), rng.nextInt(256), rng.nextInt(256)));
+            int x = rng.nextInt(SYNTHETIC_SIZE);
+            int y = rng.nextInt(SYNTHETIC_SIZE);
+            int size = 16 + rng.nextInt(SYNTHETIC_SIZE / 4);
+            if (i % 2 == 0) {
+                g.fillOval(x, y, size, size);
+            } else {
+                g.fillRect(x, y, size, size / 2);
+            }
+        }
+        g.dispose();
+        return img;
+    }
+}
@@ -0,0 +1,61 @@
+package scissors;
+
+import graph.PathfindingSnapshot;
+import graph.ShortestPaths;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import selector.PolyLine;
+
+/**
+ * Measures extracting a path from finished pathfinding results (as the live wire does on every
+ * mouse movement) and converting it to a `PolyLine`.  The path runs between opposite corners of a
+ * synthetic image, so its length grows with the image size.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PathBenchmark {
+
+    @Param({"0.5", "1", "2"})
+    public double scale;
+
+    private ImageGraph graph;
+    private PathfindingSnapshot paths;
+    private int targetId;
+    private List<Integer> path;
+
+    @Setup
+    public void setup() throws IOException {
+        graph = new ImageGraph(BenchmarkImages.load(BenchmarkImages.SYNTHETIC, scale));
+        ShortestPaths<ImageVertex, ImageEdge> pathfinder = new ShortestPaths<>(graph,
+                ScissorsWeights.makeWeigher("CrossGradMono", graph));
+        paths = pathfinder.findAllPaths(0);
+        targetId = graph.vertexCount() - 1;
+        path = paths.pathTo(targetId);
+    }
+
+    @Benchmark
+    public List<Integer> pathTo() {
+        return paths.pathTo(targetId);
+    }
+
+    @Benchmark
+    public PolyLine pathToPolyLine() {
+        return graph.pathToPolyLine(path);
+    }
+}
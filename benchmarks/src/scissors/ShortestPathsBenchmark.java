@@ -0,0 +1,68 @@
+package scissors;
+
+import graph.DeltaSteppingPaths;
+import graph.PathfindingSnapshot;
+import graph.ShortestPaths;
+import graph.Weigher;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures full-image shortest-paths solves on `ImageGraph`s of several images and sizes, so that
+ * both throughput and its scaling with image size can be compared.  Solvers are reused between
+ * solves (as they would be for repeated solves on one image), and edge weights are computed during
+ * setup.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ShortestPathsBenchmark {
+
+    @Param({BenchmarkImages.SYNTHETIC, "McGraw_Tower.jpg", "challenge_1.png"})
+    public String image;
+
+    @Param({"0.5", "1", "2"})
+    public double scale;
+
+    @Param({"CrossGradMono", "LuminanceGradient", "Composite", "GaussianGradient"})
+    public String weigher;
+
+    private ImageGraph graph;
+    private ShortestPaths<ImageVertex, ImageEdge> sequential;
+    private DeltaSteppingPaths<ImageVertex, ImageEdge> parallel;
+    private int startId;
+
+    @Setup
+    public void setup() throws IOException {
+        graph = new ImageGraph(BenchmarkImages.load(image, scale));
+        Weigher<ImageEdge> w = ScissorsWeights.makeWeigher(weigher, graph);
+        sequential = new ShortestPaths<>(graph, w);
+        parallel = new DeltaSteppingPaths<>(graph, w);
+        // Start near the center, where a click is most likely.
+        startId = ImageVertex.xyToId(graph.width() / 2, graph.height() / 2, graph.width());
+    }
+
+    @Benchmark
+    public PathfindingSnapshot findAllPaths() {
+        return sequential.findAllPaths(startId);
+    }
+
+    @Benchmark
+    public PathfindingSnapshot findAllPathsParallel() {
+        return parallel.findAllPaths(startId);
+    }
+}
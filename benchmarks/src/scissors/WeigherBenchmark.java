@@ -0,0 +1,117 @@
+package scissors;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of weighing a single edge with each `ScissorsWeights` weigher, both computed
+ * directly from the image and read from a precomputed `WeightPlane`, and both by pixel location
+ * and through `ImageEdge` objects (as `ShortestPaths` does for graphs that cannot be compiled).
+ * Each invocation weighs every edge between interior pixels of a synthetic image.  Also measures
+ * the cost per stored edge of building a weight plane, both generically and row by row from the
+ * weigher's intensities.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeigherBenchmark {
+
+    /**
+     * The width and height of the image whose edges are weighed.
+     */
+    static final int SIZE = 256;
+
+    /**
+     * The number of edges weighed per invocation: 8 for each interior pixel.
+     */
+    static final int EDGES = 8 * (SIZE - 2) * (SIZE - 2);
+
+    /**
+     * The number of edge slots in a weight plane for the image.
+     */
+    static final int PLANE_EDGES = WeightPlane.SLOTS * SIZE * SIZE;
+
+    @Param({"CrossGradMono", "LuminanceGradient"})
+    public String weigher;
+
+    private ImageGraph graph;
+    private ScissorsWeights.CrossGradWeigher direct;
+    private WeightPlane plane;
+
+    @Setup
+    public void setup() throws IOException {
+        graph = new ImageGraph(BenchmarkImages.load(BenchmarkImages.SYNTHETIC,
+                (double) SIZE / BenchmarkImages.SYNTHETIC_SIZE));
+        direct = (ScissorsWeights.CrossGradWeigher) ScissorsWeights.makePixelWeigher(weigher,
+                graph);
+        plane = ScissorsWeights.weightPlane(weigher, graph);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDGES)
+    public long directByPixel() {
+        return sumByPixel(direct);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDGES)
+    public long planeByPixel() {
+        return sumByPixel(plane);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDGES)
+    public long planeByEdge() {
+        long sum = 0;
+        for (int y = 1; y < SIZE - 1; ++y) {
+            for (int x = 1; x < SIZE - 1; ++x) {
+                for (ImageEdge edge : new ImageVertex(graph, x, y).outgoingEdges()) {
+                    sum += plane.weight(edge);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLANE_EDGES)
+    public WeightPlane buildPlane() {
+        return WeightPlane.build(graph, direct, ScissorsWeights.MAX_WEIGHT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLANE_EDGES)
+    public WeightPlane buildCrossGradPlane() {
+        return ScissorsWeights.crossGradPlane(direct.intensities());
+    }
+
+    /**
+     * Return the sum of the weights given by `w` to every edge leaving an interior pixel.
+     */
+    private long sumByPixel(ScissorsWeights.PixelWeigher w) {
+        long sum = 0;
+        for (int y = 1; y < SIZE - 1; ++y) {
+            for (int x = 1; x < SIZE - 1; ++x) {
+                for (int dir = 0; dir < 8; ++dir) {
+                    sum += w.weight(x, y, dir);
+                }
+            }
+        }
+        return sum;
+    }
+}
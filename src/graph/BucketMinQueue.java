@@ -0,0 +1,227 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone min priority queue of distinct integer keys in `[0..capacity())` associated with
+ * non-negative integer priorities, implemented as a circular array of buckets (Dial's algorithm).
+ * Each bucket is an intrusive doubly-linked list threaded through primitive arrays, so no operation
+ * allocates memory.
+ * <p>
+ * This queue is only valid for "monotone" workloads such as Dijkstra's algorithm with bounded edge
+ * weights: a priority may never be smaller than that of the most recently removed element, and all
+ * priorities in the queue must lie within `span()` of each other.  In exchange, `addOrUpdate()` is
+ * O(1) and `remove()` is O(1) amortized over a scan of at most `span()` buckets.
+ */
+public class BucketMinQueue implements IntMinQueue {
+
+    /**
+     * Sentinel link value marking the end of a bucket's list.
+     */
+    private static final int NIL = -1;
+
+    /**
+     * Sentinel `prev` value marking a key that is not in the queue.
+     */
+    private static final int ABSENT = -2;
+
+    /**
+     * `heads[b]` is the first key in bucket `b`, or NIL if that bucket is empty.  A key with
+     * priority `p` is stored in bucket `p % heads.length`.
+     */
+    private final int[] heads;
+
+    /**
+     * `next[key]` is the key following `key` in its bucket's list, or NIL if `key` is last.
+     */
+    private final int[] next;
+
+    /**
+     * `prev[key]` is the key preceding `key` in its bucket's list, NIL if `key` is first, or ABSENT
+     * if `key` is not in the queue.
+     */
+    private final int[] prev;
+
+    /**
+     * `priorities[key]` is the priority associated with `key`, if `key` is in the queue.
+     */
+    private final int[] priorities;
+
+    /**
+     * A lower bound on the priorities of all elements in the queue.  Every element's priority is in
+     * `[cursor..cursor + heads.length)`.
+     */
+    private int cursor;
+
+    /**
+     * The priority of the most recently removed element, or `Integer.MIN_VALUE` if no element has
+     * been removed since the queue was created or cleared.  Only used to check monotonicity.
+     */
+    private int floor;
+
+    /**
+     * The number of elements in the queue.
+     */
+    private int size;
+
+    /**
+     * Create an empty queue that can hold keys in `[0..capacity)` whose priorities are never more
+     * than `maxSpread` greater than the smallest priority in the queue.  For Dijkstra's algorithm,
+     * `maxSpread` is the maximum edge weight.  Requires `maxSpread` is non-negative.
+     */
+    public BucketMinQueue(int capacity, int maxSpread) {
+        if (maxSpread < 0 || maxSpread == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid priority spread: " + maxSpread);
+        }
+        heads = new int[maxSpread + 1];
+        Arrays.fill(heads, NIL);
+        next = new int[capacity];
+        prev = new int[capacity];
+        Arrays.fill(prev, ABSENT);
+        priorities = new int[capacity];
+        cursor = 0;
+        floor = Integer.MIN_VALUE;
+        size = 0;
+    }
+
+    /**
+     * Return the number of distinct priorities this queue can hold at once.
+     */
+    public int span() {
+        return heads.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return prev.length;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return prev[key] != ABSENT;
+    }
+
+    @Override
+    public int get() {
+        return heads[advance()];
+    }
+
+    @Override
+    public int minPriority() {
+        advance();
+        return cursor;
+    }
+
+    /**
+     * If `key` is already contained in this queue, change its associated priority to `priority`.
+     * Otherwise, add it to this queue with that priority.  Requires `priority` is no less than the
+     * priority of the most recently removed element and is within `span()` of every other priority
+     * in the queue.
+     */
+    @Override
+    public void addOrUpdate(int key, int priority) {
+        assert priority >= floor : "Priority " + priority + " violates monotonicity";
+        if (prev[key] != ABSENT) {
+            if (priorities[key] == priority) {
+                return;
+            }
+            unlink(key);
+        } else {
+            size += 1;
+        }
+        if (size == 1 || priority < cursor) {
+            cursor = priority;
+        }
+        assert priority - cursor < heads.length : "Priority " + priority + " exceeds span";
+
+        int b = bucket(priority);
+        int head = heads[b];
+        next[key] = head;
+        prev[key] = NIL;
+        if (head != NIL) {
+            prev[head] = key;
+        }
+        heads[b] = key;
+        priorities[key] = priority;
+    }
+
+    @Override
+    public int remove() {
+        int b = advance();
+        int key = heads[b];
+        unlink(key);
+        prev[key] = ABSENT;
+        size -= 1;
+        floor = cursor;
+        return key;
+    }
+
+    @Override
+    public void clear() {
+        // Visiting every bucket costs O(span()), independent of the queue's capacity.
+        for (int b = 0; b < heads.length; ++b) {
+            for (int key = heads[b]; key != NIL; key = next[key]) {
+                prev[key] = ABSENT;
+            }
+            heads[b] = NIL;
+        }
+        cursor = 0;
+        floor = Integer.MIN_VALUE;
+        size = 0;
+    }
+
+    /**
+     * Advance `cursor` to the smallest priority of any element in this queue and return the index
+     * of the (non-empty) bucket holding that priority.  Throws NoSuchElementException if this
+     * queue is empty.
+     */
+    private int advance() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int b = bucket(cursor);
+        while (heads[b] == NIL) {
+            cursor += 1;
+            b += 1;
+            if (b == heads.length) {
+                b = 0;
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Return the index of the bucket that holds elements with priority `priority`.
+     */
+    private int bucket(int priority) {
+        return Math.floorMod(priority, heads.length);
+    }
+
+    /**
+     * Remove `key` from its bucket's list (without updating `size`).  Requires `key` is in this
+     * queue.
+     */
+    private void unlink(int key) {
+        int p = prev[key];
+        int n = next[key];
+        if (p == NIL) {
+            heads[bucket(priorities[key])] = n;
+        } else {
+            next[p] = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package graph;
+
+/**
+ * A directed graph with integer vertex IDs in `[0..vertexCount())` whose edge weights have already
+ * been bound, allowing a vertex's neighbors to be enumerated without creating any Vertex, Edge, or
+ * Iterator objects.  This is the representation pathfinders prefer for their inner loops; see
+ * `CompilableGraph` for how one is obtained from a `Graph` and a `Weigher`.
+ */
+public interface CompactGraph {
+
+    /**
+     * Return the number of vertices in this graph.
+     */
+    int vertexCount();
+
+    /**
+     * Call `visitor.visit(endId, weight)` once for each edge leaving the vertex with ID `id`,
+     * where `endId` is the ID of the edge's destination vertex and `weight` is its weight.
+     * Requires `id` is in `[0..vertexCount())`.
+     */
+    void forEachNeighbor(int id, NeighborVisitor visitor);
+
+    /**
+     * If every edge in this graph connects vertices whose IDs differ by one of a small, fixed set
+     * of offsets (as in a grid), return those offsets (the ID of each edge's end minus that of its
+     * start), so that pathfinders can store predecessors as indices into them.  Otherwise, return
+     * null.  Default implementation returns null.
+     */
+    default int[] neighborOffsets() {
+        return null;
+    }
+
+    /**
+     * Receives the outgoing edges of a vertex in a `CompactGraph`.
+     */
+    @FunctionalInterface
+    interface NeighborVisitor {
+
+        /**
+         * Process an edge leading to the vertex with ID `endId` whose weight is `weight`.
+         */
+        void visit(int endId, int weight);
+    }
+}
@@ -0,0 +1,15 @@
+package graph;
+
+/**
+ * A graph that can be "compiled" together with a weigher for its edges (of type `EdgeType`) into an
+ * equivalent `CompactGraph`.  Pathfinders use the compiled form when it is available and fall back
+ * to the `Graph`/`Vertex`/`Edge` interfaces otherwise.
+ */
+public interface CompilableGraph<EdgeType extends Edge> {
+
+    /**
+     * Return a `CompactGraph` with the same vertices and edges as this graph, in the same order,
+     * where each edge's weight is given by `weigher`.
+     */
+    CompactGraph compile(Weigher<EdgeType> weigher);
+}
@@ -0,0 +1,498 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Solves for shortest paths from a starting vertex using a parallel, bucket-synchronous variant of
+ * delta-stepping.  Vertices are settled one "bucket" at a time: the bucket starting at the smallest
+ * tentative distance `lo` holds every vertex whose distance is less than `lo + delta`, and is
+ * repeatedly relaxed in parallel rounds until no distance within it improves.  Since edge weights
+ * are non-negative, every distance in the bucket is then final.  Results are identical in distance
+ * to those of `ShortestPaths`, though when several paths to a vertex are equally short, which one
+ * is reported may depend on thread scheduling.
+ * <p>
+ * Each vertex's tentative distance and predecessor are packed into one `long` label and relaxed
+ * lock-free by compare-and-set, so that both always change together.  A label is only replaced by
+ * one with a strictly smaller distance, which keeps predecessors free of cycles.  All
+ * other bookkeeping is done between rounds by the calling thread.  Like `ShortestPaths`, snapshots
+ * are views of this solver's state that remain valid until its starting point is changed.
+ */
+public class DeltaSteppingPaths<VertexType extends Vertex<EdgeType>, EdgeType extends Edge>
+        implements IncrementalPathfinder {
+
+    /**
+     * The bucket width used when the weigher does not declare a smaller maximum weight.
+     */
+    static final int DEFAULT_DELTA = 256;
+
+    /**
+     * The smallest number of vertices worth relaxing in a separate task; rounds smaller than this
+     * run on the calling thread.
+     */
+    static final int GRAIN = 1024;
+
+    /**
+     * The label of a vertex that has not been discovered, whose distance is larger than that of any
+     * path.
+     */
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    /**
+     * The graph we are searching for paths in.
+     */
+    private final Graph<VertexType> graph;
+
+    /**
+     * Weigher to use in order to query edge weights in our graph.  Must be safe to call from
+     * multiple threads.
+     */
+    private final Weigher<EdgeType> weigher;
+
+    /**
+     * An allocation-free form of `graph` with `weigher`'s weights bound to its edges, or null if
+     * our graph is not a `CompilableGraph`.  Used in preference to `graph` when available.
+     */
+    private final CompactGraph compactGraph;
+
+    /**
+     * The width of the range of distances settled together in one bucket.
+     */
+    private final int delta;
+
+    /**
+     * The pool whose threads relax the vertices of large rounds.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * `labels.get(id)` packs the weight of the shortest known path to the vertex with ID `id` in
+     * its high 32 bits and the ID of its predecessor along that path in its low 32 bits, or is
+     * UNREACHED if no path is known.  The starting vertex's predecessor is -1.
+     */
+    private final AtomicLongArray labels;
+
+    /**
+     * `queuedRounds.get(id)` is the latest round in which the vertex with ID `id` was queued for
+     * relaxation.  Rounds are numbered consecutively across searches, so this never needs to be
+     * cleared.
+     */
+    private final AtomicIntegerArray queuedRounds;
+
+    /**
+     * `pendingFlags.get(id)` is 1 if the vertex with ID `id` is in `pending`, or 0 otherwise.
+     */
+    private final AtomicIntegerArray pendingFlags;
+
+    /**
+     * Distances, predecessors, and stamps exposed to snapshots (see `ShortestPaths`).  Written only
+     * between rounds: for settled vertices when their bucket is complete, and for other discovered
+     * vertices whenever `extendSearch()` returns.
+     */
+    private final int[] distances;
+    private final int[] predecessors;
+    private final int[] discoveredStamps;
+    private final int[] settledStamps;
+
+    /**
+     * The number of vertices discovered and settled so far in our current search.
+     */
+    private int discoveredCount;
+    private int settledCount;
+
+    /**
+     * The ID of the starting vertex for our current search, or -1 if no starting vertex has yet
+     * been selected.
+     */
+    private int startId;
+
+    /**
+     * The ID of the vertex of interest (see `setInterest()`), or -1 if there is none.
+     */
+    private int interestId;
+
+    /**
+     * Where to record the IDs of vertices discovered or settled, or null if they are not being
+     * recorded.
+     */
+    private SearchDelta changes;
+
+    /**
+     * The number of the current (or most recent) round of relaxations.
+     */
+    private int round;
+
+    /**
+     * The upper bound (exclusive) on the distances in the bucket being settled.
+     */
+    private int bucketEnd;
+
+    /**
+     * Discovered vertices outside of the current bucket (possibly including some that have since
+     * been settled, which are removed between buckets).
+     */
+    private final IntList pending;
+
+    /**
+     * The vertices to relax in the current round.
+     */
+    private final IntList current;
+
+    /**
+     * Every vertex relaxed while settling the current bucket.
+     */
+    private final IntList members;
+
+    /**
+     * Tasks that each relax a contiguous part of `current`.
+     */
+    private final List<RelaxTask> tasks;
+
+    /**
+     * Create a new solver that will find shortest paths in `graph` using `weigher` to determine
+     * edge weights, using the common fork-join pool and a bucket width suited to `weigher`'s
+     * maximum weight.  `weigher` must be safe to call from multiple threads.
+     */
+    public DeltaSteppingPaths(Graph<VertexType> graph, Weigher<EdgeType> weigher) {
+        this(graph, weigher, Math.max(1, Math.min(weigher.maxWeight(), DEFAULT_DELTA)),
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new solver as above that will settle distances in buckets of width `delta` using
+     * the threads of `pool`.  Throws IllegalArgumentException if `delta` is not positive.
+     */
+    @SuppressWarnings("unchecked")
+    public DeltaSteppingPaths(Graph<VertexType> graph, Weigher<EdgeType> weigher, int delta,
+            ForkJoinPool pool) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("Invalid bucket width: " + delta);
+        }
+        this.graph = graph;
+        this.weigher = weigher;
+        this.delta = delta;
+        this.pool = pool;
+        compactGraph = (graph instanceof CompilableGraph<?> compilable)
+                ? ((CompilableGraph<EdgeType>) compilable).compile(weigher) : null;
+
+        int vertexCount = graph.vertexCount();
+        labels = new AtomicLongArray(vertexCount);
+        queuedRounds = new AtomicIntegerArray(vertexCount);
+        pendingFlags = new AtomicIntegerArray(vertexCount);
+        distances = new int[vertexCount];
+        predecessors = new int[vertexCount];
+        discoveredStamps = new int[vertexCount];
+        settledStamps = new int[vertexCount];
+        pending = new IntList();
+        current = new IntList();
+        members = new IntList();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 4 * pool.getParallelism(); ++i) {
+            tasks.add(new RelaxTask());
+        }
+        reset();
+    }
+
+    /**
+     * Discard all pathfinding results and starting point.
+     */
+    private void reset() {
+        for (int id = 0; id < labels.length(); ++id) {
+            labels.setPlain(id, UNREACHED);
+        }
+        for (int i = 0; i < pending.size; ++i) {
+            pendingFlags.setPlain(pending.items[i], 0);
+        }
+        pending.clear();
+        Arrays.fill(distances, -1);
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(discoveredStamps, -1);
+        Arrays.fill(settledStamps, -1);
+        discoveredCount = 0;
+        settledCount = 0;
+        startId = -1;
+        interestId = -1;
+    }
+
+    @Override
+    public int vertexCount() {
+        return graph.vertexCount();
+    }
+
+    @Override
+    public int settledCount() {
+        return settledCount;
+    }
+
+    @Override
+    public boolean allPathsFound() {
+        return pending.size == 0 && startId >= 0;
+    }
+
+    @Override
+    public void setStart(int startId) {
+        reset();
+        this.startId = startId;
+        labels.set(startId, pack(0, -1));
+        distances[startId] = 0;
+        discoveredStamps[startId] = discoveredCount++;
+        if (changes != null) {
+            changes.addDiscovered(startId);
+        }
+        pending.add(startId);
+        pendingFlags.set(startId, 1);
+    }
+
+    @Override
+    public void setInterest(int id) {
+        assert id >= -1 && id < vertexCount();
+        interestId = id;
+    }
+
+    @Override
+    public boolean interestSettled() {
+        return interestId >= 0 && settledStamps[interestId] >= 0;
+    }
+
+    @Override
+    public void recordChanges(SearchDelta changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * Settle whole buckets of vertices until at least `maxToSettle` more vertices have been
+     * settled (or all reachable vertices are settled), returning a snapshot of our results.  May
+     * settle up to one bucket more than requested.  If a vertex of interest has been set, returns
+     * as soon as the bucket containing it is settled.
+     */
+    @Override
+    public PathfindingSnapshot extendSearch(int maxToSettle) {
+        assert startId >= 0;
+
+        int settledBefore = settledCount;
+        boolean interestSettledBefore = interestSettled();
+        while (settledCount - settledBefore < maxToSettle && pending.size > 0) {
+            settleBucket();
+            if (!interestSettledBefore && interestSettled()) {
+                break;
+            }
+        }
+
+        // Expose the current tentative paths to frontier vertices.
+        for (int i = 0; i < pending.size; ++i) {
+            int id = pending.items[i];
+            long label = labels.get(id);
+            distances[id] = distanceOf(label);
+            predecessors[id] = predecessorOf(label);
+        }
+        return new PathfindingSnapshot(startId, distances, PredecessorArray.of(predecessors),
+                discoveredStamps, 0, discoveredCount, settledStamps, 0, settledCount);
+    }
+
+    /**
+     * Settle every vertex whose distance is less than `delta` more than the smallest tentative
+     * distance of any vertex in `pending`.  Requires `pending` is not empty.
+     */
+    private void settleBucket() {
+        int bucketStart = Integer.MAX_VALUE;
+        for (int i = 0; i < pending.size; ++i) {
+            bucketStart = Math.min(bucketStart, distanceOf(labels.get(pending.items[i])));
+        }
+        bucketEnd = (int) Math.min((long) bucketStart + delta, Integer.MAX_VALUE);
+
+        // Move this bucket's vertices from `pending` to the first round.
+        current.clear();
+        members.clear();
+        int kept = 0;
+        for (int i = 0; i < pending.size; ++i) {
+            int id = pending.items[i];
+            if (distanceOf(labels.get(id)) < bucketEnd) {
+                current.add(id);
+                pendingFlags.set(id, 0);
+            } else {
+                pending.items[kept++] = id;
+            }
+        }
+        pending.size = kept;
+
+        while (current.size > 0) {
+            round += 1;
+            members.addAll(current);
+            relaxRound();
+        }
+
+        // No distance below `bucketEnd` can improve any further.
+        for (int i = 0; i < members.size; ++i) {
+            int id = members.items[i];
+            if (settledStamps[id] < 0) {
+                long label = labels.get(id);
+                distances[id] = distanceOf(label);
+                predecessors[id] = predecessorOf(label);
+                settledStamps[id] = settledCount++;
+                if (changes != null) {
+                    changes.addSettled(id);
+                }
+            }
+        }
+
+        // Drop vertices that were pending but improved into this bucket.
+        kept = 0;
+        for (int i = 0; i < pending.size; ++i) {
+            int id = pending.items[i];
+            if (settledStamps[id] < 0) {
+                pending.items[kept++] = id;
+            } else {
+                pendingFlags.set(id, 0);
+            }
+        }
+        pending.size = kept;
+    }
+
+    /**
+     * Relax the outgoing edges of every vertex in `current` (in parallel if there are enough of
+     * them), then replace `current` with the vertices whose distances improved to within the
+     * current bucket.
+     */
+    private void relaxRound() {
+        int taskCount = Math.min(tasks.size(), Math.ceilDiv(current.size, GRAIN));
+        List<RelaxTask> roundTasks = tasks.subList(0, taskCount);
+        for (int t = 0; t < taskCount; ++t) {
+            RelaxTask task = roundTasks.get(t);
+            task.reinitialize();
+            task.begin = (int) ((long) current.size * t / taskCount);
+            task.end = (int) ((long) current.size * (t + 1) / taskCount);
+        }
+        if (taskCount == 1) {
+            roundTasks.getFirst().compute();
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(roundTasks);
+                }
+            });
+        }
+
+        current.clear();
+        for (RelaxTask task : roundTasks) {
+            current.addAll(task.queued);
+            pending.addAll(task.deferred);
+            for (int i = 0; i < task.discovered.size; ++i) {
+                discoveredStamps[task.discovered.items[i]] = discoveredCount++;
+            }
+            if (changes != null) {
+                changes.addDiscovered(task.discovered);
+            }
+            task.queued.clear();
+            task.deferred.clear();
+            task.discovered.clear();
+        }
+    }
+
+    /**
+     * Return a label for a path of weight `distance` whose penultimate vertex has ID
+     * `predecessorId`.
+     */
+    private static long pack(int distance, int predecessorId) {
+        return ((long) distance << 32) | (predecessorId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Return the distance recorded in `label`.
+     */
+    private static int distanceOf(long label) {
+        return (int) (label >>> 32);
+    }
+
+    /**
+     * Return the predecessor ID recorded in `label`.
+     */
+    private static int predecessorOf(long label) {
+        return (int) label;
+    }
+
+    /**
+     * Relaxes the outgoing edges of the vertices in `current[begin..end)`, collecting the vertices
+     * it affects in private lists that are merged once the round is over.
+     */
+    @SuppressWarnings("serial")
+    private class RelaxTask extends RecursiveAction implements CompactGraph.NeighborVisitor {
+
+        /**
+         * The range of `current` to relax.
+         */
+        int begin;
+        int end;
+
+        /**
+         * Vertices whose distances improved to within the current bucket, which must be relaxed
+         * (again) in the next round.
+         */
+        final IntList queued = new IntList();
+
+        /**
+         * Vertices newly added to `pending` because their distances improved, but not to within
+         * the current bucket.
+         */
+        final IntList deferred = new IntList();
+
+        /**
+         * Vertices discovered for the first time.
+         */
+        final IntList discovered = new IntList();
+
+        /**
+         * The vertex whose outgoing edges are being relaxed, and its distance.
+         */
+        private int fromId;
+        private int fromDistance;
+
+        @Override
+        protected void compute() {
+            for (int i = begin; i < end; ++i) {
+                fromId = current.items[i];
+                fromDistance = distanceOf(labels.get(fromId));
+                if (compactGraph != null) {
+                    compactGraph.forEachNeighbor(fromId, this);
+                } else {
+                    for (EdgeType edge : graph.getVertex(fromId).outgoingEdges()) {
+                        visit(edge.endId(), weigher.weight(edge));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Offer the path to the vertex with ID `endId` through `fromId`, whose final edge has
+         * weight `weight`.
+         */
+        @Override
+        public void visit(int endId, int weight) {
+            assert weight >= 0 && weight <= weigher.maxWeight();
+            int distance = fromDistance + weight;
+            long candidate = pack(distance, fromId);
+            long label = labels.get(endId);
+            while (distance < distanceOf(label)) {
+                if (labels.compareAndSet(endId, label, candidate)) {
+                    if (label == UNREACHED) {
+                        discovered.add(endId);
+                    }
+                    if (distance < bucketEnd) {
+                        if (queuedRounds.getAndSet(endId, round + 1) != round + 1) {
+                            queued.add(endId);
+                        }
+                    } else if (pendingFlags.getAndSet(endId, 1) == 0) {
+                        deferred.add(endId);
+                    }
+                    return;
+                }
+                label = labels.get(endId);
+            }
+        }
+    }
+}
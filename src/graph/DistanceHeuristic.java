@@ -0,0 +1,16 @@
+package graph;
+
+/**
+ * Estimates the weight of the shortest path from a vertex to a fixed target vertex, for guiding
+ * goal-directed searches (A*).  Estimates must be "consistent": never negative, zero at the target,
+ * and for every edge from `u` to `v` with weight `w`, `estimate(u) <= w + estimate(v)`.  Consistent
+ * estimates never exceed the true distance, so goal-directed searches remain exact.
+ */
+@FunctionalInterface
+public interface DistanceHeuristic {
+
+    /**
+     * Return a lower bound on the weight of any path from the vertex with ID `id` to the target.
+     */
+    int estimate(int id);
+}
@@ -0,0 +1,70 @@
+package graph;
+
+/**
+ * A solver that finds shortest paths from a starting vertex to every reachable vertex of a graph
+ * incrementally, so that preliminary results can be reported while a large search is in progress.
+ * Vertex IDs are those of the solver's graph, in `[0..vertexCount())`.
+ */
+public interface IncrementalPathfinder {
+
+    /**
+     * Return the number of vertices in the graph being searched.
+     */
+    int vertexCount();
+
+    /**
+     * Return the number of vertices for which the final shortest paths from the current starting
+     * point are known.
+     */
+    int settledCount();
+
+    /**
+     * Return whether shortest paths have been found for all vertices reachable from the current
+     * starting point.  Returns false if no starting point has been set.
+     */
+    boolean allPathsFound();
+
+    /**
+     * Discard any pathfinding results from any previous starting point and prepare to find
+     * shortest paths from the vertex with ID `startId`.  Requires `startId` is a valid vertex ID.
+     */
+    void setStart(int startId);
+
+    /**
+     * Extend our search from the current starting point until shortest paths are known for about
+     * `maxToSettle` more vertices (or for all reachable vertices, if fewer remain), returning a
+     * snapshot from which results can be queried.  Implementations that settle vertices in batches
+     * may settle more than `maxToSettle`; see each implementation for its exact guarantee.
+     * Requires `maxToSettle` is non-negative and that a starting vertex has been set.
+     */
+    PathfindingSnapshot extendSearch(int maxToSettle);
+
+    /**
+     * Find the shortest paths from the vertex with ID `startId` to every vertex reachable from it,
+     * returning an object from which those paths can be queried.
+     */
+    default PathfindingSnapshot findAllPaths(int startId) {
+        setStart(startId);
+        return extendSearch(vertexCount());
+    }
+
+    /**
+     * Indicate that the shortest path to the vertex with ID `id` is of particular interest, so that
+     * `extendSearch()` will return as soon as possible once that vertex is settled.  Pass -1 to
+     * clear the current interest.  Interest is cleared whenever the starting point changes.
+     */
+    void setInterest(int id);
+
+    /**
+     * Return whether a vertex of interest has been set and its shortest path from the current
+     * starting point is known.
+     */
+    boolean interestSettled();
+
+    /**
+     * Record in `changes` the ID of every vertex discovered or settled from now on, until another
+     * delta (or null, to stop recording) is given.  Recording costs no more than the search itself,
+     * so clients can follow a search's progress without rescanning every vertex.
+     */
+    void recordChanges(SearchDelta changes);
+}
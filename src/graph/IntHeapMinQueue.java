@@ -0,0 +1,201 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A min priority queue of distinct integer keys in `[0..capacity())` associated with integer
+ * priorities, implemented using a d-ary heap stored in parallel primitive arrays paired with a
+ * direct-addressed position index.  No operation boxes keys or allocates memory.
+ */
+public class IntHeapMinQueue implements IntMinQueue {
+
+    /**
+     * The number of children of each heap node.  A 4-ary heap is shallower than a binary heap and
+     * keeps all of a node's children in the same cache line, which favors the `addOrUpdate()`-heavy
+     * workload of Dijkstra's algorithm.
+     */
+    private static final int ARITY = 4;
+
+    /**
+     * `heapKeys[i]` is the key stored at node `i` of the heap, for `i` in `[0..size)`.
+     */
+    private final int[] heapKeys;
+
+    /**
+     * `heapPriorities[i]` is the priority of the key stored at node `i` of the heap.  Satisfies
+     * `heapPriorities[i] >= heapPriorities[(i-1)/ARITY]` for all `i` in `[1..size)`.
+     */
+    private final int[] heapPriorities;
+
+    /**
+     * `position[key]` is the index in the heap arrays of `key`, or -1 if `key` is not in the queue.
+     * Satisfies `heapKeys[position[k]] == k` for every key `k` in the queue.
+     */
+    private final int[] position;
+
+    /**
+     * The number of elements in the queue.
+     */
+    private int size;
+
+    /**
+     * Assert that our class invariant is satisfied.  Returns true if it is (or if assertions are
+     * disabled).
+     */
+    private boolean checkInvariant() {
+        for (int i = 1; i < size; ++i) {
+            assert heapPriorities[i] >= heapPriorities[(i - 1) / ARITY];
+        }
+        for (int i = 0; i < size; ++i) {
+            assert position[heapKeys[i]] == i;
+        }
+        return true;
+    }
+
+    /**
+     * Create an empty queue that can hold keys in `[0..capacity)`.
+     */
+    public IntHeapMinQueue(int capacity) {
+        heapKeys = new int[capacity];
+        heapPriorities = new int[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+        size = 0;
+        assert checkInvariant();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return position.length;
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return position[key] >= 0;
+    }
+
+    @Override
+    public int get() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heapKeys[0];
+    }
+
+    @Override
+    public int minPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heapPriorities[0];
+    }
+
+    @Override
+    public void addOrUpdate(int key, int priority) {
+        int i = position[key];
+        if (i < 0) {
+            siftUp(size, key, priority);
+            size += 1;
+        } else if (priority < heapPriorities[i]) {
+            siftUp(i, key, priority);
+        } else if (priority > heapPriorities[i]) {
+            siftDown(i, key, priority);
+        }
+    }
+
+    @Override
+    public int remove() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int minKey = heapKeys[0];
+        position[minKey] = -1;
+        size -= 1;
+        if (size > 0) {
+            // Re-seat the last entry, starting from the hole left at the root.
+            siftDown(0, heapKeys[size], heapPriorities[size]);
+        }
+        return minKey;
+    }
+
+    @Override
+    public void clear() {
+        // Only keys currently in the heap have non-negative positions, so this is O(size) rather
+        //  than O(capacity).
+        for (int i = 0; i < size; ++i) {
+            position[heapKeys[i]] = -1;
+        }
+        size = 0;
+        assert checkInvariant();
+    }
+
+    /**
+     * Place `key` with priority `priority` into the heap, starting from the hole at index `hole`
+     * and moving parents down into the hole until `key`'s proper place is found.  Requires
+     * `hole` is in `[0..size]` and that the heap property holds everywhere except possibly between
+     * `hole` and its ancestors.
+     */
+    private void siftUp(int hole, int key, int priority) {
+        while (hole > 0) {
+            int parent = (hole - 1) / ARITY;
+            int parentPriority = heapPriorities[parent];
+            if (priority >= parentPriority) {
+                break;
+            }
+            int parentKey = heapKeys[parent];
+            heapKeys[hole] = parentKey;
+            heapPriorities[hole] = parentPriority;
+            position[parentKey] = hole;
+            hole = parent;
+        }
+        heapKeys[hole] = key;
+        heapPriorities[hole] = priority;
+        position[key] = hole;
+    }
+
+    /**
+     * Place `key` with priority `priority` into the heap, starting from the hole at index `hole`
+     * and moving the smallest child up into the hole until `key`'s proper place is found.  Requires
+     * `hole` is in `[0..size)` and that the heap property holds everywhere except possibly between
+     * `hole` and its descendants.
+     */
+    private void siftDown(int hole, int key, int priority) {
+        while (true) {
+            int firstChild = ARITY * hole + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int minChild = firstChild;
+            int minChildPriority = heapPriorities[firstChild];
+            for (int c = firstChild + 1; c < lastChild; ++c) {
+                if (heapPriorities[c] < minChildPriority) {
+                    minChild = c;
+                    minChildPriority = heapPriorities[c];
+                }
+            }
+            if (priority <= minChildPriority) {
+                break;
+            }
+            int childKey = heapKeys[minChild];
+            heapKeys[hole] = childKey;
+            heapPriorities[hole] = minChildPriority;
+            position[childKey] = hole;
+            hole = minChild;
+        }
+        heapKeys[hole] = key;
+        heapPriorities[hole] = priority;
+        position[key] = hole;
+    }
+}
@@ -0,0 +1,31 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints.
+ */
+class IntList {
+
+    int[] items = new int[16];
+    int size;
+
+    void add(int item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, 2 * size);
+        }
+        items[size++] = item;
+    }
+
+    void addAll(IntList other) {
+        if (size + other.size > items.length) {
+            items = Arrays.copyOf(items, Math.max(2 * items.length, size + other.size));
+        }
+        System.arraycopy(other.items, 0, items, size, other.size);
+        size += other.size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
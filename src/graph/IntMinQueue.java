@@ -0,0 +1,62 @@
+package graph;
+
+/**
+ * A min priority queue of distinct integer keys in the range `[0..capacity())` associated with
+ * (extrinsic) integer priorities.  This is a primitive specialization of `MinQueue<Integer>` for
+ * dense keys such as graph vertex IDs; implementations must not box keys or allocate per operation.
+ */
+interface IntMinQueue {
+    /**
+     * Return whether this queue contains no elements.
+     */
+    boolean isEmpty();
+
+    /**
+     * Return the number of elements contained in this queue.
+     */
+    int size();
+
+    /**
+     * Return the number of distinct keys this queue can hold.  Keys must be in
+     * `[0..capacity())`.
+     */
+    int capacity();
+
+    /**
+     * Return whether `key` is currently contained in this queue.  Requires `key` is in
+     * `[0..capacity())`.
+     */
+    boolean contains(int key);
+
+    /**
+     * Return an element associated with the smallest priority in this queue.  This is the same
+     * element that would be removed by a call to `remove()` (assuming no mutations in between).
+     * Throws NoSuchElementException if this queue is empty.
+     */
+    int get();
+
+    /**
+     * Return the minimum priority associated with an element in this queue.  Throws
+     * NoSuchElementException if this queue is empty.
+     */
+    int minPriority();
+
+    /**
+     * If `key` is already contained in this queue, change its associated priority to `priority`.
+     * Otherwise, add it to this queue with that priority.  Requires `key` is in
+     * `[0..capacity())`.
+     */
+    void addOrUpdate(int key, int priority);
+
+    /**
+     * Remove and return the element associated with the smallest priority in this queue.  If
+     * multiple elements are tied for the smallest priority, an arbitrary one will be removed.
+     * Throws NoSuchElementException if this queue is empty.
+     */
+    int remove();
+
+    /**
+     * Remove all elements from this queue (making it empty).
+     */
+    void clear();
+}
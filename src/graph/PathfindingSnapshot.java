@@ -6,7 +6,19 @@ import java.util.BitSet;
 import java.util.List;
 import java.util.LinkedList;
 
-
+/**
+ * The results of a (possibly incomplete) shortest paths search from a starting vertex.
+ * <p>
+ * Snapshots produced by `ShortestPaths` are views of the solver's arrays rather than copies.  They
+ * stay valid while the solver continues its search because a settled vertex's distance and
+ * predecessor never change and because discovery and settlement are recorded by write-once stamps:
+ * a snapshot only reports vertices whose stamps are below the counts at the time it was taken.
+ * Results for vertices settled as of the snapshot may be read from any thread that received the
+ * snapshot through a synchronizing hand-off (such as `SwingWorker.publish()`).  The distances and
+ * paths of vertices that were discovered but not settled may reflect later improvements made by the
+ * solver.  A view becomes invalid once its solver is given a new starting point (whose search
+ * reuses the same arrays, with stamps counting up from where the previous search left off).
+ */
 public class PathfindingSnapshot {
 
     /**
@@ -16,22 +28,51 @@ public class PathfindingSnapshot {
 
     /**
      * `distances[id]` is the weight of the shortest known path from the starting vertex to the
-     * vertex with ID `id`, or -1 if no such path is currently known.
+     * vertex with ID `id`, if that vertex has been discovered.
      */
     private final int[] distances;
 
     /**
-     * `predecessors[id]` is the ID of the penultimate vertex along the shortest known path from the
-     * starting vertex to the vertex with ID `id`, or -1 if `id==startId` or if no such path is
-     * currently known.
+     * `predecessors.get(id)` is the ID of the penultimate vertex along the shortest known path from
+     * the starting vertex to the vertex with ID `id`, if that vertex has been discovered and is not
+     * the starting vertex.
+     */
+    private final PredecessorArray predecessors;
+
+    /**
+     * The vertex with ID `id` was discovered as of this snapshot iff `discoveredStamps[id]` is in
+     * `[discoveredBase..discoveredLimit)`.
+     */
+    private final int[] discoveredStamps;
+
+    /**
+     * The smallest discovery stamp of the search that produced this snapshot (stamps below this
+     * were written by earlier searches).
+     */
+    private final int discoveredBase;
+
+    /**
+     * The discovery stamp that the next vertex to be discovered after this snapshot was taken
+     * would receive.
+     */
+    private final int discoveredLimit;
+
+    /**
+     * The shortest path to the vertex with ID `id` was known as of this snapshot iff
+     * `settledStamps[id]` is in `[settledBase..settledLimit)`.
+     */
+    private final int[] settledStamps;
+
+    /**
+     * The smallest settlement stamp of the search that produced this snapshot.
      */
-    private final int[] predecessors;
+    private final int settledBase;
 
     /**
-     * `settledIds[id]` is true if the shortest path has been determined from the starting vertex to
-     * the vertex with ID `id`.
+     * The settlement stamp that the next vertex to be settled after this snapshot was taken would
+     * receive.
      */
-    private final BitSet settledIds;
+    private final int settledLimit;
 
     /**
      * Create a new snapshot of the progress of finding shortest paths from a vertex with ID
@@ -44,9 +85,40 @@ public class PathfindingSnapshot {
     public PathfindingSnapshot(int startId, int[] distances, int[] predecessors,
             BitSet settledIds) {
         this.startId = startId;
-        this.predecessors = Arrays.copyOf(predecessors, predecessors.length);
+        this.predecessors = PredecessorArray.of(Arrays.copyOf(predecessors, predecessors.length));
         this.distances = Arrays.copyOf(distances, distances.length);
-        this.settledIds = (BitSet) settledIds.clone();
+        discoveredStamps = new int[distances.length];
+        settledStamps = new int[distances.length];
+        for (int id = 0; id < distances.length; ++id) {
+            discoveredStamps[id] = (predecessors[id] >= 0 || id == startId) ? 0 : -1;
+            settledStamps[id] = settledIds.get(id) ? 0 : -1;
+        }
+        discoveredBase = 0;
+        discoveredLimit = 1;
+        settledBase = 0;
+        settledLimit = 1;
+    }
+
+    /**
+     * Create a view of the state of a shortest paths solver searching from the vertex with ID
+     * `startId`.  The arrays are not copied; see the class documentation for the conditions under
+     * which the solver may continue to modify them.  `discoveredStamps` and `settledStamps` must
+     * record the order in which vertices were discovered and settled in the current search,
+     * counting up from `discoveredBase` and `settledBase` (smaller stamps mean "not yet"), and
+     * `discoveredLimit` and `settledLimit` must be the next stamps to be assigned.
+     */
+    PathfindingSnapshot(int startId, int[] distances, PredecessorArray predecessors,
+            int[] discoveredStamps, int discoveredBase, int discoveredLimit,
+            int[] settledStamps, int settledBase, int settledLimit) {
+        this.startId = startId;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.discoveredStamps = discoveredStamps;
+        this.discoveredBase = discoveredBase;
+        this.discoveredLimit = discoveredLimit;
+        this.settledStamps = settledStamps;
+        this.settledBase = settledBase;
+        this.settledLimit = settledLimit;
     }
 
     /**
@@ -67,7 +139,7 @@ public class PathfindingSnapshot {
 
         while (currentVertex != startId) {
             path.addFirst(currentVertex);
-            currentVertex = predecessors[currentVertex];
+            currentVertex = predecessors.get(currentVertex);
         }
 
         path.addFirst(startId);
@@ -81,7 +153,7 @@ public class PathfindingSnapshot {
      * the graph.
      */
     public int distanceTo(int dstId) {
-        return distances[dstId];
+        return discovered(dstId) ? distances[dstId] : -1;
     }
 
     /**
@@ -96,7 +168,8 @@ public class PathfindingSnapshot {
      * Return whether a path is known from the starting vertex to the vertex with ID `id`.
      */
     public boolean discovered(int id) {
-        return predecessors[id] >= 0 || id == startId;
+        int stamp = discoveredStamps[id];
+        return stamp >= discoveredBase && stamp < discoveredLimit;
     }
 
     /**
@@ -104,6 +177,7 @@ public class PathfindingSnapshot {
      * to the vertex with ID `id`.
      */
     public boolean settled(int id) {
-        return settledIds.get(id);
+        int stamp = settledStamps[id];
+        return stamp >= settledBase && stamp < settledLimit;
     }
 }
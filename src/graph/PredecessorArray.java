@@ -0,0 +1,188 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Records, for each vertex ID in `[0..length())`, the ID of that vertex's predecessor along a path
+ * in a tree of paths from a starting vertex, or -1 if it has none.  Pathfinders and their
+ * snapshots read and write predecessors only through this class, so that graphs whose edges all
+ * connect vertices at a few fixed ID offsets (such as grids; see `CompactGraph.neighborOffsets()`)
+ * can store each predecessor as a 4-bit index into those offsets instead of as a full ID.
+ * Predecessors that have never been set are unspecified.
+ */
+abstract class PredecessorArray {
+
+    /**
+     * Return the number of vertices this array has a predecessor for.
+     */
+    abstract int length();
+
+    /**
+     * Return the predecessor of the vertex with ID `id`, or -1 if it has none.
+     */
+    abstract int get(int id);
+
+    /**
+     * Record that the predecessor of the vertex with ID `id` is the vertex with ID `predecessorId`
+     * (-1 for none).  Requires that, if our graph has fixed neighbor offsets, `predecessorId` is a
+     * neighbor of `id` (or -1).
+     */
+    abstract void set(int id, int predecessorId);
+
+    /**
+     * Replace every predecessor in this array with the corresponding one in `other`.  Throws
+     * IllegalArgumentException if `other` does not store predecessors for the same number of
+     * vertices in the same way.
+     */
+    abstract void copyFrom(PredecessorArray other);
+
+    /**
+     * Return an array of predecessors for `vertexCount` vertices of `graph` (which may be null),
+     * which is as compact as `graph`'s neighbor offsets allow.
+     */
+    static PredecessorArray forGraph(CompactGraph graph, int vertexCount) {
+        int[] offsets = (graph != null) ? graph.neighborOffsets() : null;
+        if (offsets != null && offsets.length < DirectionArray.NONE) {
+            return new DirectionArray(vertexCount, offsets);
+        }
+        return new IntArray(new int[vertexCount]);
+    }
+
+    /**
+     * Return an array that stores its predecessors in `predecessors` (without copying it).
+     */
+    static PredecessorArray of(int[] predecessors) {
+        return new IntArray(predecessors);
+    }
+
+    /**
+     * Stores each predecessor as a full vertex ID.
+     */
+    static final class IntArray extends PredecessorArray {
+
+        /**
+         * `predecessors[id]` is the predecessor of the vertex with ID `id`, or -1.
+         */
+        private final int[] predecessors;
+
+        IntArray(int[] predecessors) {
+            this.predecessors = predecessors;
+        }
+
+        @Override
+        int length() {
+            return predecessors.length;
+        }
+
+        @Override
+        int get(int id) {
+            return predecessors[id];
+        }
+
+        @Override
+        void set(int id, int predecessorId) {
+            predecessors[id] = predecessorId;
+        }
+
+        @Override
+        void copyFrom(PredecessorArray other) {
+            if (!(other instanceof IntArray o) || o.predecessors.length != predecessors.length) {
+                throw new IllegalArgumentException("Incompatible predecessor arrays");
+            }
+            System.arraycopy(o.predecessors, 0, predecessors, 0, predecessors.length);
+        }
+    }
+
+    /**
+     * Stores each predecessor as a 4-bit index ("direction") into a table of neighbor offsets, two
+     * vertices per byte.
+     */
+    static final class DirectionArray extends PredecessorArray {
+
+        /**
+         * The direction stored for vertices without a predecessor.
+         */
+        static final int NONE = 0xF;
+
+        /**
+         * The number of vertices we have predecessors for.
+         */
+        private final int length;
+
+        /**
+         * The direction of the predecessor of the vertex with ID `id` is in the low nibble of
+         * `directions[id / 2]` if `id` is even, or in its high nibble if `id` is odd.
+         */
+        private final byte[] directions;
+
+        /**
+         * `offsets[dir]` is the difference between the ID of a vertex's predecessor in direction
+         * `dir` and the ID of the vertex.
+         */
+        private final int[] offsets;
+
+        /**
+         * `dirsByOffset[offset - minOffset]` is a direction whose offset is `offset`, for each
+         * offset in `offsets` (other elements are unspecified).
+         */
+        private final byte[] dirsByOffset;
+
+        /**
+         * The smallest element of `offsets`.
+         */
+        private final int minOffset;
+
+        /**
+         * Create an array of predecessors for `length` vertices, each of which must be a neighbor
+         * at one of the ID offsets in `offsets`.  Requires `offsets` has fewer than `NONE`
+         * elements.
+         */
+        DirectionArray(int length, int[] offsets) {
+            assert offsets.length < NONE;
+            this.length = length;
+            this.offsets = offsets.clone();
+            directions = new byte[(length + 1) / 2];
+            int min = 0;
+            int max = 0;
+            for (int offset : offsets) {
+                min = Math.min(min, offset);
+                max = Math.max(max, offset);
+            }
+            minOffset = min;
+            dirsByOffset = new byte[max - min + 1];
+            for (int dir = 0; dir < offsets.length; ++dir) {
+                dirsByOffset[offsets[dir] - min] = (byte) dir;
+            }
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        int get(int id) {
+            int dir = (directions[id >> 1] >> ((id & 1) << 2)) & 0xF;
+            return (dir == NONE) ? -1 : id + offsets[dir];
+        }
+
+        @Override
+        void set(int id, int predecessorId) {
+            int dir = (predecessorId < 0) ? NONE : dirsByOffset[predecessorId - id - minOffset];
+            assert predecessorId < 0 || id + offsets[dir] == predecessorId
+                    : "Vertex " + predecessorId + " is not a neighbor of " + id;
+            int shift = (id & 1) << 2;
+            int i = id >> 1;
+            directions[i] = (byte) ((directions[i] & ~(0xF << shift)) | (dir << shift));
+        }
+
+        @Override
+        void copyFrom(PredecessorArray other) {
+            if (!(other instanceof DirectionArray o) || o.length != length
+                    || !Arrays.equals(o.offsets, offsets)) {
+                throw new IllegalArgumentException("Incompatible predecessor arrays");
+            }
+            System.arraycopy(o.directions, 0, directions, 0, directions.length);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package graph;
+
+/**
+ * The IDs of the vertices whose status changed during part of a search: those newly discovered and
+ * those newly settled, each in the order the solver reached them.  A vertex discovered and settled
+ * during the same part appears in both.  Lets clients that mirror a search's progress (such as a
+ * view shading settled pixels) update only what changed instead of rescanning every vertex; see
+ * `IncrementalPathfinder.recordChanges()`.
+ */
+public class SearchDelta {
+
+    /**
+     * The IDs of newly discovered vertices.
+     */
+    private final IntList discovered = new IntList();
+
+    /**
+     * The IDs of newly settled vertices.
+     */
+    private final IntList settled = new IntList();
+
+    /**
+     * Return the number of vertices newly discovered.
+     */
+    public int discoveredCount() {
+        return discovered.size;
+    }
+
+    /**
+     * Return the ID of the `i`th vertex newly discovered.  Requires `0 <= i < discoveredCount()`.
+     */
+    public int discoveredId(int i) {
+        assert i >= 0 && i < discovered.size;
+        return discovered.items[i];
+    }
+
+    /**
+     * Return the number of vertices newly settled.
+     */
+    public int settledCount() {
+        return settled.size;
+    }
+
+    /**
+     * Return the ID of the `i`th vertex newly settled.  Requires `0 <= i < settledCount()`.
+     */
+    public int settledId(int i) {
+        assert i >= 0 && i < settled.size;
+        return settled.items[i];
+    }
+
+    /**
+     * Record that the vertex with ID `id` has been discovered.
+     */
+    void addDiscovered(int id) {
+        discovered.add(id);
+    }
+
+    /**
+     * Record that the vertices with the IDs in `ids` have been discovered, in order.
+     */
+    void addDiscovered(IntList ids) {
+        discovered.addAll(ids);
+    }
+
+    /**
+     * Record that the vertex with ID `id` has been settled.
+     */
+    void addSettled(int id) {
+        settled.add(id);
+    }
+}
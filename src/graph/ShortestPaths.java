@@ -1,25 +1,64 @@
 package graph;
 
 import java.util.Arrays;
-import java.util.BitSet;
 
 /**
  * Supports incrementally solving for shortest paths from a starting vertex in a graph with vertices
  * of type `VertexType` and edges of type `EdgeType`.  Can provide preliminary pathfinding results
- * and report progress towards a full solution.
+ * and report progress towards a full solution.  Also supports point-to-point queries, which stop
+ * as soon as the path to a single target is known (optionally guided by a heuristic or searching
+ * from both ends).
  */
-public class ShortestPaths<VertexType extends Vertex<EdgeType>, EdgeType extends Edge> {
+public class ShortestPaths<VertexType extends Vertex<EdgeType>, EdgeType extends Edge>
+        implements IncrementalPathfinder {
 
     /**
-     * The graph we are searching for paths in.
+     * The largest maximum edge weight for which a bucket queue will be used for our frontier.
+     * Beyond this, the memory for (and time spent scanning) empty buckets outweighs the savings
+     * over a heap.
+     */
+    static final int MAX_BUCKET_WEIGHT = 1 << 16;
+
+    /**
+     * The graph we are searching for paths in, or null if we were only given `compactGraph`.
      */
     private final Graph<VertexType> graph;
 
     /**
-     * Weigher to use in order to query edge weights in our graph.
+     * Weigher to use in order to query edge weights in our graph, or null if we were only given
+     * `compactGraph`.
      */
     private final Weigher<EdgeType> weigher;
 
+    /**
+     * An allocation-free form of `graph` with `weigher`'s weights bound to its edges, or null if
+     * our graph is not a `CompilableGraph`.  Used in preference to `graph` when available.
+     */
+    private final CompactGraph compactGraph;
+
+    /**
+     * Lower and upper bounds on the weight of any edge in our graph.
+     */
+    private final int minWeight;
+    private final int maxWeight;
+
+    /**
+     * True if our weight bounds do not prove that the weights of paths in our graph (plus
+     * heuristic estimates) fit in an `int`, so that their sums must be checked for overflow.
+     */
+    private final boolean checkedDistances;
+
+    /**
+     * Relaxes edges leaving the vertex currently being settled (`currentId`) when enumerating the
+     * neighbors of a vertex in `compactGraph`.  Allocated once to avoid per-vertex garbage.
+     */
+    private final CompactGraph.NeighborVisitor relaxer;
+
+    /**
+     * The ID of the vertex whose outgoing edges are currently being relaxed by `relaxer`.
+     */
+    private int currentId;
+
     /**
      * The ID of the starting vertex for our current search, or -1 if no starting vertex has yet
      * been selected.
@@ -28,92 +67,315 @@ public class ShortestPaths<VertexType extends Vertex<EdgeType>, EdgeType extends
 
     /**
      * `distances[id]` is the weight of the shortest known path from our starting vertex to the
-     * vertex with ID `id`, or -1 if no such path is currently known.
+     * vertex with ID `id`.  Only meaningful if that vertex has been discovered in our current
+     * search (see `discoveredStamps`).
      */
     private final int[] distances;
 
     /**
-     * `predecessors[id]` is the ID of the penultimate vertex along the shortest known path from our
-     * starting vertex to the vertex with ID `id`, or -1 if `id==startId` or if no such path is
-     * currently known.
+     * `predecessors.get(id)` is the ID of the penultimate vertex along the shortest known path from
+     * our starting vertex to the vertex with ID `id`, or -1 if `id==startId`.  Only meaningful if
+     * that vertex has been discovered in our current search.  Stored as directions if our compact
+     * graph has fixed neighbor offsets.
      */
-    private final int[] predecessors;
+    private final PredecessorArray predecessors;
 
     /**
      * Queue of vertex IDs currently known to be reachable from the starting vertex but for whom the
      * shortest possible path has not yet been determined.  Ordered by weight of the shortest known
-     * path from the starting vertex.
+     * path from the starting vertex.  Since `Graph` requires vertex IDs to be dense in
+     * `[0..vertexCount())`, a primitive int-keyed queue can be used (avoiding boxing and hashing).
+     * If our weigher declares a small maximum weight, this is a monotone bucket queue.
+     */
+    private final IntMinQueue frontier;
+
+    /**
+     * If the vertex with ID `id` has been discovered in our current search, `discoveredStamps[id]`
+     * is `discoveredBase` plus the number of vertices that had been discovered before it.  Stamps
+     * less than `discoveredBase` are left over from previous searches (or are -1), so that starting
+     * a new search does not need to clear this array (or `distances` and `predecessors`, which
+     * are only meaningful for discovered vertices).  Stamps are written once per search, which
+     * lets snapshots share this array (see `PathfindingSnapshot`).
      */
-    private final MinQueue<Integer> frontier;
+    private final int[] discoveredStamps;
 
     /**
-     * `settledIds.get(id)` is true if the shortest path has been determined from our starting
-     * vertex to the vertex with ID `id`.
+     * The smallest discovery stamp of our current search.
      */
-    private final BitSet settledIds;
+    private int discoveredBase;
+
+    /**
+     * The number of vertices discovered so far in our current search.
+     */
+    private int discoveredCount;
+
+    /**
+     * If the shortest path from our starting vertex to the vertex with ID `id` has been determined
+     * in our current search, `settledStamps[id]` is `settledBase` plus the number of vertices that
+     * had been settled before it.  Like `discoveredStamps`, these are written once per search, and
+     * stamps less than `settledBase` are left over from previous searches.
+     */
+    private final int[] settledStamps;
+
+    /**
+     * The smallest settlement stamp of our current search.
+     */
+    private int settledBase;
+
+    /**
+     * The number of vertices settled so far in our current search.
+     */
+    private int settledCount;
+
+    /**
+     * Estimates the remaining distance to the target of a goal-directed (A*) query, or null if our
+     * current search is not goal-directed.  When non-null, frontier priorities are the sum of a
+     * vertex's known distance and its estimate.
+     */
+    private DistanceHeuristic heuristic;
+
+    /**
+     * True if our current search is a point-to-point query whose results are not valid for vertices
+     * other than its target, meaning the search cannot be extended.
+     */
+    private boolean pointToPoint;
+
+    /**
+     * During a bidirectional query, the solver searching backwards from the target (or forwards
+     * from the start, if we are the backwards solver); null otherwise.
+     */
+    private ShortestPaths<VertexType, EdgeType> opposite;
+
+    /**
+     * During a bidirectional query, the weight of the shortest path found so far that joins our
+     * search to `opposite`'s by an edge we relaxed from `meetingFrom` (discovered by us) to
+     * `meetingTo` (discovered by `opposite`) with weight `meetingWeight`.  `Long.MAX_VALUE` if no
+     * such path has been found.
+     */
+    private long meetingDistance;
+    private int meetingFrom;
+    private int meetingTo;
+    private int meetingWeight;
+
+    /**
+     * The ID of a vertex whose shortest path our client is particularly interested in (such as the
+     * pixel under a mouse pointer), or -1 if there is no such vertex.  `extendSearch()` returns as
+     * soon as this vertex is settled so that its path can be reported without delay.
+     */
+    private int interestId;
+
+    /**
+     * Where to record the IDs of vertices discovered or settled, or null if they are not being
+     * recorded.  Changes made while repairing (see `moveStart()`) are not recorded.
+     */
+    private SearchDelta changes;
+
+    /**
+     * True while our paths are being repaired for a new starting point (see `moveStart()`).  Then,
+     * vertices whose discovery stamps are less than `repairDiscoveredBase` have not yet been
+     * reached by the repair, and vertices whose settlement stamps are in
+     * `[settledBase..repairSettledBase)` were settled in the tree of paths being repaired (from
+     * `repairOldStartId`).
+     */
+    private boolean repairing;
+    private int repairDiscoveredBase;
+    private int repairSettledBase;
+    private int repairOldStartId;
+
+    /**
+     * While repairing, the distance from the new starting point to the old one, or -1 while it is
+     * still being measured.
+     */
+    private int repairOffset;
+
+    /**
+     * While measuring `repairOffset`, the ID, distance, predecessor, discovery stamp, and
+     * settlement stamp (in that order) that each vertex reached by the measurement had before it
+     * was reached, so that they can be restored afterwards.
+     */
+    private final IntList repairUndo = new IntList();
+
+    /**
+     * The number of vertices settled again after having been settled in a tree of paths being
+     * repaired (which `settledCount` counts twice).
+     */
+    private int resettledCount;
 
     /**
      * Create a new shortest paths solver for the graph `graph` whose edge weights are determined by
-     * `weigher`.
+     * `weigher`.  The weigher's declared bounds choose our frontier queue (see `makeFrontier()`)
+     * and whether our distances must be checked for overflow (see `distancesFitInt()`); if they
+     * must, searches throw ArithmeticException upon finding a path whose weight does not fit in
+     * an `int`.  Throws IllegalArgumentException if `weigher`'s bounds are inconsistent.
      */
+    @SuppressWarnings("unchecked")
     public ShortestPaths(Graph<VertexType> graph, Weigher<EdgeType> weigher) {
+        // The cast is safe since a graph's vertices determine the type of edges it can compile.
+        this(graph, weigher, (graph instanceof CompilableGraph<?> compilable)
+                ? ((CompilableGraph<EdgeType>) compilable).compile(weigher) : null,
+                graph.vertexCount(), weigher.minWeight(), weigher.maxWeight());
+    }
+
+    /**
+     * Create a new shortest paths solver for the graph `compactGraph`, whose edge weights are
+     * already bound and never exceed `maxWeight`.  Useful for searching graphs that are derived
+     * from others (such as subgraphs) without creating vertex and edge objects for them.  Throws
+     * IllegalArgumentException if `maxWeight` is negative.
+     */
+    public ShortestPaths(CompactGraph compactGraph, int maxWeight) {
+        this(null, null, compactGraph, compactGraph.vertexCount(), 0, maxWeight);
+    }
+
+    /**
+     * Create a solver for a graph of `vertexCount` vertices represented by `graph` and `weigher`,
+     * or by `compactGraph` if it is not null, whose edge weights lie in `[minWeight..maxWeight]`.
+     * Throws IllegalArgumentException if that range is empty or includes negative weights.
+     */
+    private ShortestPaths(Graph<VertexType> graph, Weigher<EdgeType> weigher,
+            CompactGraph compactGraph, int vertexCount, int minWeight, int maxWeight) {
+        assert compactGraph != null || (graph != null && weigher != null);
+        if (minWeight < 0 || minWeight > maxWeight) {
+            throw new IllegalArgumentException("Invalid edge weight bounds [" + minWeight + ".."
+                    + maxWeight + "]");
+        }
         this.graph = graph;
         this.weigher = weigher;
-        distances = new int[graph.vertexCount()];
-        predecessors = new int[graph.vertexCount()];
-        settledIds = new BitSet(graph.vertexCount());
+        this.compactGraph = compactGraph;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        checkedDistances = !distancesFitInt(vertexCount, maxWeight);
+        relaxer = (endId, weight) -> relax(currentId, endId, weight);
+        distances = new int[vertexCount];
+        predecessors = PredecessorArray.forGraph(compactGraph, vertexCount);
+        discoveredStamps = new int[vertexCount];
+        settledStamps = new int[vertexCount];
+        Arrays.fill(discoveredStamps, -1);
+        Arrays.fill(settledStamps, -1);
 
-        // TODO A6.3f: Replace this with a `HeapMinQueue` after implementing and testing the latter.
-        frontier = new HeapMinQueue<>();
+        frontier = makeFrontier(vertexCount, maxWeight);
 
         reset();
     }
 
+    /**
+     * Create an empty frontier queue for vertex IDs in `[0..vertexCount)` appropriate for edge
+     * weights no greater than `maxWeight`.  Dijkstra's algorithm only ever adds priorities within
+     * one edge weight of the last removed priority, so a bucket queue is valid whenever the weights
+     * are bounded.  Goal-directed searches may add priorities up to twice that far (see
+     * `findPath()`), so the queue's spread is doubled.
+     */
+    static IntMinQueue makeFrontier(int vertexCount, int maxWeight) {
+        if (maxWeight <= MAX_BUCKET_WEIGHT) {
+            return new BucketMinQueue(vertexCount, 2 * maxWeight);
+        }
+        return new IntHeapMinQueue(vertexCount);
+    }
+
+    /**
+     * Return whether every distance and frontier priority of a search of a graph with
+     * `vertexCount` vertices, whose edge weights never exceed `maxWeight`, is guaranteed to fit in
+     * an `int`.  Relaxing an edge from a settled vertex yields a path of at most `vertexCount`
+     * edges, and a consistent heuristic never estimates more than the weight of another such
+     * path, so priorities are at most `2 * vertexCount * maxWeight`.
+     */
+    static boolean distancesFitInt(int vertexCount, int maxWeight) {
+        return (long) vertexCount * maxWeight <= Integer.MAX_VALUE / 2;
+    }
+
     /**
      * Clear any intermediate pathfinding results in preparation for finding paths from a new
-     * starting point.
+     * starting point.  Takes time proportional to the size of our frontier rather than the size of
+     * our graph, since advancing the stamp bases invalidates all previous results at once (unless
+     * the stamps are about to overflow, in which case they are cleared).
      */
     private void reset() {
-        Arrays.fill(distances, -1);
-        Arrays.fill(predecessors, -1);
+        discoveredBase += discoveredCount;
+        settledBase += settledCount;
+        if (discoveredBase > Integer.MAX_VALUE - vertexCount()
+                || settledBase > Integer.MAX_VALUE - vertexCount()) {
+            Arrays.fill(discoveredStamps, -1);
+            Arrays.fill(settledStamps, -1);
+            discoveredBase = 0;
+            settledBase = 0;
+        }
+        discoveredCount = 0;
+        settledCount = 0;
+        resettledCount = 0;
         frontier.clear();
-        settledIds.clear();
         startId = -1;
+        heuristic = null;
+        pointToPoint = false;
+        opposite = null;
+        meetingDistance = Long.MAX_VALUE;
+        interestId = -1;
     }
 
     /**
      * Return the number of vertices for which the final shortest paths from the current starting
      * point are known.
      */
+    @Override
     public int settledCount() {
-        return settledIds.cardinality();
+        return settledCount - resettledCount;
+    }
+
+    /**
+     * Indicate that the shortest path to the vertex with ID `id` is of particular interest, so that
+     * `extendSearch()` will stop as soon as that vertex is settled (vertices are still settled in
+     * order of distance, so everything closer than it will be settled first).  Pass -1 to clear
+     * the current interest.  Interest is cleared whenever the starting point changes.
+     */
+    @Override
+    public void setInterest(int id) {
+        assert id >= -1 && id < vertexCount();
+        interestId = id;
+    }
+
+    /**
+     * Return whether a vertex of interest has been set and its shortest path from the current
+     * starting point is known.
+     */
+    @Override
+    public boolean interestSettled() {
+        return interestId >= 0 && isSettled(interestId);
+    }
+
+    @Override
+    public void recordChanges(SearchDelta changes) {
+        this.changes = changes;
     }
 
     /**
      * Return the total number of vertices in the graph we are finding shortest paths in.
      */
+    @Override
     public int vertexCount() {
-        return graph.vertexCount();
+        return distances.length;
     }
 
     /**
      * Return whether shortest paths have been found for all vertices reachable from the current
-     * starting point.  Returns false if no starting point has been set.
+     * starting point.  Returns false if no starting point has been set or if our last search was a
+     * point-to-point query.
      */
+    @Override
     public boolean allPathsFound() {
         // The second condition is needed in case we were just constructed and have no starting
         //  point.
-        return frontier.isEmpty() && startId >= 0;
+        return frontier.isEmpty() && startId >= 0 && !pointToPoint;
     }
 
     /**
      * Change our starting point to `start`, discarding any pathfinding results from any previous
      * starting point.
      */
+    @Override
     public void setStart(int startId) {
         reset();
         this.startId = startId;
         distances[startId] = 0;
+        predecessors.set(startId, -1);
+        markDiscovered(startId);
         frontier.addOrUpdate(startId, 0);
     }
 
@@ -121,6 +383,7 @@ public class ShortestPaths<VertexType extends Vertex<EdgeType>, EdgeType extends
      * Find the shortest paths from `start` to every vertex in our graph reachable from `start`,
      * returning an object from which those paths can be queried.
      */
+    @Override
     public PathfindingSnapshot findAllPaths(int startId) {
         setStart(startId);
         PathfindingSnapshot paths = extendSearch(vertexCount());
@@ -132,38 +395,432 @@ public class ShortestPaths<VertexType extends Vertex<EdgeType>, EdgeType extends
      * Find the shortest paths from our current starting point to the next `maxToSettle` closest
      * vertices for which shortest paths are not yet known.  Results can be queried from the
      * returned object, which will also provide candidate paths to farther "frontier" vertices found
-     * during the pathfinding process.
+     * during the pathfinding process.  The returned snapshot is a view of this solver's state and
+     * costs O(1) to create; it remains valid until this solver's starting point is changed.
      * <p>
      * If fewer than `maxToSettle` reachable vertices do not have the shortest paths to them known,
      * then this method returns when shortest paths have been found for all reachable vertices in
      * the graph.  If multiple vertices tie for being the next closest, it is unspecified which will
-     * have its shortest path found first.  Requires `maxToSettle` is non-negative and that a
-     * starting vertex has been set.
+     * have its shortest path found first.  If a vertex of interest has been set (see
+     * `setInterest()`), this method also returns as soon as that vertex is settled.  Requires
+     * `maxToSettle` is non-negative and that a starting vertex has been set.
      */
+    @Override
     public PathfindingSnapshot extendSearch(int maxToSettle) {
         assert startId >= 0;
+        if (pointToPoint) {
+            throw new IllegalStateException("Cannot extend a point-to-point search");
+        }
 
         int settledVertices = 0;
 
         while (settledVertices < maxToSettle && !frontier.isEmpty()) {
-            int currentVertexId = frontier.remove();
-            VertexType currentVertex = graph.getVertex(currentVertexId);
+            int settledId = settleNext();
+            settledVertices++;
+            if (settledId == interestId) {
+                break;
+            }
+        }
 
-            for (EdgeType edge : currentVertex.outgoingEdges()) {
-                int neighborId = edge.endId();
-                int tentativeDistance = distances[currentVertexId] + weigher.weight(edge);
+        return snapshot();
+    }
+
+    /**
+     * Move our starting point to the vertex with ID `newStartId` by repairing our paths from the
+     * current starting point rather than finding all paths again, returning a snapshot of the
+     * repaired paths.  Vertices whose shortest paths from the new start may as well pass through
+     * the old start keep their current paths, with the distance between the starts added; only
+     * the remaining vertices (those reachable more directly, which are few if the new start is
+     * close to the old one and behind it) are searched again.  Also searches the vertices closer
+     * to the new start than the old start is, in order to measure that distance.  Throws
+     * IllegalStateException if paths have not been found to all reachable vertices from the
+     * current starting point.
+     */
+    public PathfindingSnapshot moveStart(int newStartId) {
+        if (!allPathsFound()) {
+            throw new IllegalStateException("Can only move the start of a complete search");
+        }
+        int oldStartId = startId;
+        if (newStartId == oldStartId) {
+            return snapshot();
+        }
+        if (discoveredBase + discoveredCount > Integer.MAX_VALUE - 2 * vertexCount()
+                || settledBase + settledCount > Integer.MAX_VALUE - 2 * vertexCount()) {
+            // The repair could overflow our stamps, so search from scratch (which clears them).
+            return findAllPaths(newStartId);
+        }
+        interestId = -1;
+        repairing = true;
+        repairOldStartId = oldStartId;
+        repairDiscoveredBase = discoveredBase + discoveredCount;
+        repairSettledBase = settledBase + settledCount;
+
+        // First, measure the distance between the starts by searching from the new start until
+        //  the old start is settled, then undo that search.
+        int discoveredBefore = discoveredCount;
+        int settledBefore = settledCount;
+        int resettledBefore = resettledCount;
+        repairOffset = -1;
+        repairUndo.clear();
+        frontier.clear();
+        startRepair(newStartId);
+        while (!frontier.isEmpty() && settledStamps[oldStartId] < repairSettledBase) {
+            settleNext();
+        }
+        int offset = (settledStamps[oldStartId] >= repairSettledBase)
+                ? distances[oldStartId] : -1;
+        frontier.clear();
+        int[] undo = repairUndo.items;
+        for (int i = repairUndo.size - 5; i >= 0; i -= 5) {
+            int id = undo[i];
+            distances[id] = undo[i + 1];
+            if (undo[i + 3] >= discoveredBase) {
+                predecessors.set(id, undo[i + 2]);
+            }
+            discoveredStamps[id] = undo[i + 3];
+            settledStamps[id] = undo[i + 4];
+        }
+        repairUndo.clear();
+        discoveredCount = discoveredBefore;
+        settledCount = settledBefore;
+        resettledCount = resettledBefore;
+        if (offset < 0) {
+            // No path through the old start can be reused.
+            repairing = false;
+            return findAllPaths(newStartId);
+        }
+
+        // Then search again from the new start, skipping any vertex whose current path shifted by
+        //  the offset is no longer than the path the search found to it.  Such vertices' new
+        //  shortest paths can pass through the old start, and so can those of their descendants,
+        //  which are therefore never reached.
+        repairOffset = offset;
+        startId = newStartId;
+        startRepair(newStartId);
+        while (!frontier.isEmpty()) {
+            settleNext();
+        }
+        for (int id = 0; id < vertexCount(); ++id) {
+            int stamp = settledStamps[id];
+            if (stamp >= settledBase && stamp < repairSettledBase) {
+                distances[id] = add(distances[id], offset);
+            }
+        }
+        repairing = false;
+        return snapshot();
+    }
+
+    /**
+     * Replace our pathfinding results with a copy of `source`'s, so that our paths can be repaired
+     * for a new starting point (see `moveStart()`) while `source`'s paths remain in use.  Throws
+     * IllegalArgumentException if `source` was not created for a graph of the same size and shape
+     * as ours, and IllegalStateException if it has not found paths to all reachable vertices.
+     */
+    public void copyPaths(ShortestPaths<?, ?> source) {
+        if (source.vertexCount() != vertexCount()) {
+            throw new IllegalArgumentException("Solvers are for different graphs");
+        }
+        if (!source.allPathsFound()) {
+            throw new IllegalStateException("Can only copy the results of a complete search");
+        }
+        reset();
+        predecessors.copyFrom(source.predecessors);
+        System.arraycopy(source.distances, 0, distances, 0, vertexCount());
+        System.arraycopy(source.discoveredStamps, 0, discoveredStamps, 0, vertexCount());
+        System.arraycopy(source.settledStamps, 0, settledStamps, 0, vertexCount());
+        discoveredBase = source.discoveredBase;
+        discoveredCount = source.discoveredCount;
+        settledBase = source.settledBase;
+        settledCount = source.settledCount;
+        resettledCount = source.resettledCount;
+        startId = source.startId;
+    }
+
+    /**
+     * Begin a pass of a repair (see `moveStart()`) from the vertex with ID `newStartId`.
+     */
+    private void startRepair(int newStartId) {
+        saveForRepair(newStartId);
+        if (discoveredStamps[newStartId] < discoveredBase) {
+            markDiscovered(newStartId);
+        } else {
+            discoveredStamps[newStartId] = discoveredBase + discoveredCount++;
+        }
+        distances[newStartId] = 0;
+        predecessors.set(newStartId, -1);
+        frontier.addOrUpdate(newStartId, 0);
+    }
 
-                if (distances[neighborId] == -1 || tentativeDistance < distances[neighborId]) {
-                    distances[neighborId] = tentativeDistance;
-                    predecessors[neighborId] = currentVertexId;
-                    frontier.addOrUpdate(neighborId, tentativeDistance);
+    /**
+     * If we are measuring the distance between starts during a repair, save the state of the
+     * vertex with ID `id` so that it can be restored (see `repairUndo`).
+     */
+    private void saveForRepair(int id) {
+        if (repairOffset < 0) {
+            repairUndo.add(id);
+            repairUndo.add(distances[id]);
+            repairUndo.add(predecessors.get(id));
+            repairUndo.add(discoveredStamps[id]);
+            repairUndo.add(settledStamps[id]);
+        }
+    }
+
+    /**
+     * Find a shortest path from the vertex with ID `startId` to the vertex with ID `targetId`,
+     * discarding any pathfinding results from any previous starting point.  The search is guided
+     * towards the target by `heuristic` (A*) and stops as soon as the target is settled.  The
+     * returned snapshot reports the target as settled if it is reachable; other vertices it reports
+     * as settled also have exact distances, but the search cannot be extended to find more.
+     * <p>
+     * Requires `heuristic` estimates distances to `targetId` and is consistent.  If our weigher
+     * declares a maximum weight, then `heuristic` must also not increase by more than an edge's
+     * weight along that edge (which is automatic for consistent heuristics when our weigher
+     * `isSymmetric()`).
+     */
+    public PathfindingSnapshot findPath(int startId, int targetId, DistanceHeuristic heuristic) {
+        setStart(startId);
+        this.heuristic = heuristic;
+        pointToPoint = true;
+        frontier.addOrUpdate(startId, heuristic.estimate(startId));
+
+        while (!frontier.isEmpty() && settleNext() != targetId) {
+            // Keep settling until the target is reached
+        }
+        return snapshot();
+    }
+
+    /**
+     * Find a shortest path from the vertex with ID `startId` to the vertex with ID `targetId` by
+     * searching forwards from the start with this solver and backwards from the target with
+     * `reverse`, stopping once the two searches prove that no shorter connection exists.  Pathfinding
+     * results from any previous starting point are discarded by both solvers.  The returned snapshot
+     * reports the target and every vertex on the path to it as settled if the target is reachable.
+     * <p>
+     * Requires `reverse` is a different solver whose graph has the same vertices as ours with every
+     * edge reversed.  If our graph's edges come in opposite pairs and our weigher `isSymmetric()`
+     * (as for image graphs), this may simply be a second solver for our own graph and weigher.
+     */
+    public PathfindingSnapshot findPathBidirectional(int startId, int targetId,
+            ShortestPaths<VertexType, EdgeType> reverse) {
+        assert reverse != this && reverse.vertexCount() == vertexCount();
+        setStart(startId);
+        reverse.setStart(targetId);
+        pointToPoint = true;
+        reverse.pointToPoint = true;
+        if (startId == targetId) {
+            settleNext();
+            return snapshot();
+        }
+
+        opposite = reverse;
+        reverse.opposite = this;
+        // Any path through a vertex not yet settled by either search is at least as long as the
+        //  sum of the two frontiers' minimum distances, so the best connection is optimal once that
+        //  sum reaches it.
+        while (Math.min(meetingDistance, reverse.meetingDistance)
+                > minFrontierDistance() + reverse.minFrontierDistance()) {
+            if (minFrontierDistance() <= reverse.minFrontierDistance()) {
+                settleNext();
+            } else {
+                reverse.settleNext();
+            }
+        }
+        opposite = null;
+        reverse.opposite = null;
+
+        if (reverse.meetingDistance < meetingDistance) {
+            // The reverse search's "from" vertex lies on its side of the connection.
+            graftReversePath(reverse, reverse.meetingTo, reverse.meetingFrom,
+                    reverse.meetingWeight, targetId);
+        } else if (meetingDistance < Long.MAX_VALUE) {
+            graftReversePath(reverse, meetingFrom, meetingTo, meetingWeight, targetId);
+        }
+        return snapshot();
+    }
+
+    /**
+     * Return the smallest distance of any vertex in our frontier, or `Integer.MAX_VALUE` if our
+     * frontier is empty.  Requires our search is not goal-directed.
+     */
+    private long minFrontierDistance() {
+        assert heuristic == null;
+        return frontier.isEmpty() ? Integer.MAX_VALUE : frontier.minPriority();
+    }
+
+    /**
+     * Complete a bidirectional query by recording the shortest path that joins the vertex with ID
+     * `joinFrom` (discovered by us) to the vertex with ID `joinTo` (discovered by `reverse`) via an
+     * edge of weight `joinWeight`, then follows `reverse`'s predecessors to `targetId`.  Every
+     * vertex from `joinFrom` onwards is marked as settled with its exact distance.  Requires this
+     * connection is a shortest path from our start to `targetId`.
+     */
+    private void graftReversePath(ShortestPaths<VertexType, EdgeType> reverse, int joinFrom,
+            int joinTo, int joinWeight, int targetId) {
+        // Since the connection is a shortest path, every vertex along it has an exact distance
+        //  from both ends, which must sum to the total.
+        int total = add(add(distances[joinFrom], joinWeight), reverse.distances[joinTo]);
+        // `joinFrom` may only have been discovered, but its distance must already be exact (and its
+        //  predecessors are settled).
+        if (!isSettled(joinFrom)) {
+            markSettled(joinFrom);
+        }
+        int prev = joinFrom;
+        int id = joinTo;
+        while (true) {
+            if (!isSettled(id)) {
+                if (!isDiscovered(id)) {
+                    markDiscovered(id);
                 }
+                distances[id] = total - reverse.distances[id];
+                predecessors.set(id, prev);
+                markSettled(id);
+            }
+            if (id == targetId) {
+                break;
             }
+            prev = id;
+            id = reverse.predecessors.get(id);
+        }
+    }
 
-            settledIds.set(currentVertexId);
-            settledVertices++;
+    /**
+     * Remove the closest vertex from our frontier, relax all of its outgoing edges, and mark it as
+     * settled.  Returns the settled vertex's ID.  Requires our frontier is not empty.
+     */
+    private int settleNext() {
+        int currentVertexId = frontier.remove();
+
+        if (compactGraph != null) {
+            currentId = currentVertexId;
+            compactGraph.forEachNeighbor(currentVertexId, relaxer);
+        } else {
+            VertexType currentVertex = graph.getVertex(currentVertexId);
+            for (EdgeType edge : currentVertex.outgoingEdges()) {
+                relax(currentVertexId, edge.endId(), weigher.weight(edge));
+            }
+        }
+
+        markSettled(currentVertexId);
+        return currentVertexId;
+    }
+
+    /**
+     * Return whether the vertex with ID `id` has been discovered in our current search.
+     */
+    private boolean isDiscovered(int id) {
+        return discoveredStamps[id] >= discoveredBase;
+    }
+
+    /**
+     * Return whether the vertex with ID `id` has been settled in our current search.
+     */
+    private boolean isSettled(int id) {
+        return settledStamps[id] >= settledBase;
+    }
+
+    /**
+     * Record that the vertex with ID `id` has been discovered.  Requires it was not already.
+     */
+    private void markDiscovered(int id) {
+        discoveredStamps[id] = discoveredBase + discoveredCount++;
+        if (changes != null && !repairing) {
+            changes.addDiscovered(id);
+        }
+    }
+
+    /**
+     * Record that the vertex with ID `id` has been settled.  Requires it was not already.
+     */
+    private void markSettled(int id) {
+        if (repairing && isSettled(id)) {
+            resettledCount += 1;
         }
+        settledStamps[id] = settledBase + settledCount++;
+        if (changes != null && !repairing) {
+            changes.addSettled(id);
+        }
+    }
+
+    /**
+     * Update the best known path to the vertex with ID `neighborId` if the edge from the settled
+     * vertex with ID `fromId`, whose weight is `weight`, leads to it via a shorter path.
+     */
+    private void relax(int fromId, int neighborId, int weight) {
+        assert weight >= minWeight && weight <= maxWeight;
+        int tentativeDistance = add(distances[fromId], weight);
+
+        if (repairing) {
+            relaxForRepair(fromId, neighborId, tentativeDistance);
+            return;
+        }
+
+        if (opposite != null && opposite.isDiscovered(neighborId)) {
+            // This edge connects our search to the opposite one.
+            long connected = (long) tentativeDistance + opposite.distances[neighborId];
+            if (connected < meetingDistance) {
+                meetingDistance = connected;
+                meetingFrom = fromId;
+                meetingTo = neighborId;
+                meetingWeight = weight;
+            }
+        }
+
+        boolean discovered = isDiscovered(neighborId);
+        if (!discovered || tentativeDistance < distances[neighborId]) {
+            if (!discovered) {
+                markDiscovered(neighborId);
+            }
+            distances[neighborId] = tentativeDistance;
+            predecessors.set(neighborId, fromId);
+            int priority = (heuristic == null) ? tentativeDistance
+                    : add(tentativeDistance, heuristic.estimate(neighborId));
+            frontier.addOrUpdate(neighborId, priority);
+        }
+    }
 
-        return new PathfindingSnapshot(startId, distances.clone(), predecessors.clone(), (BitSet) settledIds.clone());
+    /**
+     * Return the sum of the distances (or weights, or estimates) `a` and `b`.  Throws
+     * ArithmeticException if it overflows and our weight bounds do not rule that out.
+     */
+    private int add(int a, int b) {
+        return checkedDistances ? Math.addExact(a, b) : a + b;
+    }
+
+    /**
+     * Update the best known path to the vertex with ID `neighborId` during a repair (see
+     * `moveStart()`) if the edge from the vertex with ID `fromId` leads to it via a path of weight
+     * `tentativeDistance` that is shorter than both any path to it found by the repair and its
+     * path in the tree being repaired (shifted by `repairOffset`, if it is known).
+     */
+    private void relaxForRepair(int fromId, int neighborId, int tentativeDistance) {
+        if (discoveredStamps[neighborId] >= repairDiscoveredBase) {
+            if (tentativeDistance < distances[neighborId]) {
+                distances[neighborId] = tentativeDistance;
+                predecessors.set(neighborId, fromId);
+                frontier.addOrUpdate(neighborId, tentativeDistance);
+            }
+            return;
+        }
+        if (repairOffset >= 0 && neighborId != repairOldStartId && isSettled(neighborId)
+                && tentativeDistance >= (long) distances[neighborId] + repairOffset) {
+            return;
+        }
+        saveForRepair(neighborId);
+        discoveredStamps[neighborId] = discoveredBase + discoveredCount++;
+        distances[neighborId] = tentativeDistance;
+        predecessors.set(neighborId, fromId);
+        frontier.addOrUpdate(neighborId, tentativeDistance);
+    }
+
+    /**
+     * Return a view of our current pathfinding results.  No arrays are copied: since the distance
+     * and predecessor of a settled vertex never change, and since discovery and settlement stamps
+     * are only written once, the view can filter out later progress (and earlier searches) by
+     * comparing stamps against the current bases and counts.
+     */
+    private PathfindingSnapshot snapshot() {
+        return new PathfindingSnapshot(startId, distances, predecessors,
+                discoveredStamps, discoveredBase, discoveredBase + discoveredCount,
+                settledStamps, settledBase, settledBase + settledCount);
     }
 }
@@ -9,4 +9,31 @@ public interface Weigher<EdgeType extends Edge> {
      * Return the weight of the edge `edge`.
      */
     int weight(EdgeType edge);
+
+    /**
+     * Return an upper bound on the weight of any edge this weigher will be asked to weigh, or
+     * `Integer.MAX_VALUE` if no bound is known.  Declaring a small bound allows pathfinders to use
+     * bucket-based priority queues instead of comparison-based heaps.
+     */
+    default int maxWeight() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Return a lower bound on the weight of any edge this weigher will be asked to weigh, which
+     * must be non-negative and no greater than `maxWeight()`.
+     */
+    default int minWeight() {
+        return 0;
+    }
+
+    /**
+     * Return whether this weigher gives every edge the same weight as the edge between the same
+     * vertices in the opposite direction (when there is one).  Consistent heuristics for
+     * symmetric weights never drop by more than an edge's weight along it, and searches towards a
+     * vertex can use the same weights as searches from it.
+     */
+    default boolean isSymmetric() {
+        return false;
+    }
 }
@@ -0,0 +1,265 @@
+package scissors;
+
+import graph.Weigher;
+import java.awt.image.Raster;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Weighs edges by a linear combination of three features of an image's luminance, as in the
+ * original Intelligent Scissors paper (Mortensen and Barrett, 1995): whether pixels lie on a
+ * zero-crossing of the Laplacian, how steep the gradient at them is, and how well the edge runs
+ * along the gradient's contours.  Each feature is a plane computed once, in parallel, by a
+ * `FeaturePipeline`; weighing an edge then only combines the planes' values at its endpoints.
+ * <p>
+ * The paper's costs are directed, charging a link for the features at its end.  Weight planes
+ * require symmetric weights, so the zero-crossing and gradient-magnitude costs of an edge are
+ * averaged over both of its endpoints, and its gradient-direction cost is averaged over both of
+ * its directions.  Costs in [0, 1] are scaled to `ScissorsWeights.MAX_WEIGHT` and rounded.
+ */
+class CompositeWeigher implements Weigher<ImageEdge>, ScissorsWeights.PixelWeigher {
+
+    /**
+     * The weights of the zero-crossing, gradient-magnitude, and gradient-direction costs
+     * recommended by the paper.
+     */
+    static final double DEFAULT_ZERO_CROSSING_WEIGHT = 0.43;
+    static final double DEFAULT_MAGNITUDE_WEIGHT = 0.43;
+    static final double DEFAULT_DIRECTION_WEIGHT = 0.14;
+
+    /**
+     * The graph that the edges to be weighed will come from.
+     */
+    private final ImageGraph graph;
+
+    /**
+     * Computes our planes (and the weight plane) in parallel.
+     */
+    private final FeaturePipeline pipeline;
+
+    /**
+     * The dimensions of `graph`'s image.
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * 0 for pixels on a zero-crossing of the Laplacian, 1 for others.
+     */
+    private final byte[] zeroCrossings;
+
+    /**
+     * The magnitude of the gradient at each pixel.
+     */
+    private final int[] magnitudes;
+
+    /**
+     * The components of the unit vector perpendicular to the gradient at each pixel (rotated
+     * clockwise from it), or 0 where there is no gradient.  The image's contours run along these.
+     */
+    private final float[] contourX;
+    private final float[] contourY;
+
+    /**
+     * The largest element of `magnitudes`.
+     */
+    private final int maxMagnitude;
+
+    /**
+     * The weights of each feature's cost in an edge's cost.
+     */
+    private final double zeroCrossingWeight;
+    private final double magnitudeWeight;
+    private final double directionWeight;
+
+    /**
+     * Create a weigher capable of weighing edges in `graph` using the paper's recommended weights,
+     * computing its feature planes with the threads of `pool`.
+     */
+    CompositeWeigher(ImageGraph graph, ForkJoinPool pool) {
+        this(graph, pool, DEFAULT_ZERO_CROSSING_WEIGHT, DEFAULT_MAGNITUDE_WEIGHT,
+                DEFAULT_DIRECTION_WEIGHT);
+    }
+
+    /**
+     * Create a weigher as above whose costs weigh the zero-crossing, gradient-magnitude, and
+     * gradient-direction features by `zeroCrossingWeight`, `magnitudeWeight`, and
+     * `directionWeight`, respectively.  Throws IllegalArgumentException if any of those weights is
+     * negative or they sum to more than 1, or if `graph`'s image is too large for a weight plane
+     * (see `WeightPlane.capacity()`).
+     */
+    CompositeWeigher(ImageGraph graph, ForkJoinPool pool, double zeroCrossingWeight,
+            double magnitudeWeight, double directionWeight) {
+        if (zeroCrossingWeight < 0 || magnitudeWeight < 0 || directionWeight < 0
+                || zeroCrossingWeight + magnitudeWeight + directionWeight > 1 + 1e-9) {
+            throw new IllegalArgumentException("Invalid feature weights");
+        }
+        this.graph = graph;
+        this.zeroCrossingWeight = zeroCrossingWeight;
+        this.magnitudeWeight = magnitudeWeight;
+        this.directionWeight = directionWeight;
+        width = graph.width();
+        height = graph.height();
+        // Reject images whose weight plane would not fit before spending time on their features.
+        WeightPlane.capacity(width, height);
+        pipeline = new FeaturePipeline(pool, width, height);
+
+        Raster src = graph.raster();
+        PixelPlane intensities = (src.getNumBands() >= 3) ? PixelPlane.luminance(src)
+                : PixelPlane.band(src, 0);
+        zeroCrossings = new byte[pipeline.pixels()];
+        markZeroCrossings(intensities);
+        magnitudes = new int[pipeline.pixels()];
+        contourX = new float[pipeline.pixels()];
+        contourY = new float[pipeline.pixels()];
+        measureGradients(intensities);
+        int max = 0;
+        for (int m : magnitudes) {
+            max = Math.max(max, m);
+        }
+        maxMagnitude = max;
+    }
+
+    /**
+     * Mark the zero-crossings of the Laplacian of `intensities` in `zeroCrossings`.  The Laplacian
+     * is only needed while marking, so it becomes garbage as soon as this returns.
+     */
+    private void markZeroCrossings(PixelPlane intensities) {
+        PixelPlane laplacian = pipeline.compute(FeaturePipeline.laplacian(intensities));
+        pipeline.forEachRowBand(FeaturePipeline.zeroCrossings(laplacian, zeroCrossings));
+    }
+
+    /**
+     * Store the magnitudes and contour directions of the gradient of `intensities` in `magnitudes`,
+     * `contourX`, and `contourY`.  The gradient's components are only needed while deriving
+     * those, so they become garbage as soon as this returns.
+     */
+    private void measureGradients(PixelPlane intensities) {
+        PixelPlane dx = pipeline.compute(FeaturePipeline.sobelX(intensities));
+        PixelPlane dy = pipeline.compute(FeaturePipeline.sobelY(intensities));
+        int[] gx = dx.samples();
+        int[] gy = dy.samples();
+        FeaturePipeline.RowKernel magnitude = FeaturePipeline.magnitude(dx, dy);
+        pipeline.forEachRowBand((beginRow, endRow) -> {
+            magnitude.computeRows(magnitudes, beginRow, endRow);
+            for (int i = beginRow * width; i < endRow * width; ++i) {
+                double hypot = Math.hypot(gx[i], gy[i]);
+                if (hypot > 0) {
+                    contourX[i] = (float) (gy[i] / hypot);
+                    contourY[i] = (float) (-gx[i] / hypot);
+                }
+            }
+        });
+    }
+
+    @Override
+    public int weight(ImageEdge edge) {
+        ImageVertex src = graph.getVertex(edge.startId());
+        return weight(src.x(), src.y(), edge.dir());
+    }
+
+    @Override
+    public int weight(int x, int y, int dir) {
+        if (dir >= WeightPlane.SLOTS) {
+            // Weigh the same edge from its other end, so that weights are exactly symmetric.
+            return weight(x + CompiledImageGraph.DX[dir], y + CompiledImageGraph.DY[dir],
+                    dir - WeightPlane.SLOTS);
+        }
+        int p = ImageVertex.xyToId(x, y, width);
+        int q = p + CompiledImageGraph.idOffset(dir, width);
+        boolean diagonal = (dir % 2) != 0;
+
+        double zeroCrossingCost = (zeroCrossings[p] + zeroCrossings[q]) / 2.0;
+        double magnitudeCost = (maxMagnitude == 0) ? 1
+                : 1 - (magnitudes[p] + magnitudes[q]) / (2.0 * maxMagnitude);
+        if (!diagonal) {
+            // Straight edges are shorter, so cross less of the gradient.
+            magnitudeCost /= Math.sqrt(2);
+        }
+        double length = diagonal ? Math.sqrt(2) : 1;
+        double ex = CompiledImageGraph.DX[dir] / length;
+        double ey = CompiledImageGraph.DY[dir] / length;
+        double directionCost = directionCost(p, q, ex, ey);
+
+        double cost = zeroCrossingWeight * zeroCrossingCost + magnitudeWeight * magnitudeCost
+                + directionWeight * directionCost;
+        int w = (int) Math.round(cost * ScissorsWeights.MAX_WEIGHT);
+        return Math.clamp(w, 0, ScissorsWeights.MAX_WEIGHT);
+    }
+
+    /**
+     * Return the paper's gradient-direction cost, in [0, 1], of the edge between the pixels with
+     * IDs `p` and `q`, averaged over the edge's two directions.  `q` lies in the direction of the
+     * unit vector (`ex`, `ey`) from `p`.  The cost is low when the edge runs along the contours at
+     * both pixels.
+     */
+    private double directionCost(int p, int q, double ex, double ey) {
+        // The paper orients each link to agree with the contour at its start, then sums the
+        //  angles between the link and the contours at either end.  Since acos(-d) = pi -
+        //  acos(d), both directions' costs follow from the angles between the edge's line and
+        //  each contour's.
+        double dp = contourX[p] * ex + contourY[p] * ey;
+        double dq = contourX[q] * ex + contourY[q] * ey;
+        double anglePq = Math.acos(Math.min(Math.abs(dp), 1));
+        double angleQp = Math.acos(Math.min(Math.abs(dq), 1));
+        // The angle between the link oriented along one end's contour and the other end's
+        //  contour is acute when the contours point the same way along the edge.
+        boolean agree = (dp < 0) == (dq < 0);
+        double forward = anglePq + (agree ? angleQp : Math.PI - angleQp);
+        double backward = angleQp + (agree ? anglePq : Math.PI - anglePq);
+        return (forward + backward) / 2 * 2 / (3 * Math.PI);
+    }
+
+    @Override
+    public int maxWeight() {
+        return ScissorsWeights.MAX_WEIGHT;
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
+    /**
+     * Return a plane of all our weights, computed in parallel bands of rows.
+     */
+    WeightPlane plane() {
+        byte[] weights = new byte[WeightPlane.capacity(width, height)];
+        AtomicInteger minStraight = new AtomicInteger(ScissorsWeights.MAX_WEIGHT);
+        AtomicInteger minDiagonal = new AtomicInteger(ScissorsWeights.MAX_WEIGHT);
+        pipeline.forEachRowBand((beginRow, endRow) -> {
+            int bandStraight = ScissorsWeights.MAX_WEIGHT;
+            int bandDiagonal = ScissorsWeights.MAX_WEIGHT;
+            for (int y = beginRow; y < endRow; ++y) {
+                for (int x = 0; x < width; ++x) {
+                    int base = WeightPlane.SLOTS * ImageVertex.xyToId(x, y, width);
+                    // Directions 0-3 point right, up-right, up, and up-left.
+                    if (x + 1 < width) {
+                        int w = weight(x, y, 0);
+                        weights[base] = (byte) w;
+                        bandStraight = Math.min(bandStraight, w);
+                    }
+                    if (x + 1 < width && y > 0) {
+                        int w = weight(x, y, 1);
+                        weights[base + 1] = (byte) w;
+                        bandDiagonal = Math.min(bandDiagonal, w);
+                    }
+                    if (y > 0) {
+                        int w = weight(x, y, 2);
+                        weights[base + 2] = (byte) w;
+                        bandStraight = Math.min(bandStraight, w);
+                    }
+                    if (x > 0 && y > 0) {
+                        int w = weight(x, y, 3);
+                        weights[base + 3] = (byte) w;
+                        bandDiagonal = Math.min(bandDiagonal, w);
+                    }
+                }
+            }
+            minStraight.accumulateAndGet(bandStraight, Math::min);
+            minDiagonal.accumulateAndGet(bandDiagonal, Math::min);
+        });
+        return new WeightPlane(width, height, weights, ScissorsWeights.MAX_WEIGHT,
+                minStraight.get(), minDiagonal.get());
+    }
+}
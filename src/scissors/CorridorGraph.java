@@ -0,0 +1,165 @@
+package scissors;
+
+import graph.CompactGraph;
+import graph.DistanceHeuristic;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A `CompactGraph` containing only the pixels of an image that lie within a corridor around a
+ * path, with the same edges between them (and the same weights) as an ImageGraph.  The corridor
+ * covers a span of consecutive pixels in each of a range of consecutive rows.  Its vertices are
+ * numbered from 0 in row-major order ("corridor IDs"), so a solver for the corridor only needs
+ * storage proportional to the corridor's size rather than the image's.
+ */
+final class CorridorGraph implements CompactGraph {
+
+    /**
+     * The weights of the edges of the whole image.
+     */
+    private final EdgeWeights plane;
+
+    /**
+     * The width of the image.
+     */
+    private final int imageWidth;
+
+    /**
+     * The row of the image containing the first row of the corridor.
+     */
+    private final int top;
+
+    /**
+     * `left[r]` and `right[r]` are the first column in and first column past the span of the
+     * corridor in image row `top + r`.
+     */
+    private final int[] left;
+    private final int[] right;
+
+    /**
+     * `rowStarts[r]` is the corridor ID of the pixel at (`left[r]`, `top + r`).  Has one extra
+     * element, which is the number of pixels in the corridor.
+     */
+    private final int[] rowStarts;
+
+    /**
+     * Create a corridor covering columns `[left[r]..right[r])` of each image row `top + r`, in an
+     * image `imageWidth` pixels wide whose edges are weighed by `plane`.  Requires each span is
+     * non-empty and lies within the image.
+     */
+    private CorridorGraph(EdgeWeights plane, int imageWidth, int top, int[] left, int[] right) {
+        this.plane = plane;
+        this.imageWidth = imageWidth;
+        this.top = top;
+        this.left = left;
+        this.right = right;
+        rowStarts = new int[left.length + 1];
+        for (int r = 0; r < left.length; ++r) {
+            assert left[r] < right[r];
+            rowStarts[r + 1] = rowStarts[r] + (right[r] - left[r]);
+        }
+    }
+
+    /**
+     * Return the corridor in an image of size `width` x `height`, whose edges are weighed by
+     * `plane`, that covers every pixel within `radius` pixels (along both axes) of the 2x2 blocks
+     * of pixels represented by the vertices of `coarsePath` in a version of the image at half the
+     * resolution, which is `coarseWidth` pixels wide.  Each row's span extends from the leftmost to
+     * the rightmost such pixel in that row.  Requires `coarsePath` is non-empty and connected
+     * (each pixel is a neighbor of the previous).
+     */
+    static CorridorGraph around(EdgeWeights plane, int width, int height,
+            List<Integer> coarsePath, int coarseWidth, int radius) {
+        int top = Integer.MAX_VALUE;
+        int bottom = Integer.MIN_VALUE;
+        for (int coarseId : coarsePath) {
+            int y = 2 * (coarseId / coarseWidth);
+            top = Math.min(top, y - radius);
+            bottom = Math.max(bottom, y + 1 + radius);
+        }
+        top = Math.max(top, 0);
+        bottom = Math.min(bottom, height - 1);
+
+        int[] left = new int[bottom - top + 1];
+        int[] right = new int[bottom - top + 1];
+        Arrays.fill(left, Integer.MAX_VALUE);
+        Arrays.fill(right, Integer.MIN_VALUE);
+        for (int coarseId : coarsePath) {
+            int coarseY = coarseId / coarseWidth;
+            int x = 2 * (coarseId - coarseY * coarseWidth);
+            int y = 2 * coarseY;
+            int x0 = Math.max(x - radius, 0);
+            int x1 = Math.min(x + 2 + radius, width);
+            for (int row = Math.max(y - radius, top); row <= Math.min(y + 1 + radius, bottom);
+                    ++row) {
+                left[row - top] = Math.min(left[row - top], x0);
+                right[row - top] = Math.max(right[row - top], x1);
+            }
+        }
+        return new CorridorGraph(plane, width, top, left, right);
+    }
+
+    @Override
+    public int vertexCount() {
+        return rowStarts[left.length];
+    }
+
+    /**
+     * Return the corridor ID of the pixel at (`x`, `y`), or -1 if that pixel is not in the
+     * corridor.
+     */
+    int idAt(int x, int y) {
+        int r = y - top;
+        if (r < 0 || r >= left.length || x < left[r] || x >= right[r]) {
+            return -1;
+        }
+        return rowStarts[r] + (x - left[r]);
+    }
+
+    /**
+     * Return the ID in the whole image of the pixel with corridor ID `id`.
+     */
+    int imageId(int id) {
+        int r = rowOf(id);
+        return ImageVertex.xyToId(left[r] + (id - rowStarts[r]), top + r, imageWidth);
+    }
+
+    /**
+     * Return the index (relative to `top`) of the row containing the pixel with corridor ID `id`.
+     */
+    private int rowOf(int id) {
+        int r = Arrays.binarySearch(rowStarts, id);
+        // Rows are non-empty, so an exact match is the start of the row, not the end of the last.
+        return (r >= 0) ? r : -r - 2;
+    }
+
+    @Override
+    public void forEachNeighbor(int id, NeighborVisitor visitor) {
+        int r = rowOf(id);
+        int x = left[r] + (id - rowStarts[r]);
+        int y = top + r;
+        int imageId = ImageVertex.xyToId(x, y, imageWidth);
+        for (int dir = 0; dir < 8; ++dir) {
+            int neighborId = idAt(x + CompiledImageGraph.DX[dir], y + CompiledImageGraph.DY[dir]);
+            if (neighborId >= 0) {
+                visitor.visit(neighborId, plane.weight(imageId, dir));
+            }
+        }
+    }
+
+    /**
+     * Return a consistent heuristic for goal-directed searches towards the pixel with corridor ID
+     * `targetId` (see `ImageGraph.octileHeuristic()`).
+     */
+    DistanceHeuristic heuristic(int targetId) {
+        int targetRow = rowOf(targetId);
+        int targetX = left[targetRow] + (targetId - rowStarts[targetRow]);
+        int minStraight = plane.minStraightWeight();
+        int minDiagonal = plane.minDiagonalWeight();
+        return id -> {
+            int r = rowOf(id);
+            return ImageGraph.octileDistance(left[r] + (id - rowStarts[r]) - targetX,
+                    r - targetRow, minStraight, minDiagonal);
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package scissors;
+
+import graph.Weigher;
+
+/**
+ * The weights of every edge of an ImageGraph, which can be looked up by pixel ID and direction,
+ * along with lower bounds on them for goal-directed heuristics.  Implemented both by planes
+ * computed up front (`WeightPlane`) and by planes computed lazily a tile at a time
+ * (`TiledWeightPlane`).
+ */
+interface EdgeWeights extends Weigher<ImageEdge>, ScissorsWeights.PixelWeigher {
+
+    /**
+     * Return the weight of the edge leaving the pixel with ID `id` in direction `dir`.  Requires
+     * that edge lies within the image.
+     */
+    int weight(int id, int dir);
+
+    /**
+     * Return a lower bound on the weight of every horizontal or vertical edge.
+     */
+    int minStraightWeight();
+
+    /**
+     * Return a lower bound on the weight of every diagonal edge.
+     */
+    int minDiagonalWeight();
+
+    @Override
+    default int minWeight() {
+        return Math.min(minStraightWeight(), minDiagonalWeight());
+    }
+
+    /**
+     * Weights are stored once per pair of neighboring pixels, so are always symmetric.
+     */
+    @Override
+    default boolean isSymmetric() {
+        return true;
+    }
+}
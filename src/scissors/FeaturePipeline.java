@@ -0,0 +1,344 @@
+package scissors;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes planes of per-pixel features of one image (such as gradients or Laplacians of its
+ * intensities), each in parallel on a fork-join pool.  A plane is split into bands of consecutive
+ * rows that are computed by separate tasks; since a feature's rows only read other planes (never
+ * the plane being written), bands need no synchronization.  Features are composed by computing
+ * planes in stages, each stage's kernels reading the planes of earlier stages.
+ */
+final class FeaturePipeline {
+
+    /**
+     * The smallest number of pixels worth computing in a task of its own.  Smaller images are
+     * computed by the calling thread.
+     */
+    static final int BAND_PIXELS = 1 << 14;
+
+    /**
+     * Computes some rows of a feature plane.
+     */
+    @FunctionalInterface
+    interface RowKernel {
+
+        /**
+         * Write the features of the pixels in rows `[beginRow..endRow)` to `out`, laid out as
+         * `out[x + width * y]`.  Must not read any other elements of `out`.
+         */
+        void computeRows(int[] out, int beginRow, int endRow);
+    }
+
+    /**
+     * Processes some rows of an image.
+     */
+    @FunctionalInterface
+    interface RowBand {
+
+        /**
+         * Process the pixels in rows `[beginRow..endRow)`.
+         */
+        void run(int beginRow, int endRow);
+    }
+
+    /**
+     * The pool whose threads compute our planes.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The dimensions of the image whose features we compute.
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * The number of pixels in the image, and so of elements in each of our planes.
+     */
+    private final int pixels;
+
+    /**
+     * The number of rows in each band.
+     */
+    private final int bandRows;
+
+    /**
+     * Create a pipeline computing features of an image of size `width` x `height` using the threads
+     * of `pool`.  Throws IllegalArgumentException if a plane of that size would not fit in an
+     * array.
+     */
+    FeaturePipeline(ForkJoinPool pool, int width, int height) {
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        try {
+            pixels = Math.multiplyExact(width, height);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Image too large for feature planes: " + width + "x" + height, e);
+        }
+        bandRows = Math.max(1, Math.ceilDiv(BAND_PIXELS, Math.max(1, width)));
+    }
+
+    /**
+     * Return the number of pixels in the image, which is the length of each of our planes.
+     */
+    int pixels() {
+        return pixels;
+    }
+
+    /**
+     * Return the plane whose rows are computed by `kernel`.
+     */
+    PixelPlane compute(RowKernel kernel) {
+        int[] out = new int[pixels];
+        forEachRowBand((begin, end) -> kernel.computeRows(out, begin, end));
+        return PixelPlane.of(width, height, out);
+    }
+
+    /**
+     * Run `body` over every row of the image, in parallel bands if the image is large enough.
+     * Returns once every band has been processed.  `body` must be safe to call from multiple
+     * threads on disjoint bands.
+     */
+    void forEachRowBand(RowBand body) {
+        if (height <= bandRows) {
+            body.run(0, height);
+        } else {
+            pool.invoke(new BandTask(body, 0, height));
+        }
+    }
+
+    /**
+     * Runs a `RowBand` over a range of rows, splitting it in half until it is no larger than a
+     * band.
+     */
+    @SuppressWarnings("serial")
+    private class BandTask extends RecursiveAction {
+
+        private final RowBand body;
+        private final int begin;
+        private final int end;
+
+        BandTask(RowBand body, int begin, int end) {
+            this.body = body;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - begin <= bandRows) {
+                body.run(begin, end);
+            } else {
+                int mid = (begin + end) >>> 1;
+                invokeAll(new BandTask(body, begin, mid), new BandTask(body, mid, end));
+            }
+        }
+    }
+
+    /**
+     * Return a kernel computing the discrete Laplacian of `in` (8 times each pixel's intensity
+     * minus the sum of its 8 neighbors'), replicating the border pixels beyond the image's edges.
+     */
+    static RowKernel laplacian(PixelPlane in) {
+        int width = in.width();
+        int height = in.height();
+        int[] s = in.samples();
+        return (out, beginRow, endRow) -> {
+            for (int y = beginRow; y < endRow; ++y) {
+                int above = Math.max(y - 1, 0) * width;
+                int row = y * width;
+                int below = Math.min(y + 1, height - 1) * width;
+                for (int x = 0; x < width; ++x) {
+                    int left = Math.max(x - 1, 0);
+                    int right = Math.min(x + 1, width - 1);
+                    int sum = s[above + left] + s[above + x] + s[above + right]
+                            + s[row + left] + s[row + right]
+                            + s[below + left] + s[below + x] + s[below + right];
+                    out[row + x] = 8 * s[row + x] - sum;
+                }
+            }
+        };
+    }
+
+    /**
+     * Return a kernel computing the horizontal Sobel derivative of `in` (increasing rightwards),
+     * replicating the border pixels beyond the image's edges.
+     */
+    static RowKernel sobelX(PixelPlane in) {
+        int width = in.width();
+        int height = in.height();
+        int[] s = in.samples();
+        return (out, beginRow, endRow) -> {
+            for (int y = beginRow; y < endRow; ++y) {
+                int above = Math.max(y - 1, 0) * width;
+                int row = y * width;
+                int below = Math.min(y + 1, height - 1) * width;
+                for (int x = 0; x < width; ++x) {
+                    int left = Math.max(x - 1, 0);
+                    int right = Math.min(x + 1, width - 1);
+                    out[row + x] = (s[above + right] + 2 * s[row + right] + s[below + right])
+                            - (s[above + left] + 2 * s[row + left] + s[below + left]);
+                }
+            }
+        };
+    }
+
+    /**
+     * Return a kernel computing the vertical Sobel derivative of `in` (increasing downwards),
+     * replicating the border pixels beyond the image's edges.
+     */
+    static RowKernel sobelY(PixelPlane in) {
+        int width = in.width();
+        int height = in.height();
+        int[] s = in.samples();
+        return (out, beginRow, endRow) -> {
+            for (int y = beginRow; y < endRow; ++y) {
+                int above = Math.max(y - 1, 0) * width;
+                int row = y * width;
+                int below = Math.min(y + 1, height - 1) * width;
+                for (int x = 0; x < width; ++x) {
+                    int left = Math.max(x - 1, 0);
+                    int right = Math.min(x + 1, width - 1);
+                    out[row + x] = (s[below + left] + 2 * s[below + x] + s[below + right])
+                            - (s[above + left] + 2 * s[above + x] + s[above + right]);
+                }
+            }
+        };
+    }
+
+    /**
+     * Return a kernel computing the magnitude of the gradient whose components are `dx` and `dy`,
+     * rounded to the nearest integer.
+     */
+    static RowKernel magnitude(PixelPlane dx, PixelPlane dy) {
+        int width = dx.width();
+        int[] gx = dx.samples();
+        int[] gy = dy.samples();
+        return (out, beginRow, endRow) -> {
+            for (int i = beginRow * width; i < endRow * width; ++i) {
+                out[i] = (int) Math.round(Math.sqrt((double) gx[i] * gx[i]
+                        + (double) gy[i] * gy[i]));
+            }
+        };
+    }
+
+    /**
+     * Return a band marking the zero-crossings of `laplacian` in `out` (laid out like a plane) with
+     * 0 and all other pixels with 1.  A pixel is a zero-crossing if its Laplacian is zero, or if it
+     * is the one closer to zero of a pair of horizontally or vertically neighboring pixels whose
+     * Laplacians differ in sign.  The marks are bytes, since a plane of ints would spend 4 times
+     * the memory on a single bit per pixel.
+     */
+    static RowBand zeroCrossings(PixelPlane laplacian, byte[] out) {
+        int width = laplacian.width();
+        int height = laplacian.height();
+        int[] l = laplacian.samples();
+        return (beginRow, endRow) -> {
+            for (int y = beginRow; y < endRow; ++y) {
+                int row = y * width;
+                for (int x = 0; x < width; ++x) {
+                    int i = row + x;
+                    boolean crossing = l[i] == 0
+                            || (x > 0 && closerToZero(l[i], l[i - 1]))
+                            || (x + 1 < width && closerToZero(l[i], l[i + 1]))
+                            || (y > 0 && closerToZero(l[i], l[i - width]))
+                            || (y + 1 < height && closerToZero(l[i], l[i + width]));
+                    out[i] = (byte) (crossing ? 0 : 1);
+                }
+            }
+        };
+    }
+
+    /**
+     * Return the taps of a Gaussian kernel with standard deviation `sigma`, truncated at 3 standard
+     * deviations and normalized to sum to 1.  The kernel has `2 * r + 1` taps for radius `r`,
+     * centered on tap `r`.  Requires `sigma` is positive.
+     */
+    static float[] gaussian(double sigma) {
+        int radius = Math.max(1, (int) Math.ceil(3 * sigma));
+        double[] taps = new double[2 * radius + 1];
+        double sum = 0;
+        for (int k = -radius; k <= radius; ++k) {
+            taps[k + radius] = Math.exp(-(k * k) / (2 * sigma * sigma));
+            sum += taps[k + radius];
+        }
+        float[] kernel = new float[taps.length];
+        for (int i = 0; i < taps.length; ++i) {
+            kernel[i] = (float) (taps[i] / sum);
+        }
+        return kernel;
+    }
+
+    /**
+     * Return a kernel convolving each row of `in` with the odd-length, centered 1-D `kernel`, then
+     * multiplying by `scale` and rounding to the nearest integer.  Replicates the border pixels
+     * beyond the image's edges.  Scaling lets the first pass of a separable convolution keep
+     * fractional bits for the second.
+     */
+    static RowKernel convolveRows(PixelPlane in, float[] kernel, float scale) {
+        int width = in.width();
+        int[] s = in.samples();
+        int radius = kernel.length / 2;
+        return (out, beginRow, endRow) -> {
+            for (int y = beginRow; y < endRow; ++y) {
+                int row = y * width;
+                for (int x = 0; x < width; ++x) {
+                    float sum = 0;
+                    if (x >= radius && x + radius < width) {
+                        for (int k = 0, i = row + x - radius; k < kernel.length; ++k, ++i) {
+                            sum += kernel[k] * s[i];
+                        }
+                    } else {
+                        for (int k = 0; k < kernel.length; ++k) {
+                            sum += kernel[k]
+                                    * s[row + Math.clamp(x + k - radius, 0, width - 1)];
+                        }
+                    }
+                    out[row + x] = Math.round(scale * sum);
+                }
+            }
+        };
+    }
+
+    /**
+     * Return a kernel convolving each column of `in` with the odd-length, centered 1-D `kernel`,
+     * then multiplying by `scale` and rounding to the nearest integer.  Replicates the border
+     * pixels beyond the image's edges.  Each output row accumulates whole input rows, so every
+     * column of a band is convolved in the same contiguous sweep.
+     */
+    static RowKernel convolveColumns(PixelPlane in, float[] kernel, float scale) {
+        int width = in.width();
+        int height = in.height();
+        int[] s = in.samples();
+        int radius = kernel.length / 2;
+        return (out, beginRow, endRow) -> {
+            float[] sums = new float[width];
+            for (int y = beginRow; y < endRow; ++y) {
+                Arrays.fill(sums, 0.0f);
+                for (int k = 0; k < kernel.length; ++k) {
+                    float c = kernel[k];
+                    int src = Math.clamp(y + k - radius, 0, height - 1) * width;
+                    for (int x = 0; x < width; ++x) {
+                        sums[x] += c * s[src + x];
+                    }
+                }
+                int row = y * width;
+                for (int x = 0; x < width; ++x) {
+                    out[row + x] = Math.round(scale * sums[x]);
+                }
+            }
+        };
+    }
+
+    /**
+     * Return whether `a` and `b` differ in sign and `a` is no farther from zero than `b`.
+     */
+    private static boolean closerToZero(int a, int b) {
+        return ((a ^ b) < 0) && Math.abs(a) <= Math.abs(b);
+    }
+}
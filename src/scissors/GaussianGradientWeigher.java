@@ -0,0 +1,155 @@
+package scissors;
+
+import graph.Weigher;
+import java.awt.image.Raster;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Weighs edges like `CrossGradMonoWeight`, but by the cross-gradients of versions of an image's
+ * intensities smoothed by Gaussians of one or more scales, so that noise (which the raw 2x2
+ * differences of `crossGrad()` pick up) does not make live wires jitter.  Each smoothed version is
+ * computed once by a separable convolution (rows, then columns), each pass in parallel bands of
+ * rows by a `FeaturePipeline`.  An edge's weight is its reward minus the largest of its
+ * cross-gradients across the scales, so that fine scales keep sharp boundaries while coarse ones
+ * bridge noisy or faint stretches.
+ * <p>
+ * Smoothed intensities are rounded to integers in the image's range, so weights have the same
+ * bounds as those of the unsmoothed weighers, and planes of them can be built with
+ * `ScissorsWeights.crossGradPlane()`.
+ */
+class GaussianGradientWeigher implements Weigher<ImageEdge>, ScissorsWeights.PixelWeigher {
+
+    /**
+     * The standard deviations, in pixels, of the Gaussians used by default.
+     */
+    static final double[] DEFAULT_SIGMAS = {1.0, 2.0};
+
+    /**
+     * The factor by which the intermediate results of each convolution are scaled, to keep
+     * fractional bits between its two passes.
+     */
+    private static final float INTERMEDIATE_SCALE = 256.0f;
+
+    /**
+     * The graph that the edges to be weighed will come from.
+     */
+    private final ImageGraph graph;
+
+    /**
+     * Computes our planes (and the weight plane) in parallel.
+     */
+    private final FeaturePipeline pipeline;
+
+    /**
+     * The image's intensities smoothed at each scale, finest first.
+     */
+    private final PixelPlane[] smoothed;
+
+    /**
+     * Create a weigher capable of weighing edges in `graph` at the default scales, computing its
+     * smoothed planes with the threads of `pool`.
+     */
+    GaussianGradientWeigher(ImageGraph graph, ForkJoinPool pool) {
+        this(graph, pool, DEFAULT_SIGMAS);
+    }
+
+    /**
+     * Create a weigher as above that smooths by Gaussians with the standard deviations (in pixels)
+     * in `sigmas`.  Throws IllegalArgumentException if `sigmas` is empty or any of them is not
+     * positive, or if `graph`'s image is too large for a weight plane (see
+     * `WeightPlane.capacity()`).
+     */
+    GaussianGradientWeigher(ImageGraph graph, ForkJoinPool pool, double... sigmas) {
+        if (sigmas.length == 0) {
+            throw new IllegalArgumentException("No scales given");
+        }
+        for (double sigma : sigmas) {
+            if (!(sigma > 0)) {
+                throw new IllegalArgumentException("Invalid scale: " + sigma);
+            }
+        }
+        this.graph = graph;
+        // Reject images whose weight plane would not fit before spending time smoothing them.
+        WeightPlane.capacity(graph.width(), graph.height());
+        pipeline = new FeaturePipeline(pool, graph.width(), graph.height());
+
+        Raster src = graph.raster();
+        PixelPlane intensities = (src.getNumBands() >= 3) ? PixelPlane.luminance(src)
+                : PixelPlane.band(src, 0);
+        smoothed = new PixelPlane[sigmas.length];
+        for (int i = 0; i < sigmas.length; ++i) {
+            float[] kernel = FeaturePipeline.gaussian(sigmas[i]);
+            PixelPlane rows = pipeline.compute(FeaturePipeline.convolveRows(intensities, kernel,
+                    INTERMEDIATE_SCALE));
+            smoothed[i] = pipeline.compute(FeaturePipeline.convolveColumns(rows, kernel,
+                    1 / INTERMEDIATE_SCALE));
+        }
+    }
+
+    @Override
+    public int weight(ImageEdge edge) {
+        ImageVertex src = graph.getVertex(edge.startId());
+        return weight(src.x(), src.y(), edge.dir());
+    }
+
+    @Override
+    public int weight(int x, int y, int dir) {
+        int gradient = 0;
+        for (PixelPlane plane : smoothed) {
+            gradient = Math.max(gradient, ScissorsWeights.crossGrad(plane, x, y, dir));
+        }
+        int reward = ((dir % 2) == 0) ? ScissorsWeights.STRAIGHT_REWARD
+                : ScissorsWeights.DIAGONAL_REWARD;
+        return reward - gradient;
+    }
+
+    /**
+     * Weights never exceed the reward for a diagonal edge, since `crossGrad()` is non-negative
+     * (assuming 8-bit samples, which smoothing keeps in range).
+     */
+    @Override
+    public int maxWeight() {
+        return ScissorsWeights.MAX_WEIGHT;
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
+    /**
+     * Return a plane of all our weights.  An edge's weight is the smallest of the weights a
+     * `CrossGradWeigher` would give it at each scale, so the plane is the element-wise minimum of
+     * the scales' `crossGradPlane()`s, merged in parallel bands of rows straight from each scale's
+     * buffer so that at most one scale's plane is alive besides the result.  Throws
+     * IllegalArgumentException if the image is too large for a weight plane.
+     */
+    WeightPlane plane() {
+        int width = graph.width();
+        int height = graph.height();
+        byte[] weights = new byte[WeightPlane.capacity(width, height)];
+        int minStraight = ScissorsWeights.MAX_WEIGHT;
+        int minDiagonal = ScissorsWeights.MAX_WEIGHT;
+        for (int i = 0; i < smoothed.length; ++i) {
+            WeightPlane scale = ScissorsWeights.crossGradPlane(smoothed[i]);
+            ByteBuffer scaleWeights = scale.weights();
+            if (i == 0) {
+                scaleWeights.get(weights);
+            } else {
+                // Absolute reads leave the buffer's position alone, so bands may share it.
+                pipeline.forEachRowBand((beginRow, endRow) -> {
+                    int end = WeightPlane.SLOTS * endRow * width;
+                    for (int j = WeightPlane.SLOTS * beginRow * width; j < end; ++j) {
+                        weights[j] = (byte) Math.min(weights[j] & 0xFF,
+                                scaleWeights.get(j) & 0xFF);
+                    }
+                });
+            }
+            minStraight = Math.min(minStraight, scale.minStraightWeight());
+            minDiagonal = Math.min(minDiagonal, scale.minDiagonalWeight());
+        }
+        return new WeightPlane(width, height, weights, ScissorsWeights.MAX_WEIGHT,
+                minStraight, minDiagonal);
+    }
+}
@@ -1,8 +1,12 @@
 package scissors;
 
+import graph.CompactGraph;
+import graph.CompilableGraph;
+import graph.DistanceHeuristic;
 import graph.Edge;
 import graph.Graph;
 import graph.Vertex;
+import graph.Weigher;
 import java.awt.Point;
 import java.awt.image.BufferedImage;
 import java.awt.image.Raster;
@@ -16,7 +20,7 @@ import selector.PolyLine;
  * their neighboring pixels (including diagonals).  Edges are interpreted as connecting pixel
  * centers and are aware of their length and direction within the image.
  */
-class ImageGraph implements Graph<ImageVertex> {
+class ImageGraph implements Graph<ImageVertex>, CompilableGraph<ImageEdge> {
 
     /**
      * The image we are providing a graph structure for.
@@ -67,6 +71,59 @@ class ImageGraph implements Graph<ImageVertex> {
         return ImageVertex.xyToId(p.x, p.y, width());
     }
 
+    /**
+     * Return an allocation-free view of this graph whose edge weights are given by `weigher`.
+     * Weighers that can weigh edges by pixel location and direction (`PixelWeigher`s) are queried
+     * directly; others are passed `ImageEdge` objects as usual.
+     */
+    @Override
+    public CompactGraph compile(Weigher<ImageEdge> weigher) {
+        if (weigher instanceof ScissorsWeights.PixelWeigher pixelWeigher) {
+            return new CompiledImageGraph(width(), height(), pixelWeigher);
+        }
+        int width = width();
+        return new CompiledImageGraph(width(), height(), (x, y, dir) -> {
+            int startId = ImageVertex.xyToId(x, y, width);
+            int endId = startId + CompiledImageGraph.idOffset(dir, width);
+            return weigher.weight(new ImageEdge(startId, endId, dir));
+        });
+    }
+
+    /**
+     * Return a consistent heuristic estimating the weight of a path to the pixel with ID `targetId`
+     * from the octile distance (the number of diagonal and straight steps in the most direct route)
+     * to it, assuming every straight edge weighs at least `minStraightWeight` and every diagonal
+     * edge weighs at least `minDiagonalWeight`.  Estimates never change by more than the weight of
+     * the edge between neighboring pixels, as required for bucket frontiers.
+     */
+    public DistanceHeuristic octileHeuristic(int targetId, int minStraightWeight,
+            int minDiagonalWeight) {
+        int width = width();
+        int targetY = targetId / width;
+        int targetX = targetId - targetY * width;
+        return id -> {
+            int y = id / width;
+            return octileDistance(id - y * width - targetX, y - targetY, minStraightWeight,
+                    minDiagonalWeight);
+        };
+    }
+
+    /**
+     * Return a lower bound on the weight of a path between pixels `dx` columns and `dy` rows
+     * apart, assuming every straight edge weighs at least `minStraightWeight` and every diagonal
+     * edge weighs at least `minDiagonalWeight`.  As a function of either pixel's location, this is
+     * a consistent heuristic (see `octileHeuristic()`).
+     */
+    static int octileDistance(int dx, int dy, int minStraightWeight, int minDiagonalWeight) {
+        // Consistency requires that a diagonal step never be cheaper than the straight steps it
+        //  replaces in the estimate, nor a straight step cheaper than the diagonal it replaces.
+        int straight = Math.min(minStraightWeight, minDiagonalWeight);
+        int diagonal = Math.min(minDiagonalWeight, 2 * straight);
+        dx = Math.abs(dx);
+        dy = Math.abs(dy);
+        return straight * Math.max(dx, dy) + (diagonal - straight) * Math.min(dx, dy);
+    }
+
     /**
      * Return a representation of the Vertex at the image location `p`.
      */
@@ -76,6 +133,13 @@ class ImageGraph implements Graph<ImageVertex> {
         return new ImageVertex(this, p.x, p.y);
     }
 
+    /**
+     * Return the image we are providing a graph structure for.
+     */
+    public BufferedImage image() {
+        return img;
+    }
+
     /**
      * Return the Raster backing our image.  This is convenient for querying the brightness of
      * pixels in different color bands.
@@ -225,6 +289,94 @@ record ImageVertex(ImageGraph image, int x, int y) implements Vertex<ImageEdge>
     }
 }
 
+/**
+ * A `CompactGraph` with the same vertices and edges as an ImageGraph of size `width` x `height`,
+ * whose edge weights are given by `weigher`.  Neighbors are enumerated in the same direction order
+ * as `ImageVertex.outgoingEdges()` using precomputed ID and coordinate offsets; bounds are only
+ * checked for pixels on the image's border.
+ */
+final class CompiledImageGraph implements CompactGraph {
+
+    /**
+     * Column offset of the neighbor in each direction (0 points right and 2 points up).
+     */
+    static final int[] DX = {1, 1, 0, -1, -1, -1, 0, 1};
+
+    /**
+     * Row offset of the neighbor in each direction.
+     */
+    static final int[] DY = {0, -1, -1, -1, 0, 1, 1, 1};
+
+    /**
+     * The dimensions of the image.
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * `idOffsets[dir]` is the difference between the ID of a pixel's neighbor in direction `dir`
+     * and the ID of the pixel itself.
+     */
+    private final int[] idOffsets;
+
+    /**
+     * Provides the weight of the edge leaving a pixel in a given direction.
+     */
+    private final ScissorsWeights.PixelWeigher weigher;
+
+    CompiledImageGraph(int width, int height, ScissorsWeights.PixelWeigher weigher) {
+        this.width = width;
+        this.height = height;
+        this.weigher = weigher;
+        idOffsets = new int[8];
+        for (int dir = 0; dir < 8; ++dir) {
+            idOffsets[dir] = idOffset(dir, width);
+        }
+    }
+
+    /**
+     * Return the difference between the ID of a pixel's neighbor in direction `dir` and the ID of
+     * the pixel itself in an image whose rows are `width` pixels long.
+     */
+    static int idOffset(int dir, int width) {
+        return DX[dir] + DY[dir] * width;
+    }
+
+    @Override
+    public int vertexCount() {
+        return width * height;
+    }
+
+    /**
+     * Every edge connects a pixel to one of its 8 neighbors, so predecessors can be stored as
+     * directions.
+     */
+    @Override
+    public int[] neighborOffsets() {
+        return idOffsets.clone();
+    }
+
+    @Override
+    public void forEachNeighbor(int id, NeighborVisitor visitor) {
+        int y = id / width;
+        int x = id - y * width;
+        if (x > 0 && x < width - 1 && y > 0 && y < height - 1) {
+            // Interior pixels have all 8 neighbors.
+            for (int dir = 0; dir < 8; ++dir) {
+                visitor.visit(id + idOffsets[dir], weigher.weight(x, y, dir));
+            }
+        } else {
+            for (int dir = 0; dir < 8; ++dir) {
+                int nx = x + DX[dir];
+                int ny = y + DY[dir];
+                if (nx >= 0 && nx < width && ny >= 0 && ny < height) {
+                    visitor.visit(id + idOffsets[dir], weigher.weight(x, y, dir));
+                }
+            }
+        }
+    }
+}
+
 /**
  * An Edge in an ImageGraph connecting the vertex with ID `startId` to its neighboring vertex with
  * ID `endId`, which lies in the direction `dir` relative to the start.
@@ -1,20 +1,58 @@
 package scissors;
 
 import graph.PathfindingSnapshot;
+import graph.SearchDelta;
 import java.awt.Point;
 
 /**
  * A wrapper around `PathfindingSnapshot` with convenience methods suitable for ImageGraphs. Allows
- * querying the "discovered" and "settled" statuses of `Point` locations.
+ * querying the "discovered" and "settled" statuses of `Point` locations.  Snapshots published
+ * during a solve also list the pixels whose statuses changed since the solve's previous snapshot,
+ * so that views can update incrementally (see `follows()`).
  */
 public class ImagePathsSnapshot {
 
     private ImageGraph graph;
     private PathfindingSnapshot paths;
 
+    /**
+     * The solve that published this snapshot, or null if it was not published by a solve.
+     */
+    private final Object solve;
+
+    /**
+     * The number of snapshots `solve` published before this one.
+     */
+    private final int sequence;
+
+    /**
+     * The pixels (by ID) whose statuses changed since the previous snapshot published by `solve`
+     * (or since it started, if `sequence` is 0), or null if they are not known.
+     */
+    private final SearchDelta changes;
+
     ImagePathsSnapshot(ImageGraph graph, PathfindingSnapshot paths) {
+        this(graph, paths, null, 0, null);
+    }
+
+    /**
+     * Create the `sequence`th snapshot published by `solve`, whose pixels in `changes` (which may
+     * be null if they are not known) changed status since the previous one.
+     */
+    ImagePathsSnapshot(ImageGraph graph, PathfindingSnapshot paths, Object solve, int sequence,
+            SearchDelta changes) {
         this.graph = graph;
         this.paths = paths;
+        this.solve = solve;
+        this.sequence = sequence;
+        this.changes = changes;
+    }
+
+    /**
+     * Return the paths this snapshot wraps.
+     */
+    PathfindingSnapshot paths() {
+        return paths;
     }
 
     /**
@@ -32,4 +70,52 @@ public class ImagePathsSnapshot {
     public boolean settled(Point p) {
         return paths.settled(graph.idAt(p));
     }
+
+    /**
+     * Return whether this snapshot's statuses are those of `previous` updated by this snapshot's
+     * newly discovered and newly settled pixels.  If `previous` is null, return whether they are
+     * those of an image with no discovered pixels so updated.  A view that has applied every
+     * snapshot up to `previous` may then apply this one's changes instead of rescanning the image.
+     */
+    public boolean follows(ImagePathsSnapshot previous) {
+        if (changes == null) {
+            return false;
+        }
+        if (previous == null) {
+            return sequence == 0;
+        }
+        return previous.solve == solve && previous.sequence == sequence - 1;
+    }
+
+    /**
+     * Return the number of pixels newly discovered since the previous snapshot (see `follows()`).
+     * Requires those changes are known.
+     */
+    public int newlyDiscoveredCount() {
+        return changes.discoveredCount();
+    }
+
+    /**
+     * Return the row-major index (`x + width * y`) of the `i`th pixel newly discovered since the
+     * previous snapshot.  Requires `0 <= i < newlyDiscoveredCount()`.
+     */
+    public int newlyDiscoveredIndex(int i) {
+        return changes.discoveredId(i);
+    }
+
+    /**
+     * Return the number of pixels newly settled since the previous snapshot (see `follows()`).
+     * Requires those changes are known.
+     */
+    public int newlySettledCount() {
+        return changes.settledCount();
+    }
+
+    /**
+     * Return the row-major index (`x + width * y`) of the `i`th pixel newly settled since the
+     * previous snapshot.  Requires `0 <= i < newlySettledCount()`.
+     */
+    public int newlySettledIndex(int i) {
+        return changes.settledId(i);
+    }
 }
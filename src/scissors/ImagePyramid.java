@@ -0,0 +1,279 @@
+package scissors;
+
+import graph.PathfindingSnapshot;
+import graph.ShortestPaths;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * A sequence of progressively coarser versions ("levels") of an image, each half the width and
+ * height of the previous (rounded up), down to one small enough to solve for all shortest paths
+ * from a point within a frame.  Paths found on the coarsest level approximate paths in the full
+ * image, and can be refined level by level by searching only within a narrow corridor around the
+ * previous level's path.  Each level has its own weights, computed by the same weigher as the
+ * full image.
+ * <p>
+ * Downsampling and weighing the levels of a large image takes a while, so a pyramid is created
+ * empty and must be prepared (see `prepare()`), normally on a background thread, before any paths
+ * are requested.  Once it is ready, paths must only be requested from one thread at a time.
+ */
+class ImagePyramid {
+
+    /**
+     * The largest number of pixels in the coarsest level.
+     */
+    static final int COARSE_MAX_PIXELS = 1 << 16;
+
+    /**
+     * The number of pixels on either side of the upsampled path from the previous level that are
+     * searched when refining a path on each level.
+     */
+    static final int CORRIDOR_RADIUS = 2;
+
+    /**
+     * Graphs of each level prepared so far, from the full image (level 0) towards the coarsest.
+     * Only modified by `prepare()`, under our lock.
+     */
+    private final List<ImageGraph> levels;
+
+    /**
+     * The weights of the edges of each level in `levels`, in the same order.  Only modified by
+     * `prepare()`, under our lock.
+     */
+    private final List<EdgeWeights> levelWeights;
+
+    /**
+     * Name of the weigher used to weigh edges on every level.
+     */
+    private final String weightName;
+
+    /**
+     * Whether every level, and `coarseSolver`, have been prepared.  Once set, `levels`,
+     * `levelWeights`, and `coarseSolver` never change.
+     */
+    private volatile boolean ready;
+
+    /**
+     * Solver for paths on the coarsest level, or null if we are not ready.
+     */
+    private ShortestPaths<ImageVertex, ImageEdge> coarseSolver;
+
+    /**
+     * The shortest paths on the coarsest level from the pixel containing `coarseStartId`, or null
+     * if no paths have been found yet.
+     */
+    private PathfindingSnapshot coarsePaths;
+
+    /**
+     * The ID of the full-resolution pixel that `coarsePaths` were found from.
+     */
+    private int coarseStartId = -1;
+
+    /**
+     * Create an empty pyramid for the image of `graph` whose edges are weighed by the weigher named
+     * `weightName` (as recognized by the `ScissorsWeights` factory).  Its levels are not computed
+     * until it is prepared.
+     */
+    ImagePyramid(ImageGraph graph, String weightName) {
+        this.weightName = weightName;
+        levels = new ArrayList<>();
+        levels.add(graph);
+        levelWeights = new ArrayList<>();
+    }
+
+    /**
+     * Compute every level of this pyramid that has not been computed yet, along with its weights,
+     * and create a solver for the coarsest level, reporting progress to `progress` as a percentage
+     * of the pixels of the levels below the full image.  Stops early if `cancelled` becomes true,
+     * which is checked between steps and while weighing each level.  Return whether this pyramid
+     * is ready.  Does nothing (but return true) if this pyramid is already ready.  Threads
+     * preparing the same pyramid take turns, each picking up where the last left off.
+     */
+    synchronized boolean prepare(IntConsumer progress, BooleanSupplier cancelled) {
+        if (ready) {
+            return true;
+        }
+        ImageGraph full = levels.getFirst();
+        // At least 1, in case the full image is small enough to be the coarsest level.
+        long pixels = 1;
+        for (int w = full.width(), h = full.height(); (long) w * h > COARSE_MAX_PIXELS; ) {
+            w = (w + 1) / 2;
+            h = (h + 1) / 2;
+            pixels += (long) w * h;
+        }
+        long totalPixels = pixels;
+        long donePixels = 0;
+        for (int k = 1; k < levelWeights.size(); ++k) {
+            donePixels += levels.get(k).vertexCount();
+        }
+        while (true) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            ImageGraph level = levels.getLast();
+            if (levelWeights.size() < levels.size()) {
+                long start = donePixels;
+                long share = (levels.size() == 1) ? 0 : level.vertexCount();
+                EdgeWeights weights = ScissorsWeights.edgeWeights(weightName, level,
+                        percent -> progress.accept(
+                                (int) ((start + share * percent / 100) * 100 / totalPixels)),
+                        cancelled);
+                if (weights == null) {
+                    return false;
+                }
+                levelWeights.add(weights);
+                donePixels += share;
+            }
+            if (level.vertexCount() <= COARSE_MAX_PIXELS) {
+                break;
+            }
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            levels.add(new ImageGraph(downsample(level.image())));
+        }
+        coarseSolver = new ShortestPaths<>(levels.getLast(), levelWeights.getLast());
+        ready = true;
+        progress.accept(100);
+        return true;
+    }
+
+    /**
+     * Return whether this pyramid has been prepared, so that paths may be requested from it.
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Return the number of levels in this pyramid, including the full image.  Requires this
+     * pyramid is ready.
+     */
+    int levelCount() {
+        assert ready;
+        return levels.size();
+    }
+
+    /**
+     * Return a path from the pixel with ID `startId` to the pixel with ID `targetId` in the full
+     * image that follows the shortest path between them on the coarsest level.  The path jumps
+     * between the centers of the full-resolution blocks represented by coarse pixels, so its
+     * consecutive pixels need not be neighbors.  Solves for paths on the coarsest level if `startId`
+     * differs from the last call.  Requires this pyramid is ready.
+     */
+    List<Integer> approximatePath(int startId, int targetId) {
+        int coarsest = levels.size() - 1;
+        ImageGraph full = levels.get(0);
+        int scale = 1 << coarsest;
+        List<Integer> path = new ArrayList<>();
+        path.add(startId);
+        List<Integer> coarsePath = coarsePaths(startId).pathTo(toLevel(targetId, coarsest));
+        ImageGraph coarse = levels.get(coarsest);
+        for (int i = 1; i < coarsePath.size() - 1; ++i) {
+            ImageVertex v = coarse.getVertex(coarsePath.get(i));
+            int x = Math.min(v.x() * scale + scale / 2, full.width() - 1);
+            int y = Math.min(v.y() * scale + scale / 2, full.height() - 1);
+            path.add(ImageVertex.xyToId(x, y, full.width()));
+        }
+        if (targetId != startId) {
+            path.add(targetId);
+        }
+        return path;
+    }
+
+    /**
+     * Return a path from the pixel with ID `startId` to the pixel with ID `targetId` in the full
+     * image found by refining the shortest path between them on the coarsest level one level at a
+     * time.  The path is a shortest path within the corridor searched on the full image (though
+     * not necessarily in the whole image).  Solves for paths on the coarsest level if `startId`
+     * differs from the last call.  Requires this pyramid is ready.
+     */
+    List<Integer> refinedPath(int startId, int targetId) {
+        assert ready;
+        int coarsest = levels.size() - 1;
+        List<Integer> path = coarsePaths(startId).pathTo(toLevel(targetId, coarsest));
+        for (int k = coarsest - 1; k >= 0; --k) {
+            ImageGraph level = levels.get(k);
+            EdgeWeights plane = levelWeights.get(k);
+            CorridorGraph corridor = CorridorGraph.around(plane, level.width(), level.height(),
+                    path, levels.get(k + 1).width(), CORRIDOR_RADIUS);
+            ImageVertex start = level.getVertex(toLevel(startId, k));
+            ImageVertex target = level.getVertex(toLevel(targetId, k));
+            int corridorStart = corridor.idAt(start.x(), start.y());
+            int corridorTarget = corridor.idAt(target.x(), target.y());
+            PathfindingSnapshot paths = new ShortestPaths<ImageVertex, ImageEdge>(corridor,
+                    plane.maxWeight()).findPath(corridorStart, corridorTarget,
+                    corridor.heuristic(corridorTarget));
+            path = new ArrayList<>();
+            for (int id : paths.pathTo(corridorTarget)) {
+                path.add(corridor.imageId(id));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Return the shortest paths on the coarsest level from the pixel containing the full-resolution
+     * pixel with ID `startId`, solving for them if they are not the last ones found.
+     */
+    private PathfindingSnapshot coarsePaths(int startId) {
+        assert ready;
+        if (startId != coarseStartId) {
+            coarsePaths = coarseSolver.findAllPaths(toLevel(startId, levels.size() - 1));
+            coarseStartId = startId;
+        }
+        return coarsePaths;
+    }
+
+    /**
+     * Return the ID of the pixel on level `k` that contains the full-resolution pixel with ID
+     * `id`.
+     */
+    private int toLevel(int id, int k) {
+        ImageVertex v = levels.get(0).getVertex(id);
+        return ImageVertex.xyToId(v.x() >> k, v.y() >> k, levels.get(k).width());
+    }
+
+    /**
+     * Return a copy of `img` at half its width and height (rounded up), each of whose samples is
+     * the average of the corresponding 2x2 block of samples in `img` (or of as many of them as lie
+     * within `img`).  The copy has the same color model and sample layout as `img`.
+     */
+    static BufferedImage downsample(BufferedImage img) {
+        Raster src = img.getRaster();
+        int width = (src.getWidth() + 1) / 2;
+        int height = (src.getHeight() + 1) / 2;
+        int bands = src.getNumBands();
+        WritableRaster dst = src.createCompatibleWritableRaster(width, height);
+        int[] upper = new int[2 * width * bands];
+        int[] lower = new int[2 * width * bands];
+        int[] row = new int[width * bands];
+        for (int y = 0; y < height; ++y) {
+            int srcWidth = src.getWidth();
+            int rows = Math.min(2, src.getHeight() - 2 * y);
+            src.getPixels(0, 2 * y, srcWidth, 1, upper);
+            if (rows == 2) {
+                src.getPixels(0, 2 * y + 1, srcWidth, 1, lower);
+            }
+            for (int x = 0; x < width; ++x) {
+                int cols = Math.min(2, srcWidth - 2 * x);
+                for (int b = 0; b < bands; ++b) {
+                    int sum = 0;
+                    for (int dx = 0; dx < cols; ++dx) {
+                        int i = (2 * x + dx) * bands + b;
+                        sum += upper[i] + ((rows == 2) ? lower[i] : 0);
+                    }
+                    int count = rows * cols;
+                    row[x * bands + b] = (sum + count / 2) / count;
+                }
+            }
+            dst.setPixels(0, y, width, 1, row);
+        }
+        return new BufferedImage(img.getColorModel(), dst, img.isAlphaPremultiplied(), null);
+    }
+}
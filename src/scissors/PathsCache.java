@@ -0,0 +1,106 @@
+package scissors;
+
+import graph.IncrementalPathfinder;
+import graph.PathfindingSnapshot;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of complete shortest paths across one image, as weighed by one
+ * weigher, keyed by the ID of the pixel they start from.  Paths are views of their solver's
+ * arrays, so each entry holds a lease on its solver, which is released when the entry is evicted;
+ * the number of entries is therefore bounded by the memory their solvers may occupy.  Must only be
+ * used from one thread at a time.
+ */
+class PathsCache {
+
+    /**
+     * Complete paths and a lease on the solver whose arrays they refer to.
+     */
+    record Entry(PathfindingSnapshot paths, SolverPool<IncrementalPathfinder>.Lease lease) {
+
+    }
+
+    /**
+     * Our entries by starting pixel ID, from least to most recently used.
+     */
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The largest number of entries we keep.
+     */
+    private final int capacity;
+
+    /**
+     * Create an empty cache whose entries' solvers occupy at most `maxBytes` bytes, given that each
+     * solver occupies `bytesPerEntry` bytes.  Such a cache may have no capacity at all.  Requires
+     * `maxBytes` is non-negative and `bytesPerEntry` is positive.
+     */
+    PathsCache(long maxBytes, long bytesPerEntry) {
+        assert maxBytes >= 0 && bytesPerEntry > 0;
+        capacity = (int) Math.min(Integer.MAX_VALUE, maxBytes / bytesPerEntry);
+    }
+
+    /**
+     * Return the largest number of entries this cache keeps.
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Return the number of entries in this cache.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Return whether this cache has paths from the pixel with ID `startId`, without counting as a
+     * use of them.
+     */
+    boolean contains(int startId) {
+        return entries.containsKey(startId);
+    }
+
+    /**
+     * Return the cached paths from the pixel with ID `startId` along with the lease on their
+     * solver, or null if there are none.  The lease remains held by this cache; callers that keep
+     * the paths after they might be evicted must `retain()` it.
+     */
+    Entry get(int startId) {
+        return entries.get(startId);
+    }
+
+    /**
+     * Add `paths`, which must be complete and whose solver is leased by `lease`, to this cache as
+     * its most recently used entry, replacing any paths from the same start and evicting the least
+     * recently used entries beyond our capacity.  Adds a holder to `lease` if the paths are kept.
+     */
+    void put(PathfindingSnapshot paths, SolverPool<IncrementalPathfinder>.Lease lease) {
+        if (capacity == 0) {
+            return;
+        }
+        lease.retain();
+        Entry replaced = entries.put(paths.start(), new Entry(paths, lease));
+        if (replaced != null) {
+            replaced.lease().release();
+        }
+        Iterator<Map.Entry<Integer, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > capacity) {
+            it.next().getValue().lease().release();
+            it.remove();
+        }
+    }
+
+    /**
+     * Remove every entry from this cache, releasing their leases.
+     */
+    void clear() {
+        for (Entry entry : entries.values()) {
+            entry.lease().release();
+        }
+        entries.clear();
+    }
+}
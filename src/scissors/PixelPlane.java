@@ -0,0 +1,217 @@
+package scissors;
+
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A single band of intensities across an image, stored row-major in a flat array so that weighers
+ * can read neighboring pixels with plain array loads instead of through `Raster.getSample()` (a
+ * virtual call into the raster's `SampleModel`, with bounds checks, per sample).  Planes are built
+ * once per image from one band of a raster or from a weighted sum of its bands, in parallel bands
+ * of rows on the common fork-join pool (see `FeaturePipeline`).  The rows of rasters laid out like
+ * the common `BufferedImage` types are read straight from their `DataBuffer`s; others are read
+ * through `Raster.getSamples()`.
+ * <p>
+ * Weighers assume intensities no greater than 255, so bands wider than 8 bits (such as those of
+ * `TYPE_USHORT_GRAY` images) are scaled to 8 bits as planes are built from them, by dropping
+ * their low bits.  Narrower bands are left as they are.
+ */
+final class PixelPlane {
+
+    /**
+     * The dimensions of the image whose intensities we hold.
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * `samples[x + width * y]` is the intensity of the pixel at location (`x`, `y`).
+     */
+    private final int[] samples;
+
+    private PixelPlane(int width, int height, int[] samples) {
+        assert samples.length == width * height;
+        this.width = width;
+        this.height = height;
+        this.samples = samples;
+    }
+
+    /**
+     * Return a plane of size `width` x `height` backed by `samples` (laid out as documented on
+     * that field, and not copied).
+     */
+    static PixelPlane of(int width, int height, int[] samples) {
+        return new PixelPlane(width, height, samples);
+    }
+
+    /**
+     * Return a plane holding the luminance of `src` (in the Rec. 709 sense), whose first three
+     * bands must be red, green, and blue.  Throws IllegalArgumentException if `src` has fewer than
+     * three bands.
+     */
+    static PixelPlane luminance(Raster src) {
+        return combine(src, new float[]{0.2126f, 0.7152f, 0.0722f});
+    }
+
+    /**
+     * Return a plane holding band `b` of `src`, scaled to 8 bits if it is wider.  Throws
+     * IllegalArgumentException if `src` has no band `b`.
+     */
+    static PixelPlane band(Raster src, int b) {
+        if (b < 0 || b >= src.getNumBands()) {
+            throw new IllegalArgumentException("No band " + b + " in raster");
+        }
+        int width = src.getWidth();
+        int shift = eightBitShift(src, b);
+        return pipeline(src).compute((samples, beginRow, endRow) -> {
+            int[] row = new int[width];
+            for (int y = beginRow; y < endRow; ++y) {
+                readRow(src, y, b, row);
+                int base = y * width;
+                for (int x = 0; x < width; ++x) {
+                    samples[base + x] = row[x] >>> shift;
+                }
+            }
+        });
+    }
+
+    /**
+     * Return a plane whose intensity at each pixel is the sum of `coefficients[b]` times band `b`
+     * of `src` (scaled to 8 bits if it is wider), truncated towards zero.  Sums are accumulated
+     * in `float` arithmetic in band order, so for bands no wider than 8 bits the result is
+     * identical to band 0 of `BandCombineOp`'s output for a matrix whose first row is
+     * `coefficients` (provided that band is wide enough to hold the sums).  Bands of `src` beyond
+     * the length of `coefficients` are ignored.  Throws IllegalArgumentException if
+     * `coefficients` is longer than `src` has bands.
+     */
+    static PixelPlane combine(Raster src, float[] coefficients) {
+        if (coefficients.length > src.getNumBands()) {
+            throw new IllegalArgumentException("Raster has " + src.getNumBands()
+                    + " bands but " + coefficients.length + " coefficients were given");
+        }
+        int width = src.getWidth();
+        int[] shifts = new int[coefficients.length];
+        for (int b = 0; b < shifts.length; ++b) {
+            shifts[b] = eightBitShift(src, b);
+        }
+        return pipeline(src).compute((samples, beginRow, endRow) -> {
+            int[] row = new int[width];
+            float[] sums = new float[width];
+            for (int y = beginRow; y < endRow; ++y) {
+                Arrays.fill(sums, 0.0f);
+                for (int b = 0; b < coefficients.length; ++b) {
+                    readRow(src, y, b, row);
+                    float c = coefficients[b];
+                    int shift = shifts[b];
+                    for (int x = 0; x < width; ++x) {
+                        sums[x] += c * (row[x] >>> shift);
+                    }
+                }
+                int base = y * width;
+                for (int x = 0; x < width; ++x) {
+                    samples[base + x] = (int) sums[x];
+                }
+            }
+        });
+    }
+
+    /**
+     * Return the number of low bits to drop from samples of band `b` of `src` to scale them to 8
+     * bits, or 0 if they are no wider than that.
+     */
+    private static int eightBitShift(Raster src, int b) {
+        return Math.max(src.getSampleModel().getSampleSize(b) - 8, 0);
+    }
+
+    /**
+     * Return a pipeline for computing planes the size of `src` on the common fork-join pool.
+     */
+    private static FeaturePipeline pipeline(Raster src) {
+        return new FeaturePipeline(ForkJoinPool.commonPool(), src.getWidth(), src.getHeight());
+    }
+
+    /**
+     * Copy band `b` of row `y` of `src` (relative to its minimum coordinates) into `dst`, at the
+     * band's full width.  Requires `dst` has `src.getWidth()` elements.
+     */
+    static void readRow(Raster src, int y, int b, int[] dst) {
+        int width = dst.length;
+        SampleModel model = src.getSampleModel();
+        DataBuffer buffer = src.getDataBuffer();
+        // Location of our row's first pixel within the sample model's coordinate space.
+        int smX = src.getMinX() - src.getSampleModelTranslateX();
+        int smY = src.getMinY() + y - src.getSampleModelTranslateY();
+
+        if (model instanceof ComponentSampleModel m && (buffer instanceof DataBufferByte
+                || buffer instanceof DataBufferUShort)) {
+            // Interleaved or banded components, one sample per array element (e.g.
+            //  TYPE_3BYTE_BGR, TYPE_4BYTE_ABGR, TYPE_BYTE_GRAY, TYPE_USHORT_GRAY).
+            int bank = m.getBankIndices()[b];
+            int stride = m.getPixelStride();
+            int i = buffer.getOffsets()[bank] + smY * m.getScanlineStride() + smX * stride
+                    + m.getBandOffsets()[b];
+            if (buffer instanceof DataBufferByte bytes) {
+                byte[] data = bytes.getData(bank);
+                for (int x = 0; x < width; ++x, i += stride) {
+                    dst[x] = data[i] & 0xFF;
+                }
+            } else {
+                short[] data = ((DataBufferUShort) buffer).getData(bank);
+                for (int x = 0; x < width; ++x, i += stride) {
+                    dst[x] = data[i] & 0xFFFF;
+                }
+            }
+        } else if (model instanceof SinglePixelPackedSampleModel m
+                && buffer instanceof DataBufferInt ints) {
+            // One pixel per int, with each band under a bit mask (e.g. TYPE_INT_RGB,
+            //  TYPE_INT_ARGB, TYPE_INT_BGR).
+            int[] data = ints.getData();
+            int mask = m.getBitMasks()[b];
+            int shift = m.getBitOffsets()[b];
+            int i = buffer.getOffset() + smY * m.getScanlineStride() + smX;
+            for (int x = 0; x < width; ++x) {
+                dst[x] = (data[i + x] & mask) >>> shift;
+            }
+        } else {
+            src.getSamples(src.getMinX(), src.getMinY() + y, width, 1, b, dst);
+        }
+    }
+
+    /**
+     * Return the width of our image.
+     */
+    int width() {
+        return width;
+    }
+
+    /**
+     * Return the height of our image.
+     */
+    int height() {
+        return height;
+    }
+
+    /**
+     * Return the intensity of the pixel at location (`x`, `y`).  Requires that location is within
+     * the image.
+     */
+    int sample(int x, int y) {
+        return samples[x + width * y];
+    }
+
+    /**
+     * Return our intensities, laid out as `samples[x + width() * y]`.  The array is shared, not
+     * copied, and must not be modified.
+     */
+    int[] samples() {
+        return samples;
+    }
+}
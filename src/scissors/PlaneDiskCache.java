@@ -0,0 +1,239 @@
+package scissors;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * A directory of weight planes persisted across runs, so that reopening an image skips computing
+ * its weights.  Planes are keyed by a hash of their image's pixels, the name of their weigher, and
+ * a version that changes whenever any weigher's weights do.  They are read back by mapping their
+ * files into memory, so they are loaded lazily and their pages are shared with the OS's cache.
+ * The directory's size is capped by evicting the least recently used planes.
+ * <p>
+ * Each file holds a header of `HEADER_INTS` big-endian ints (`MAGIC`, `FORMAT`, width, height,
+ * maximum weight, minimum straight weight, and minimum diagonal weight) followed by the plane's
+ * weights as laid out in `WeightPlane`.  Files are written under a temporary name and then moved
+ * into place, so readers (including other processes) never see partial files.  Unreadable files
+ * are treated as missing.
+ */
+class PlaneDiskCache {
+
+    /**
+     * Identifies our files.
+     */
+    static final int MAGIC = 0x57504C4E;
+
+    /**
+     * The version of our file layout.
+     */
+    static final int FORMAT = 1;
+
+    /**
+     * The number of ints in a file's header.
+     */
+    static final int HEADER_INTS = 7;
+
+    /**
+     * The extension of our files.
+     */
+    private static final String SUFFIX = ".plane";
+
+    /**
+     * The directory holding our files.
+     */
+    private final Path directory;
+
+    /**
+     * The largest total size of our files, in bytes.
+     */
+    private final long maxBytes;
+
+    /**
+     * Create a cache storing at most `maxBytes` bytes of planes in `directory`, which is created if
+     * it does not exist.  Throws IOException if the directory cannot be created.
+     */
+    PlaneDiskCache(Path directory, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Return a key identifying planes computed by the weigher named `weightName`, at weigher
+     * version `version`, from an image whose `contentHash()` is `imageHash`.
+     */
+    static String key(String imageHash, String weightName, int version) {
+        return imageHash + "-" + weightName + "-v" + version;
+    }
+
+    /**
+     * Return a hex-encoded hash of the dimensions and samples of `image`.  Images with the same
+     * samples have the same hash regardless of how their rasters are laid out.
+     */
+    static String contentHash(BufferedImage image) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new AssertionError(e);
+        }
+        Raster raster = image.getRaster();
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+        int bands = raster.getNumBands();
+        ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES);
+        header.putInt(width).putInt(height).putInt(bands);
+        digest.update(header.array());
+        int[] samples = new int[width];
+        ByteBuffer row = ByteBuffer.allocate(width * Integer.BYTES);
+        for (int y = 0; y < height; ++y) {
+            for (int b = 0; b < bands; ++b) {
+                PixelPlane.readRow(raster, y, b, samples);
+                row.clear();
+                row.asIntBuffer().put(samples);
+                digest.update(row.array());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Return the plane stored under `key` for an image of size `width` x `height`, or null if there
+     * is none (or it cannot be read).  Counts as a use of the plane for eviction.
+     */
+    WeightPlane load(String key, int width, int height) {
+        Path file = fileFor(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long weightBytes = (long) WeightPlane.SLOTS * width * height;
+            if (channel.size() != HEADER_INTS * Integer.BYTES + weightBytes) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            if (mapped.getInt() != MAGIC || mapped.getInt() != FORMAT
+                    || mapped.getInt() != width || mapped.getInt() != height) {
+                return null;
+            }
+            int maxWeight = mapped.getInt();
+            int minStraight = mapped.getInt();
+            int minDiagonal = mapped.getInt();
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new WeightPlane(width, height, mapped.slice(), maxWeight, minStraight,
+                    minDiagonal);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Store `plane` under `key`, replacing any plane already stored there, then evict the least
+     * recently used planes until our files fit within our size cap.  Planes larger than the cap
+     * are not stored.  Failures to write are ignored, since the cache is only an optimization.
+     */
+    void store(String key, WeightPlane plane) {
+        ByteBuffer weights = plane.weights();
+        long size = HEADER_INTS * Integer.BYTES + (long) weights.remaining();
+        if (size > maxBytes) {
+            return;
+        }
+        Path file = fileFor(key);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES);
+                header.putInt(MAGIC).putInt(FORMAT).putInt(plane.width()).putInt(plane.height())
+                        .putInt(plane.maxWeight()).putInt(plane.minStraightWeight())
+                        .putInt(plane.minDiagonalWeight()).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (weights.hasRemaining()) {
+                    channel.write(weights);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+            evict(file);
+        } catch (IOException e) {
+            // Leave the cache as it was.
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete the least recently used of our files other than `keep` until the total size of our
+     * files is within our cap.
+     */
+    private void evict(Path keep) throws IOException {
+        record Entry(Path file, long size, FileTime used) {
+
+        }
+        List<Entry> entries = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    Entry entry = new Entry(file, Files.size(file),
+                            Files.getLastModifiedTime(file));
+                    entries.add(entry);
+                    total += entry.size();
+                } catch (IOException e) {
+                    // Deleted by another process in the meantime.
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::used));
+        for (Entry entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (!entry.file().equals(keep)) {
+                try {
+                    Files.deleteIfExists(entry.file());
+                    total -= entry.size();
+                } catch (IOException e) {
+                    // Possibly still mapped on a platform that forbids deleting such files.
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the file a plane with key `key` is stored in.
+     */
+    private Path fileFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+}
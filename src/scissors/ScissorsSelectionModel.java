@@ -2,17 +2,25 @@ package scissors;
 
 import static selector.SelectionModel.SelectionState.*;
 
+import graph.DeltaSteppingPaths;
+import graph.DistanceHeuristic;
+import graph.IncrementalPathfinder;
 import graph.PathfindingSnapshot;
+import graph.SearchDelta;
 import graph.ShortestPaths;
+import graph.Weigher;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.SwingWorker.StateValue;
 import selector.PolyLine;
 import selector.SelectionModel;
@@ -23,6 +31,63 @@ import selector.SelectionModel;
  */
 public class ScissorsSelectionModel extends SelectionModel {
 
+    /**
+     * The smallest image (in pixels) for which full solves are run in parallel.  Below this, a
+     * sequential solve finishes quickly enough that coordinating threads is not worthwhile.
+     */
+    static final int PARALLEL_MIN_PIXELS = 4_000_000;
+
+    /**
+     * The number of processors needed before full solves are run in parallel.
+     */
+    static final int PARALLEL_MIN_PROCESSORS = 4;
+
+    /**
+     * The number of idle solvers of each kind to keep for reuse.  Two suffice for adding points
+     * one after another: one whose results back `paths` and one for the solve in progress.
+     */
+    static final int MAX_IDLE_SOLVERS = 2;
+
+    /**
+     * The smallest image (in pixels) for which searches are bounded by default (see
+     * `setBoundedSearchMinPixels()`).
+     */
+    static final int BOUNDED_SEARCH_MIN_PIXELS = 16_000_000;
+
+    /**
+     * The radius, in pixels, of the smallest window settled around a new point in a bounded
+     * search, and of the window used when neither the viewport nor any previous clicks suggest a
+     * size.
+     */
+    static final int MIN_WINDOW_RADIUS = 64;
+
+    /**
+     * The farthest (in pixels, along either axis) a new point may be from the starting point of
+     * complete paths for those paths to be repaired for the new point (see
+     * `ShortestPaths.moveStart()`) rather than solved for from scratch.  Farther than this, few
+     * paths from the new point still pass through the old one, so repairs save little.
+     */
+    static final int REPAIR_MAX_DISTANCE = 2;
+
+    /**
+     * The fraction (as a divisor) of the maximum heap size that the solvers behind cached paths may
+     * occupy.
+     */
+    static final int PATHS_CACHE_HEAP_DIVISOR = 8;
+
+    /**
+     * A generous estimate of the number of bytes a solver for paths to every pixel occupies per
+     * pixel of its image.
+     */
+    static final int SOLVER_BYTES_PER_PIXEL = 32;
+
+    /**
+     * How long (in milliseconds) the cursor must rest on a pixel while a selection is in progress
+     * before paths from that pixel are speculatively solved for in the background, in case it is
+     * the next point to be added.
+     */
+    static final int SPECULATION_DELAY_MS = 400;
+
     /**
      * The graph representation of the current image being rendered and traced (null if inherited
      * `img` is null).
@@ -41,12 +106,105 @@ public class ScissorsSelectionModel extends SelectionModel {
      */
     private PathfindingSnapshot paths;
 
+    /**
+     * The lease on the solver whose arrays `paths` refers to, or null if `paths` is null.  Must be
+     * released when `paths` is replaced so that the solver can be reused.
+     */
+    private SolverPool<IncrementalPathfinder>.Lease pathsLease;
+
+    /**
+     * The window of pixels within which `paths` is known to be complete, or null if `paths` covers
+     * the whole image (or is null).  Grown (by extending the search behind `paths`) whenever a path
+     * to a pixel outside of it is needed.  If not null, `pyramid` is ready, since the solve that
+     * found `paths` prepared it.
+     */
+    private SearchWindow pathsWindow;
+
+    /**
+     * The SwingWorker extending the search behind `paths` to settle a window larger than
+     * `pathsWindow`, or null if there is none.  Its results replace `paths` as they are published.
+     */
+    private SearchExtensionWorker growthWorker;
+
+    /**
+     * The SwingWorker extending a bounded search to the end of the last segment that was added as
+     * an approximation, in order to replace it with a shortest path, or null if there is none.
+     */
+    private SearchExtensionWorker catchUpWorker;
+
+    /**
+     * The smallest image (in pixels) for which searches are bounded to a window around each new
+     * point instead of covering the whole image.
+     */
+    private int boundedSearchMinPixels = BOUNDED_SEARCH_MIN_PIXELS;
+
+    /**
+     * Coarser versions of our image, used to approximate live wires and segments outside of the
+     * windows of bounded searches until those searches reach them.  Prepared by the first bounded
+     * solve (see `ShortestPathsWorker.prepare()`).  Null if not yet needed (or if `graph` is null).
+     */
+    private ImagePyramid pyramid;
+
+    /**
+     * The region of the image most recently reported as visible to the user, or null if unknown.
+     */
+    private Rectangle viewport;
+
+    /**
+     * The distance (in pixels, along either axis) between the last two points added to the
+     * selection, or 0 if fewer than two points have been added since the last reset.
+     */
+    private int clickSpacing;
+
+    /**
+     * Solvers for finding paths to every pixel of our current image, reused across solves (null if
+     * `graph` is null).
+     */
+    private SolverPool<IncrementalPathfinder> pathfinderPool;
+
+    /**
+     * Solvers for finding paths to individual pixels of our current image (null if `graph` is
+     * null).
+     */
+    private SolverPool<ShortestPaths<ImageVertex, ImageEdge>> targetPathfinderPool;
+
+    /**
+     * Complete paths across our current image from recently added points and from pixels the
+     * cursor has rested on, so that adding a point at one of those pixels needs no processing
+     * (null if `graph` is null).
+     */
+    private PathsCache pathsCache;
+
+    /**
+     * Fires once the cursor has rested on the pixel with ID `speculationId` for
+     * `SPECULATION_DELAY_MS` (null until the cursor first moves during a selection).
+     */
+    private Timer speculationTimer;
+
+    /**
+     * The ID of the pixel the cursor was last reported to be over while a selection is in progress.
+     */
+    private int speculationId;
+
+    /**
+     * The SwingWorker solving for paths from a pixel the cursor rested on before any point was
+     * added there, or null if there is none.  Its results go to `pathsCache`, unless a point is
+     * added at its starting pixel while it is running, in which case it becomes our `worker`.
+     */
+    private ShortestPathsWorker speculativeWorker;
+
     /**
      * The most recent intermediate paths from the current shortest paths solve.  Null if no ongoing
      * solve or if solve has not reported any progress yet.
      */
     private PathfindingSnapshot pendingPaths;
 
+    /**
+     * The most recent progress snapshot published by the current shortest paths solve, which wraps
+     * `pendingPaths` (null if and only if `pendingPaths` is).
+     */
+    private ImagePathsSnapshot pendingProgress;
+
     /**
      * The SwingWorker currently being used to solve for shortest paths on a background thread. Note
      * that "progress" events from `worker` will be forwarded to our own property change listeners.
@@ -84,6 +242,7 @@ public class ScissorsSelectionModel extends SelectionModel {
         if (image() != null) {
             graph = new ImageGraph(image());
         }
+        makePools();
         if (state() == SELECTING) {
             findPaths(graph.idAt(lastPoint()));
         }
@@ -97,6 +256,8 @@ public class ScissorsSelectionModel extends SelectionModel {
         if (state() == PROCESSING) {
             cancelProcessing();
         }
+        cancelSpeculation();
+        cancelCatchUp();
 
         // Since the inherited behavior will immediately transition to the NO_SELECTION state,
         // we need to maintain our invariant regarding `worker` by setting to null.  Any running
@@ -104,6 +265,10 @@ public class ScissorsSelectionModel extends SelectionModel {
         worker = null;
 
         super.reset();
+
+        // Our paths are no longer needed, so their solver can be reused.
+        setPaths(null, null, null);
+        clickSpacing = 0;
     }
 
     @Override
@@ -113,12 +278,210 @@ public class ScissorsSelectionModel extends SelectionModel {
         super.setImage(img);
 
         // In addition to whatever our superclass does to set the image, we also need to replace our
-        //  graph with one that represents the new image.
+        //  graph with one that represents the new image.  Solvers for the old image are sized for
+        //  it, so they are dropped along with their pools (any still in use are discarded when
+        //  released).
         if (img != null) {
             graph = new ImageGraph(img);
         } else {
             graph = null;
         }
+        pyramid = null;
+        makePools();
+    }
+
+    /**
+     * Replace our solver pools and paths cache with empty ones for our current `graph` (or with
+     * null if there is no graph), releasing any cached paths.
+     */
+    private void makePools() {
+        if (pathsCache != null) {
+            pathsCache.clear();
+        }
+        if (graph == null) {
+            pathfinderPool = null;
+            targetPathfinderPool = null;
+            pathsCache = null;
+            return;
+        }
+        ImageGraph g = graph;
+        pathsCache = new PathsCache(Runtime.getRuntime().maxMemory() / PATHS_CACHE_HEAP_DIVISOR,
+                (long) SOLVER_BYTES_PER_PIXEL * g.vertexCount());
+        pathfinderPool = new SolverPool<>(() -> makePathfinder(g), MAX_IDLE_SOLVERS);
+        targetPathfinderPool = new SolverPool<>(
+                () -> new ShortestPaths<>(g, ScissorsWeights.makeWeigher(weightName, g)),
+                MAX_IDLE_SOLVERS);
+    }
+
+    /**
+     * Replace `paths` with `newPaths`, whose solver is held by `newLease` and which is complete
+     * within `newWindow` (all may be null), and release the lease on the solver behind our previous
+     * paths.
+     */
+    private void setPaths(PathfindingSnapshot newPaths,
+            SolverPool<IncrementalPathfinder>.Lease newLease, SearchWindow newWindow) {
+        cancelGrowth();
+        if (pathsLease != null) {
+            pathsLease.release();
+        }
+        paths = newPaths;
+        pathsLease = newLease;
+        pathsWindow = newWindow;
+    }
+
+    /**
+     * Bound searches on images with at least `minPixels` pixels to a window around each new point,
+     * which grows only when paths to pixels outside of it are needed, so that the work done per
+     * point scales with the size of its neighborhood rather than that of the image.  Pass 0 to
+     * bound all searches or `Integer.MAX_VALUE` to bound none.  Takes effect with the next point
+     * added.
+     */
+    public void setBoundedSearchMinPixels(int minPixels) {
+        boolean wasBounded = graph != null && boundsSearches(graph);
+        boundedSearchMinPixels = minPixels;
+        if (graph != null && boundsSearches(graph) != wasBounded) {
+            // Bounded and full searches use different kinds of solvers (see `makePathfinder()`).
+            makePools();
+        }
+    }
+
+    /**
+     * Return whether searches on `graph`'s image are bounded to a window around each new point.
+     */
+    private boolean boundsSearches(ImageGraph graph) {
+        return graph.vertexCount() >= boundedSearchMinPixels;
+    }
+
+    /**
+     * Record `visible` as the region of our image currently shown to the user, which sizes the
+     * windows of bounded searches.
+     */
+    @Override
+    public void setViewport(Rectangle visible) {
+        viewport = new Rectangle(visible);
+    }
+
+    /**
+     * Return the window to be settled by a new search from the pixel with ID `startId`, or null if
+     * the search should cover the whole image.  The window is sized to comfortably contain the next
+     * point if it is spaced like the previous ones, but no larger than the viewport.
+     */
+    private SearchWindow searchWindow(int startId) {
+        if (!boundsSearches(graph)) {
+            return null;
+        }
+        int maxRadius = (viewport != null)
+                ? Math.max(viewport.width, viewport.height) / 2 : Integer.MAX_VALUE;
+        int radius = (clickSpacing > 0) ? 2 * clickSpacing
+                : (viewport != null) ? maxRadius / 2 : MIN_WINDOW_RADIUS;
+        radius = Math.max(MIN_WINDOW_RADIUS, Math.min(radius, maxRadius));
+        ImageVertex start = graph.getVertex(startId);
+        return SearchWindow.around(graph, start.x(), start.y(), radius);
+    }
+
+    /**
+     * Return the lease on the solver behind `paths`, with a holder added on behalf of a new solve
+     * from the pixel with ID `startId`, if that solve may repair a copy of `paths` instead of
+     * solving from scratch; otherwise, return null.  Paths may be repaired if their solver is a
+     * `ShortestPaths` (and hence so is every solver in `pathfinderPool`, which makes solvers of one
+     * kind per image), `paths` covers the whole image, and `startId` is within
+     * `REPAIR_MAX_DISTANCE` of its starting point.
+     */
+    private SolverPool<IncrementalPathfinder>.Lease repairableLease(int startId) {
+        if (paths == null || pathsWindow != null
+                || !(pathsLease.solver() instanceof ShortestPaths<?, ?>)) {
+            return null;
+        }
+        ImageVertex oldStart = graph.getVertex(paths.start());
+        ImageVertex newStart = graph.getVertex(startId);
+        if (Math.max(Math.abs(oldStart.x() - newStart.x()), Math.abs(oldStart.y() - newStart.y()))
+                > REPAIR_MAX_DISTANCE) {
+            return null;
+        }
+        pathsLease.retain();
+        return pathsLease;
+    }
+
+    /**
+     * Return our image's pyramid if it is ready to use, or else null.
+     */
+    private ImagePyramid readyPyramid() {
+        return (pyramid != null && pyramid.isReady()) ? pyramid : null;
+    }
+
+    /**
+     * Return a new segment from the start of `paths` to the pixel with ID `id`.  If `paths` have
+     * settled that pixel, the segment is a shortest path.  Otherwise (which may only be the case
+     * for bounded searches), the segment is refined from our pyramid's coarsest level, so it is
+     * only a shortest path within the corridor searched at full resolution; and the search behind
+     * `paths` is extended to that pixel in the background, so that the segment is replaced by a
+     * shortest path once the search reaches it (see `catchUp()`).  Requires `paths` is not null.
+     */
+    private PolyLine segmentTo(int id) {
+        if (paths.settled(id)) {
+            return graph.pathToPolyLine(paths.pathTo(id));
+        }
+        assert pathsWindow != null && readyPyramid() != null;
+        PolyLine approximation = graph.pathToPolyLine(pyramid.refinedPath(paths.start(), id));
+        catchUp(approximation, id);
+        return approximation;
+    }
+
+    /**
+     * Start extending the search behind `paths` in the background until it settles the pixel with
+     * ID `id`, and then replace `approximation` in our selection (if it is still there) with the
+     * shortest path to that pixel.  Cancels any earlier catch-up, whose segment then stays as it
+     * is, so that at most one solver is kept busy (and alive) on behalf of segments.  Requires
+     * `paths` is not null and comes from a bounded search.
+     */
+    private void catchUp(PolyLine approximation, int id) {
+        cancelCatchUp();
+        catchUpWorker = new SearchExtensionWorker(id, approximation);
+        catchUpWorker.execute();
+    }
+
+    /**
+     * Cancel any catch-up in progress (see `catchUp()`), leaving its segment as it is.
+     */
+    private void cancelCatchUp() {
+        if (catchUpWorker != null) {
+            catchUpWorker.cancel(false);
+            catchUpWorker = null;
+        }
+    }
+
+    /**
+     * Start growing `pathsWindow` in the background until it includes the pixel with ID `id`,
+     * unless `paths` already reports that pixel as settled.  If a growth in progress will not reach
+     * that pixel, it is replaced by one growing a larger window (picking up where it left off);
+     * otherwise, it is asked to settle that pixel first.  Requires `paths` is not null.
+     */
+    private void growWindow(int id) {
+        if (pathsWindow == null || paths.settled(id)) {
+            return;
+        }
+        ImageVertex target = graph.getVertex(id);
+        if (growthWorker != null && growthWorker.window.contains(target.x(), target.y())) {
+            growthWorker.setInterest(id);
+            return;
+        }
+        SearchWindow base = (growthWorker != null) ? growthWorker.window : pathsWindow;
+        cancelGrowth();
+        growthWorker = new SearchExtensionWorker(
+                base.grownToInclude(graph, target.x(), target.y()));
+        growthWorker.setInterest(id);
+        growthWorker.execute();
+    }
+
+    /**
+     * Cancel any growth of `pathsWindow` in progress.  The search behind `paths` keeps whatever
+     * the growth had settled, so later growths pick up where it left off.
+     */
+    private void cancelGrowth() {
+        if (growthWorker != null) {
+            growthWorker.cancel(false);
+            growthWorker = null;
+        }
     }
 
     @Override
@@ -145,11 +508,12 @@ public class ScissorsSelectionModel extends SelectionModel {
         if (state() == SELECTED) {
             throw new IllegalStateException("Cannot finish a selection that is already finished");
         }
+        cancelSpeculation();
         if (selection.isEmpty()) {
             reset();
         } else {
             int committedId = graph.idAt(start);
-            PolyLine newSegment = graph.pathToPolyLine(paths.pathTo(committedId));
+            PolyLine newSegment = segmentTo(committedId);
             selection.addLast(newSegment);
             setState(SELECTED);
         }
@@ -173,20 +537,10 @@ public class ScissorsSelectionModel extends SelectionModel {
     protected void appendToSelection(Point p) {
         assert state() == SelectionState.SELECTING;
 
-        // TODO A6.2b: Implement this method as specified.  Your implementation will probably
-        //  involve the following steps:
-        //  1. Look up the vertex ID associated with `p`.
-        //  2. Construct the shortest path to this vertex based on our last pathfinding results.
-        //  3. Convert that path from a sequence of vertices to a `PolyLine` and append it to our
-        //     selection
-        //  4. Call `findPaths()` to start a new shortest-paths solve from our selection's new
-        //     endpoint.
-        //  Hint: The `ImageGraph` class provides methods that might help with steps 1 and 3.
-        assert state() == SelectionState.SELECTING;
-
         int endpointId = graph.idAt(p);
-        List<Integer> shortestPath = paths.pathTo(endpointId);
-        PolyLine segment = graph.pathToPolyLine(shortestPath);
+        Point last = lastPoint();
+        clickSpacing = Math.max(Math.abs(p.x - last.x), Math.abs(p.y - last.y));
+        PolyLine segment = segmentTo(endpointId);
         selection.add(segment);
         findPaths(endpointId);
     }
@@ -197,11 +551,52 @@ public class ScissorsSelectionModel extends SelectionModel {
      * `previousState`.
      */
     private void findPaths(int startId) {
+        findPaths(startId, null);
+    }
+
+    /**
+     * Transition to the PROCESSING state and start solving for shortest paths from the vertex with
+     * ID `startId`, either to every pixel (if `targetIds` is null) or only to the vertices with IDs
+     * in `targetIds`.  Preserves invariants associated with `worker`, `pendingPaths`, and
+     * `previousState`.  If paths from `startId` to every pixel are needed and are already cached,
+     * use them right away instead (transitioning to SELECTING if no selection had been started);
+     * if they are being solved for speculatively, wait for that solve instead of starting another.
+     */
+    private void findPaths(int startId, int[] targetIds) {
+        // Our current paths will be replaced (or kept as they are if this is cancelled).
+        cancelGrowth();
+        if (targetIds == null) {
+            PathsCache.Entry cached = pathsCache.get(startId);
+            if (cached != null) {
+                cancelSpeculation();
+                cached.lease().retain();
+                setPaths(cached.paths(), cached.lease(), null);
+                if (state() == NO_SELECTION) {
+                    setState(SELECTING);
+                }
+                return;
+            }
+            if (speculativeWorker != null && speculativeWorker.startId == startId) {
+                previousState = state();
+                setState(PROCESSING);
+                pendingPaths = null;
+                pendingProgress = null;
+                worker = speculativeWorker;
+                speculativeWorker = null;
+                cancelSpeculation();
+                worker.promote();
+                return;
+            }
+        }
+        cancelSpeculation();
+
         previousState = state();
         setState(PROCESSING);
 
         pendingPaths = null;
-        worker = new ShortestPathsWorker(startId);
+        pendingProgress = null;
+        worker = new ShortestPathsWorker(startId, targetIds,
+                (targetIds == null) ? searchWindow(startId) : null, false);
         worker.execute();
     }
 
@@ -210,10 +605,15 @@ public class ScissorsSelectionModel extends SelectionModel {
         assert state() == SelectionState.SELECTED;
         assert selection.size() >= 2;
 
-        // Start solving for shortest paths from the moved point, which will give us the segments to
-        //  both the preceding and succeeding points.  This will transition us to the PROCESSING
-        //  state.
-        findPaths(graph.idAt(newPos));
+        // Start solving for shortest paths from the moved point to both the preceding and
+        //  succeeding points (the endpoints of the segments that will be replaced).  Only these two
+        //  paths are needed, so the solve does not need to visit the rest of the image.  This will
+        //  transition us to the PROCESSING state.
+        ListIterator<PolyLine> segments = selection.listIterator(index);
+        int successorId = graph.idAt(segments.next().end());
+        segments = selection.listIterator(index == 0 ? selection.size() : index);
+        int predecessorId = graph.idAt(segments.previous().start());
+        findPaths(graph.idAt(newPos), new int[]{successorId, predecessorId});
 
         // Our worker's `done()` method is sufficient for adding points, but we need to do more
         //  in order to move one.  This is one way to tack additional work onto a task (it will run
@@ -224,21 +624,20 @@ public class ScissorsSelectionModel extends SelectionModel {
                 // If the solve wasn't cancelled, use its results to compute the replacement
                 //  segments.
                 if (src.state() == Future.State.SUCCESS) {
+                    List<List<Integer>> targetPaths = src.targetPaths();
                     ListIterator<PolyLine> it = selection.listIterator(index + 1);
-                    PolyLine oldAfter = it.previous();
-                    var oaEnd = graph.vertexAt(oldAfter.end());
+                    it.previous();
                     // New segment is path from moved point to successor point
-                    it.set(graph.pathToPolyLine(paths.pathTo(oaEnd.id())));
+                    it.set(graph.pathToPolyLine(targetPaths.get(0)));
 
                     if (!it.hasPrevious()) {
                         it = selection.listIterator(selection.size());
                         start = new Point(newPos);
                     }
-                    PolyLine oldBefore = it.previous();
-                    var obStart = graph.vertexAt(oldBefore.start());
+                    it.previous();
                     // New segment is the reverse of the path from the moved point to its
                     //  predecessor point.
-                    it.set(graph.pathToPolyLine(paths.pathTo(obStart.id()).reversed()));
+                    it.set(graph.pathToPolyLine(targetPaths.get(1).reversed()));
                         // new commit
                     propSupport.firePropertyChange("selection", null, selection());
                 }
@@ -248,32 +647,123 @@ public class ScissorsSelectionModel extends SelectionModel {
 
     /**
      * Returns the "intelligent scissors" shortest path segment connecting our current selection's
-     * endpoint to `p`.
+     * endpoint to `p`.  While processing a newly added point, the segment is taken from the solve's
+     * partial results, which requires `liveWireAvailable(p)`.  If our paths (partial or not) have
+     * not reached `p` but our pyramid is ready, an approximate segment is taken from its coarsest
+     * level instead, until the search behind our paths reaches `p`.
      */
     @Override
     public PolyLine liveWire(Point p) {
-        // TODO A6.2a: Implement this method as specified.  Your implementation will probably
-        //  involve the following steps:
-        //  1. Look up the vertex ID associated with `p`.
-        //  2. Construct the shortest path to this vertex based on our last pathfinding results.
-        //  3. Convert that path from a sequence of vertices to a `PolyLine`
-        //  Hint: The `ImageGraph` class provides methods that might help with steps 1 and 3.
         int vertexId = graph.idAt(p);
 
-        List<Integer> vertexPath = paths.pathTo(vertexId);
+        // While processing, the new point's partial paths are the freshest; pixels they have not
+        //  settled yet are approximated by our pyramid (if it is ready).
+        PathfindingSnapshot source = (state() == PROCESSING) ? pendingPaths : paths;
+        ImagePyramid approximations = readyPyramid();
+        if ((source == null || !source.settled(vertexId)) && approximations != null) {
+            int startId = (state() == PROCESSING) ? worker.startId : paths.start();
+            return graph.pathToPolyLine(approximations.approximatePath(startId, vertexId));
+        }
+        List<Integer> vertexPath = source.pathTo(vertexId);
 
         return graph.pathToPolyLine(vertexPath);
     }
 
+    /**
+     * Return whether the live wire to `p` is known.  While a selection is in progress, this is the
+     * case if our paths have settled `p`'s pixel (which may require a hint if searches are
+     * bounded).  It is also the case while we are solving for paths from a newly added point if the
+     * solve has already settled `p`'s pixel.  Once our pyramid is ready, an approximate live wire
+     * is always available in both cases; until then (while the first bounded solve on our image
+     * prepares it), only settled pixels have live wires.
+     */
+    @Override
+    public boolean liveWireAvailable(Point p) {
+        if (state() == PROCESSING) {
+            return previousState != SELECTED && ((pendingPaths != null
+                    && pendingPaths.settled(graph.idAt(p))) || readyPyramid() != null);
+        }
+        return super.liveWireAvailable(p)
+                && (paths.settled(graph.idAt(p)) || readyPyramid() != null);
+    }
+
+    /**
+     * Ask our worker (if any) to report its partial results as soon as it has settled `p`'s pixel.
+     * While a selection is in progress, start extending a bounded search to `p`'s pixel in the
+     * background if it has not reached it yet (our pyramid approximates its live wire meanwhile);
+     * and if the cursor rests there, speculatively solve for paths from there (see
+     * `speculate()`).
+     */
+    @Override
+    public void hintLiveWire(Point p) {
+        if (worker != null) {
+            worker.setInterest(graph.idAt(p));
+        } else if (state() == SELECTING) {
+            int id = graph.idAt(p);
+            growWindow(id);
+            scheduleSpeculation(id);
+        }
+    }
+
+    /**
+     * Arrange for `speculate()` to be called once the cursor has rested on the pixel with ID `id`
+     * for `SPECULATION_DELAY_MS`, unless it moves again first.  Does nothing if searches on our
+     * image are bounded (their paths are never complete) or if no paths could be cached.
+     */
+    private void scheduleSpeculation(int id) {
+        if (boundsSearches(graph) || pathsCache.capacity() == 0) {
+            return;
+        }
+        speculationId = id;
+        if (speculationTimer == null) {
+            speculationTimer = new Timer(SPECULATION_DELAY_MS, e -> speculate());
+            speculationTimer.setRepeats(false);
+        }
+        speculationTimer.restart();
+    }
+
+    /**
+     * If a selection is still in progress, start solving for paths from the pixel the cursor has
+     * rested on (replacing any earlier speculative solve) at low priority, so that they are cached
+     * or well underway if a point is added there.  Does nothing if those paths are already cached
+     * or are our current `paths`.
+     */
+    private void speculate() {
+        int id = speculationId;
+        if (state() != SELECTING || pathsCache.contains(id) || paths.start() == id
+                || (speculativeWorker != null && speculativeWorker.startId == id)) {
+            return;
+        }
+        cancelSpeculation();
+        speculativeWorker = new ShortestPathsWorker(id, null, null, true);
+        speculativeWorker.execute();
+    }
+
+    /**
+     * Stop waiting for the cursor to rest and cancel any speculative solve.
+     */
+    private void cancelSpeculation() {
+        if (speculationTimer != null) {
+            speculationTimer.stop();
+        }
+        if (speculativeWorker != null) {
+            speculativeWorker.cancel(false);
+            speculativeWorker = null;
+        }
+    }
+
     /**
      * Return the most recent pathfinding snapshot produced by our "intelligent scissors"
      * processing, which attempts to find good paths from the end of our selection to all other
-     * pixels in the image.  Returns null if our processing has not yet produced any results.
+     * pixels in the image.  Returns null if our processing has not yet produced any results.  Every
+     * snapshot is also reported as the new value of a "pending-paths" property change as soon as it
+     * is produced, so that views can apply each one's changes in turn (see
+     * `ImagePathsSnapshot.follows()`).
      */
     @Override
     public ImagePathsSnapshot getProcessingProgress() {
         assert state() == PROCESSING;
-        return (pendingPaths != null) ? new ImagePathsSnapshot(graph, pendingPaths) : null;
+        return pendingProgress;
     }
 
     @Override
@@ -285,31 +775,203 @@ public class ScissorsSelectionModel extends SelectionModel {
         }
     }
 
+    /**
+     * Return our cache of complete paths across the current image, or null if there is no image.
+     */
+    PathsCache pathsCache() {
+        return pathsCache;
+    }
+
+    /**
+     * Return the worker speculatively solving for paths from a pixel the cursor rested on, or
+     * null if there is none.
+     */
+    SwingWorker<PathfindingSnapshot, ImagePathsSnapshot> speculativeWorker() {
+        return speculativeWorker;
+    }
+
+
+    /**
+     * Return a solver for finding shortest paths to every pixel of `graph` using our weigher.
+     * Large images are solved in parallel if enough processors are available, unless their
+     * searches are bounded: a `DeltaSteppingPaths` clears state for every pixel whenever it starts
+     * a new search, whereas a `ShortestPaths` only forgets the pixels its last search touched, so
+     * only the latter keeps the work per point proportional to its window.
+     */
+    private IncrementalPathfinder makePathfinder(ImageGraph graph) {
+        Weigher<ImageEdge> weigher = ScissorsWeights.makeWeigher(weightName, graph);
+        if (!boundsSearches(graph) && graph.vertexCount() >= PARALLEL_MIN_PIXELS
+                && Runtime.getRuntime().availableProcessors() >= PARALLEL_MIN_PROCESSORS) {
+            return new DeltaSteppingPaths<>(graph, weigher);
+        }
+        return new ShortestPaths<>(graph, weigher);
+    }
 
     /**
      * SwingWorker for computing shortest paths and periodically updating progress.  This is an
      * inner class, meaning it has access to all fields of its containing TraceComponent. It
      * publishes preliminary pathfinding results (containing settled and frontier nodes) and returns
      * the final best paths (or null if cancelled).
+     * <p>
+     * Its background task starts by preparing to solve: computing the weights of our image's edges
+     * if they have not been computed yet and preparing our outer model's pyramid if the search is
+     * bounded (reporting both as progress too, and stopping between steps if cancelled), then
+     * leasing a solver and starting its search.  None of that happens on the EDT, so adding a point
+     * never waits for it.
      */
     private class ShortestPathsWorker
-            extends SwingWorker<PathfindingSnapshot, PathfindingSnapshot> {
+            extends SwingWorker<PathfindingSnapshot, ImagePathsSnapshot> {
+
+        /**
+         * The solver this worker will use to find paths to every pixel, or null if it only needs
+         * paths to `targetIds` (or has not leased it yet).  Only accessed from the background
+         * thread.
+         */
+        private IncrementalPathfinder pathfinder;
 
         /**
-         * The shortest-paths solver this worker will use.  After construction, must only be
+         * The solver this worker will use to find paths to `targetIds`, or null if it needs paths
+         * to every pixel (or has not leased it yet).  Only accessed from the background thread.
+         */
+        private ShortestPaths<ImageVertex, ImageEdge> targetPathfinder;
+
+        /**
+         * Our lease on whichever of `pathfinder` and `targetPathfinder` we use, or null if our
+         * background task has not leased it yet.  It has two holders: our background task, which
+         * releases it when it stops using the solver, and our results, which release it in
+         * `done()` unless they are kept as our outer model's `paths` (in which case the model
+         * releases it when they are replaced).  Since a cancelled worker may be done before its
+         * background task leases a solver, the handoff is guarded by this worker's lock (see
+         * `adoptLease()`).
+         */
+        private SolverPool<?>.Lease lease;
+
+        /**
+         * Whether our results have given up their hold on `lease` (or will as soon as it is
+         * leased).  Guarded by this worker's lock.
+         */
+        private boolean resultsReleased;
+
+        /**
+         * `lease`, if it is a lease on `pathfinder` (null otherwise).  Written by the background
+         * thread; may only be read by others after this worker has finished successfully.
+         */
+        private SolverPool<IncrementalPathfinder>.Lease pathfinderLease;
+
+        /**
+         * The pools of our outer model's image at construction, from which our solvers are leased.
+         */
+        private final SolverPool<IncrementalPathfinder> pathfinders;
+        private final SolverPool<ShortestPaths<ImageVertex, ImageEdge>> targetPathfinders;
+
+        /**
+         * The name of the weigher our solvers use.
+         */
+        private final String weigherName;
+
+        /**
+         * The window that must be settled before a search for paths to every pixel may stop, or
+         * null if it must settle every pixel.  After construction, must only be accessed from the
+         * background thread until this worker is done.
+         */
+        private final SearchWindow window;
+
+        /**
+         * A lease on a solver with complete paths from near `startId`, which `pathfinder` should
+         * copy and repair rather than solving from scratch, or null.  Released by our background
+         * task.
+         */
+        private final SolverPool<IncrementalPathfinder>.Lease repairLease;
+
+        /**
+         * The ID of the vertex to find paths from.
+         */
+        private final int startId;
+
+        /**
+         * The IDs of the only vertices we need paths to, or null if we need paths to every pixel.
+         */
+        private final int[] targetIds;
+
+        /**
+         * The graph of the image we are solving for paths across.
+         */
+        private final ImageGraph imageGraph;
+
+        /**
+         * Our outer model's pyramid, which must be ready before our results may be kept (since
+         * they are bounded by `window`), or null if `window` is null.
+         */
+        private final ImagePyramid imagePyramid;
+
+        /**
+         * Where `pathfinder` is recording the pixels it discovers and settles until our next
+         * progress snapshot, or null if it is not recording them.  After construction, must only be
          * accessed from the background thread.
          */
-        private final ShortestPaths<ImageVertex, ImageEdge> pathfinder;
+        private SearchDelta changes;
+
+        /**
+         * The number of progress snapshots we have published.  Only accessed from the background
+         * thread.
+         */
+        private int publishedCount;
+
+        /**
+         * Heuristics guiding the search towards each of `targetIds`, or null if `targetIds` is
+         * null.  Only accessed from the background thread.
+         */
+        private DistanceHeuristic[] heuristics;
+
+        /**
+         * The paths found to each of `targetIds`, in the same order.  Written by the background
+         * thread; may only be read after this worker has finished successfully.
+         */
+        private final List<List<Integer>> targetPaths;
+
+        /**
+         * The ID of the vertex whose path our client most recently expressed interest in, or -1.
+         * Written by the EDT and read by the background thread.
+         */
+        private volatile int interestId = -1;
+
+        /**
+         * Whether our results are only speculative (see `speculate()`), in which case our
+         * background task runs at low priority.  Cleared by the EDT if our results become needed.
+         */
+        private volatile boolean speculative;
+
+        /**
+         * The priority of our background task's thread before we changed it.  Only accessed from
+         * the background thread.
+         */
+        private int normalPriority;
 
         /**
          * Construct a worker that, when executed, will find the shortest paths from the vertex with
-         * ID `startId` to every pixel in our outer model's `image`.  "progress" events will be
-         * forwarded to our outer model's listeners.  This must be called from the EDT.
+         * ID `startId` to every pixel in our outer model's `image` (or only to those in `window`,
+         * if it is not null), or only to the vertices with IDs in `targetIds` if it is not null
+         * (in which case `window` must be null).  "progress" events will be forwarded to our outer
+         * model's listeners while we are its `worker`.  If `speculative` is true, our background
+         * task runs at low priority until `promote()` is called.  This must be called from the EDT.
          */
-        public ShortestPathsWorker(int startId) {
-            pathfinder = new ShortestPaths<>(
-                    graph, ScissorsWeights.makeWeigher(weightName, graph));
-            pathfinder.setStart(startId);
+        public ShortestPathsWorker(int startId, int[] targetIds, SearchWindow window,
+                boolean speculative) {
+            assert targetIds == null || window == null;
+            this.startId = startId;
+            this.speculative = speculative;
+            imageGraph = graph;
+            this.targetIds = targetIds;
+            this.window = window;
+            targetPaths = new ArrayList<>();
+            pathfinders = pathfinderPool;
+            targetPathfinders = targetPathfinderPool;
+            weigherName = weightName;
+            repairLease = (targetIds == null && window == null) ? repairableLease(startId) : null;
+            if (window != null && pyramid == null) {
+                pyramid = new ImagePyramid(graph, weightName);
+            }
+            imagePyramid = (window != null) ? pyramid : null;
 
             // Forward progress property changes to outer model's listeners (as long as we are
             // still the active solver).
@@ -321,32 +983,114 @@ public class ScissorsSelectionModel extends SelectionModel {
         }
 
         /**
-         * Solve for shortest paths and return the results.  Periodically publish progress
-         * percentage and preliminary shortest paths.  It is assumed that this is generally not
-         * called from the EDT.  Returns null if cancelled.
+         * Prepare to solve (see `prepare()`), then solve for shortest paths and return the
+         * results.  Periodically publish progress percentage and preliminary shortest paths.  It is
+         * assumed that this is generally not called from the EDT.  Returns null if cancelled.
          */
         @Override
         public PathfindingSnapshot doInBackground() {
             // This is executed on a separate thread; do not access outer model's fields!
+            normalPriority = Thread.currentThread().getPriority();
+            try {
+                if (!prepare()) {
+                    return null;
+                }
+                return (targetIds != null) ? findTargetPaths() : findAllPaths();
+            } finally {
+                Thread.currentThread().setPriority(normalPriority);
+                if (pathfinder != null) {
+                    pathfinder.recordChanges(null);
+                }
+                // Our solver may be reused as soon as our results are no longer needed either.
+                if (lease != null) {
+                    lease.release();
+                }
+                if (repairLease != null) {
+                    repairLease.release();
+                }
+            }
+        }
 
-            // TODO A6.2c: Implement this method as specified.  In more detail, your implementation
-            //  should do the following:
-            //  1. Repeatedly extend the search on `pathfinder` until all paths have been found.
-            //     The batch size should be small enough so that the progress bar will update
-            //     smoothly (no more than 10000).
-            //  2. After each extension of the search, report the percentage of vertices that have
-            //     been settled as our progress.
-            //  3. Also after each extension, use `publish()` to deliver the current results
-            //     snapshot over to the EDT (where it will appear as an argument to `process()`).
-            //  4. Each iteration should check whether this SwingWorker has been cancelled.  If so,
-            //     return immediately.
-            //  5. After all paths have been found, return the final pathfinding results.
-            //  Since this may execute concurrently with other methods in the same class, it is only
-            //  safe to use a subset of its fields and methods, including: `pathfinder`,
-            //  `setProgress()`, `publish()`, and `isCancelled()`.
-            //  References:
-            //  [1] https://docs.oracle.com/javase/tutorial/uiswing/concurrency/worker.html
-            //  [2] https://docs.oracle.com/en/java/javase/21/docs/api/java.desktop/javax/swing/SwingWorker.html#isCancelled()
+        /**
+         * Compute the weights of our image's edges if they have not been computed yet, and prepare
+         * `imagePyramid` (if any) if it is not ready yet, reporting progress as they are (each
+         * taking half of the range if both are needed); then lease a solver and start its search
+         * (or build the heuristics for our targets).  Returns false if cancelled before a solver
+         * was leased, abandoning the weights if they were being computed; a pyramid left partly
+         * prepared is picked up by the next bounded solve.
+         */
+        private boolean prepare() {
+            Thread.currentThread().setPriority(speculative ? Thread.MIN_PRIORITY : normalPriority);
+            boolean pyramidNeeded = imagePyramid != null && !imagePyramid.isReady();
+            // Weighing a large image takes a while, so stop partway if we are cancelled; another
+            //  solve will weigh it afresh.
+            EdgeWeights weights = ScissorsWeights.edgeWeights(weigherName, imageGraph,
+                    pyramidNeeded ? percent -> setProgress(percent / 2) : this::setProgress,
+                    this::isCancelled);
+            if (weights == null || isCancelled()) {
+                return false;
+            }
+            if (pyramidNeeded && !imagePyramid.prepare(percent -> setProgress(50 + percent / 2),
+                    this::isCancelled)) {
+                return false;
+            }
+            if (targetIds == null) {
+                pathfinderLease = pathfinders.acquire(2);
+                adoptLease(pathfinderLease);
+                pathfinder = pathfinderLease.solver();
+                // Solvers from the same pool are of the same kind as the one being repaired.
+                assert repairLease == null || pathfinder instanceof ShortestPaths<?, ?>;
+                if (repairLease == null) {
+                    changes = new SearchDelta();
+                    pathfinder.recordChanges(changes);
+                    pathfinder.setStart(startId);
+                }
+            } else {
+                SolverPool<ShortestPaths<ImageVertex, ImageEdge>>.Lease targetLease =
+                        targetPathfinders.acquire(2);
+                adoptLease(targetLease);
+                targetPathfinder = targetLease.solver();
+                heuristics = new DistanceHeuristic[targetIds.length];
+                for (int i = 0; i < targetIds.length; ++i) {
+                    heuristics[i] = ScissorsWeights.makeHeuristic(weigherName, imageGraph,
+                            targetIds[i]);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Make `newLease` our `lease`, releasing our results' hold on it right away if they have
+         * already been released.  Called from the background thread.
+         */
+        private synchronized void adoptLease(SolverPool<?>.Lease newLease) {
+            lease = newLease;
+            if (resultsReleased) {
+                newLease.release();
+            }
+        }
+
+        /**
+         * Release our results' hold on our lease, or arrange for it to be released as soon as our
+         * background task leases a solver.  Called from `done()`.
+         */
+        private synchronized void releaseResults() {
+            resultsReleased = true;
+            if (lease != null) {
+                lease.release();
+            }
+        }
+
+        /**
+         * Extend the search on `pathfinder` in batches until all paths have been found (or, if
+         * `window` is not null, until all paths within it have been found), reporting progress and
+         * publishing preliminary results after each batch.  Returns the final results, or null if
+         * cancelled.
+         */
+        private PathfindingSnapshot findAllPaths() {
+            if (repairLease != null) {
+                return repairPaths();
+            }
             final int BATCH_SIZE = 10000;
             PathfindingSnapshot currentSnapshot = null;
 
@@ -354,67 +1098,171 @@ public class ScissorsSelectionModel extends SelectionModel {
                 if (isCancelled()) {
                     return null;
                 }
+                Thread.currentThread().setPriority(
+                        speculative ? Thread.MIN_PRIORITY : normalPriority);
+                int windowId = -1;
+                if (window != null && currentSnapshot != null) {
+                    windowId = window.nextUnsettled(currentSnapshot);
+                    if (windowId < 0) {
+                        break;
+                    }
+                }
+                // Stop this batch early if it settles the pixel under the mouse pointer so that its
+                //  live wire can be shown right away.  Otherwise, stop it once it has settled the
+                //  next pixel of our window, so that we can pause as soon as the window is done.
+                int cursorId = interestId;
+                boolean cursorPending = cursorId >= 0
+                        && (currentSnapshot == null || !currentSnapshot.settled(cursorId));
+                pathfinder.setInterest(cursorPending ? cursorId : windowId);
                 currentSnapshot = pathfinder.extendSearch(BATCH_SIZE);
-                int progress = (int) ((double) pathfinder.settledCount() / pathfinder.vertexCount() * 100);
+                int progress = (window != null) ? window.percentSettled()
+                        : (int) ((double) pathfinder.settledCount() / pathfinder.vertexCount() * 100);
                 setProgress(progress);
-                publish(currentSnapshot);
+                publish(progress(currentSnapshot));
             }
+            pathfinder.setInterest(-1);
 
             return currentSnapshot;
         }
 
+        /**
+         * Copy the complete paths behind `repairLease` into `pathfinder` and repair them for our
+         * starting point, then report progress and publish the results.  Returns the repaired
+         * paths, or null if cancelled.
+         */
+        private PathfindingSnapshot repairPaths() {
+            if (isCancelled()) {
+                return null;
+            }
+            ShortestPaths<?, ?> solver = (ShortestPaths<?, ?>) pathfinder;
+            solver.copyPaths((ShortestPaths<?, ?>) repairLease.solver());
+            PathfindingSnapshot repairedPaths = solver.moveStart(startId);
+            setProgress(100);
+            publish(progress(repairedPaths));
+            return repairedPaths;
+        }
+
+        /**
+         * Return a progress snapshot of `paths` listing the pixels `pathfinder` has discovered and
+         * settled since our last one (if it was recording them), and start recording afresh for
+         * the next.
+         */
+        private ImagePathsSnapshot progress(PathfindingSnapshot paths) {
+            SearchDelta recorded = changes;
+            if (recorded != null) {
+                changes = new SearchDelta();
+                pathfinder.recordChanges(changes);
+            }
+            return new ImagePathsSnapshot(imageGraph, paths, this, publishedCount++, recorded);
+        }
+
+        /**
+         * Find shortest paths to each of `targetIds` in turn using goal-directed searches, saving
+         * them in `targetPaths` and reporting progress after each one.  Returns the results of the
+         * last search, or null if cancelled.
+         */
+        private PathfindingSnapshot findTargetPaths() {
+            PathfindingSnapshot currentSnapshot = null;
+            for (int i = 0; i < targetIds.length; ++i) {
+                if (isCancelled()) {
+                    return null;
+                }
+                currentSnapshot = targetPathfinder.findPath(startId, targetIds[i], heuristics[i]);
+                // Later searches reuse our pathfinder's storage, so extract the path now.
+                targetPaths.add(currentSnapshot.pathTo(targetIds[i]));
+                setProgress((i + 1) * 100 / targetIds.length);
+            }
+            return currentSnapshot;
+        }
+
+        /**
+         * Return the shortest paths found to each of the target vertices this worker was
+         * constructed with, in the same order.  Requires this worker has finished successfully.
+         */
+        public List<List<Integer>> targetPaths() {
+            return targetPaths;
+        }
+
+        /**
+         * Run our background task at normal priority from now on, since our results are no longer
+         * speculative.  May be called from any thread.
+         */
+        public void promote() {
+            speculative = false;
+        }
+
+        /**
+         * Ask this worker to publish its partial results as soon as the vertex with ID `id` is
+         * settled (see `ShortestPaths.setInterest()`).  May be called from any thread.
+         */
+        public void setInterest(int id) {
+            interestId = id;
+        }
+
         /**
          * Save the most recent preliminary paths published by the worker's background task to our
-         * outer Model's `pendingPaths` and notify listeners that the "pending-paths" property has
-         * changed.  This is executed on the EDT.
+         * outer Model's `pendingPaths` and notify its listeners that the "pending-paths" property
+         * has changed, once for each published snapshot (in order), since each lists only the
+         * pixels that changed since the last.  This is executed on the EDT.  Published snapshots
+         * are views of `pathfinder`'s arrays, so intermediate results are never copied; only the
+         * changed pixels' IDs are passed along, so each costs time proportional to its batch rather
+         * than to the image.
          */
         @Override
-        public void process(List<PathfindingSnapshot> publishedPaths) {
+        public void process(List<ImagePathsSnapshot> published) {
             // If our outer component has changed its image and state since we started, do nothing.
             if (worker != this) {
                 return;
             }
-            pendingPaths = publishedPaths.getLast();
-            firePropertyChange("pending-paths", null, pendingPaths);
+            for (ImagePathsSnapshot progress : published) {
+                pendingProgress = progress;
+                pendingPaths = progress.paths();
+                propSupport.firePropertyChange("pending-paths", null, progress);
+            }
         }
 
         /**
-         * This is executed on the EDT.  If we are still the active worker, set model's state to the
+         * This is executed on the EDT.  If we were solving speculatively and finished, cache our
+         * paths.  If we are still the active worker, save our paths and set model's state to the
          * state it transitioned to PROCESSING from, unless it was NO_SELECTION and our task
-         * finished successfully, in which case transition to SELECTING.
+         * finished successfully, in which case transition to SELECTING.  If we were cancelled,
+         * undo the point we were solving from instead (resetting the model if it was the start).
+         * Rethrows any exception thrown by our background task, wrapped in a RuntimeException.
          */
         @Override
         public void done() {
-            // TODO A6.2d: Implement this method to do the following:
-            //  1. Check whether our outer object's `worker` field still points to us.  If so, it
-            //     means nothing has changed in the model since we started work, so we're good to
-            //     continue.  If not, it means that the model was reset, so it no longer has
-            //     interest in our results (and we should return immediately).
-            //  2. Assuming our background calculation finished successfully, get its final results
-            //     and save them in our outer object's `paths` field.  Note that, if the previous
-            //     state was NO_SELECTION, we will want to transition to SELECTING in this case.
-            //  3. If our background calculation did not finish successfully, proceed as follows:
-            //     A. If it was cancelled and the previous state was SELECTING, then undo the last
-            //        added point.  Note that there's no need to find paths again, since our `paths`
-            //        field should still have the results for that previous endpoint.
-            //     B. If it threw an exception, wrap that exception in a RuntimeException and
-            //        re-throw it (this will help you detect bugs in ShortestPaths).
-            //     C. InterruptedExceptions can be ignored, since `get()` will not block in
-            //        `done()`.
-            //  4. Set our outer model's state to the state it was in before entering PROCESSING
-            //     (unless our previous state was NO_SELECTION and our calculation was successful,
-            //     in which case SELECTING in the desired state).  And in order to preserve our
-            //     model's invariant regarding `worker`, set its worker to `null`.
-            //  Since this is guaranteed to execute on the EDT, it is safe to access any members of
-            //  our outer model object.
+            if (speculativeWorker == this) {
+                // No point has been added where we started, but one may be yet.
+                speculativeWorker = null;
+                if (!isCancelled()) {
+                    try {
+                        pathsCache.put(get(), pathfinderLease);
+                    } catch (ExecutionException e) {
+                        throw new RuntimeException("Error in background path calculation",
+                                e.getCause());
+                    } catch (InterruptedException e) {
+                        // Ignore
+                    }
+                }
+            }
             if (worker != this) {
+                releaseResults();
                 return;
             }
 
+            boolean resultsKept = false;
             try {
                 PathfindingSnapshot finalPaths = get();
                 if (finalPaths != null) {
-                    paths = finalPaths;
+                    // Point-to-point results are only valid for their targets, so they are not
+                    //  suitable for tracing new segments.
+                    if (targetIds == null) {
+                        setPaths(finalPaths, pathfinderLease, window);
+                        resultsKept = true;
+                        if (window == null) {
+                            pathsCache.put(finalPaths, pathfinderLease);
+                        }
+                    }
                     if (previousState == NO_SELECTION) {
                         setState(SELECTING);
                     } else {
@@ -424,14 +1272,264 @@ public class ScissorsSelectionModel extends SelectionModel {
             } catch (CancellationException e) {
                 if (previousState == SELECTING) {
                     undoPoint();
+                } else if (previousState == NO_SELECTION) {
+                    // There are no paths to fall back on, so drop the starting point too.
+                    reset();
                 }
             } catch (ExecutionException e) {
                 throw new RuntimeException("Error in background path calculation", e.getCause());
             } catch (InterruptedException e) {
                 // Ignore
             } finally {
+                if (!resultsKept) {
+                    releaseResults();
+                }
                 worker = null;
             }
         }
     }
+
+    /**
+     * SwingWorker that resumes the paused search behind our outer model's `paths` in the
+     * background, either to settle a window larger than `pathsWindow` (as its `growthWorker`) or to
+     * settle the end of a segment that was added to the selection as an approximation (as its
+     * `catchUpWorker`), replacing that segment with a shortest path.  It runs without transitioning
+     * to PROCESSING, so the user may keep adding points.
+     * <p>
+     * Growing a window publishes preliminary results as it goes, which replace our outer model's
+     * `paths`; its "progress" events report the percentage of the window settled and are forwarded
+     * to our outer model's listeners while we are its `growthWorker`.  Our outer model cancels it
+     * whenever `paths` are replaced.  Catching up keeps going after `paths` are replaced, holding
+     * on to the solver behind them until it is done.
+     * <p>
+     * A cancelled worker's background task may still be finishing a batch when another worker
+     * resumes the same search, so each task holds its solver's lock while it searches.
+     */
+    private class SearchExtensionWorker
+            extends SwingWorker<PathfindingSnapshot, PathfindingSnapshot> {
+
+        /**
+         * The window that must be settled before our search may pause again, or null if we are
+         * catching up.  Its bounds may be read from any thread; after construction, it must
+         * otherwise only be accessed from the background thread until this worker is done.
+         */
+        final SearchWindow window;
+
+        /**
+         * The ID of the pixel at the end of `approximation`, or -1 if we are growing a window.
+         */
+        private final int targetId;
+
+        /**
+         * The segment to be replaced once `targetId` is settled, or null if we are growing a
+         * window.
+         */
+        private final PolyLine approximation;
+
+        /**
+         * The shortest path to `targetId`, or null if we are growing a window.  Written by the
+         * background thread; may only be read after this worker has finished successfully.
+         */
+        private List<Integer> targetPath;
+
+        /**
+         * The graph of the image we are extending a search across.
+         */
+        private final ImageGraph imageGraph;
+
+        /**
+         * Our hold on the lease of the solver behind `paths` at construction.  Released by our
+         * background task if it starts, or else by `done()` (see `begin()`).
+         */
+        private final SolverPool<IncrementalPathfinder>.Lease lease;
+
+        /**
+         * Whether our background task has started (and will release `lease`), or `done()` has
+         * released `lease` instead.  Guarded by this worker's lock.
+         */
+        private boolean started;
+        private boolean released;
+
+        /**
+         * The ID of the vertex whose path our client most recently expressed interest in, or -1.
+         * Written by the EDT and read by the background thread.
+         */
+        private volatile int interestId = -1;
+
+        /**
+         * Construct a worker that, when executed, will extend the search behind our outer model's
+         * `paths` until it has settled `window`.  Requires `paths` is not null and comes from a
+         * paused bounded search.  This must be called from the EDT.
+         */
+        SearchExtensionWorker(SearchWindow window) {
+            this(window, -1, null);
+        }
+
+        /**
+         * Construct a worker that, when executed, will extend the search behind our outer model's
+         * `paths` until it has settled the pixel with ID `targetId`, and then replace
+         * `approximation` in our outer model's selection (if it is still there) with the shortest
+         * path to that pixel.  Requires `paths` is not null and comes from a paused bounded search.
+         * This must be called from the EDT.
+         */
+        SearchExtensionWorker(int targetId, PolyLine approximation) {
+            this(null, targetId, approximation);
+        }
+
+        private SearchExtensionWorker(SearchWindow window, int targetId, PolyLine approximation) {
+            this.window = window;
+            this.targetId = targetId;
+            this.approximation = approximation;
+            imageGraph = graph;
+            lease = pathsLease;
+            lease.retain();
+
+            addPropertyChangeListener((PropertyChangeEvent evt) -> {
+                if ("progress".equals(evt.getPropertyName()) && growthWorker == this) {
+                    propSupport.firePropertyChange(evt);
+                }
+            });
+        }
+
+        /**
+         * Extend our search in batches until `window` (or `targetId`) is settled, or all paths have
+         * been found.  When growing a window, report progress and publish preliminary results after
+         * each batch.  Returns the final results, or null if cancelled.
+         */
+        @Override
+        public PathfindingSnapshot doInBackground() {
+            if (!begin()) {
+                return null;
+            }
+            try {
+                IncrementalPathfinder pathfinder = lease.solver();
+                synchronized (pathfinder) {
+                    final int BATCH_SIZE = 10000;
+                    // Earlier workers may have extended the search beyond `paths`.
+                    PathfindingSnapshot currentSnapshot = pathfinder.extendSearch(0);
+                    while (!pathfinder.allPathsFound()) {
+                        if (isCancelled()) {
+                            return null;
+                        }
+                        int nextId;
+                        if (window != null) {
+                            nextId = window.nextUnsettled(currentSnapshot);
+                        } else {
+                            nextId = currentSnapshot.settled(targetId) ? -1 : targetId;
+                        }
+                        if (nextId < 0) {
+                            break;
+                        }
+                        // As in `ShortestPathsWorker`, settle the pixel under the mouse pointer
+                        //  first.
+                        int cursorId = interestId;
+                        pathfinder.setInterest((cursorId >= 0 && !currentSnapshot.settled(cursorId))
+                                ? cursorId : nextId);
+                        currentSnapshot = pathfinder.extendSearch(BATCH_SIZE);
+                        if (window != null) {
+                            setProgress(window.percentSettled());
+                            publish(currentSnapshot);
+                        }
+                    }
+                    pathfinder.setInterest(-1);
+                    if (targetId >= 0) {
+                        // Our solver may be reused as soon as we release it, so extract the path
+                        //  now.
+                        targetPath = currentSnapshot.pathTo(targetId);
+                    }
+                    return currentSnapshot;
+                }
+            } finally {
+                lease.release();
+            }
+        }
+
+        /**
+         * Record that our background task has started, so that it must release `lease`.  Returns
+         * false if `done()` has already released it instead (because we were cancelled before
+         * starting).
+         */
+        private synchronized boolean begin() {
+            started = !released;
+            return started;
+        }
+
+        /**
+         * Ask this worker to settle the vertex with ID `id` as soon as possible.  May be called from
+         * any thread.
+         */
+        void setInterest(int id) {
+            interestId = id;
+        }
+
+        /**
+         * Make the most recent preliminary paths our outer model's `paths`, if we are still its
+         * `growthWorker`.  The old paths come from the same search, so the lease behind them
+         * stays.  This is executed on the EDT.
+         */
+        @Override
+        protected void process(List<PathfindingSnapshot> published) {
+            if (growthWorker == this) {
+                paths = published.getLast();
+            }
+        }
+
+        /**
+         * This is executed on the EDT.  If we are still our outer model's `growthWorker`, make our
+         * final results its `paths` and `window` its `pathsWindow`.  If we are still its
+         * `catchUpWorker`, replace `approximation` in its selection with `targetPath` and notify
+         * its listeners that the "selection" property has changed.  Releases our hold on `lease`
+         * if our background task never started.
+         */
+        @Override
+        protected void done() {
+            synchronized (this) {
+                if (!started) {
+                    released = true;
+                    lease.release();
+                }
+            }
+            if (growthWorker != this && catchUpWorker != this) {
+                return;
+            }
+            if (growthWorker == this) {
+                growthWorker = null;
+            } else {
+                catchUpWorker = null;
+            }
+            try {
+                PathfindingSnapshot finalPaths = get();
+                if (finalPaths == null) {
+                    return;
+                }
+                if (window != null) {
+                    paths = finalPaths;
+                    pathsWindow = window;
+                } else {
+                    replaceApproximation();
+                }
+            } catch (CancellationException e) {
+                // Only cancelled by our outer model, which no longer needs us.
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Error in background path calculation", e.getCause());
+            } catch (InterruptedException e) {
+                // Ignore
+            }
+        }
+
+        /**
+         * Replace `approximation` in our outer model's selection with the segment along
+         * `targetPath`, if it is still there, and notify its listeners.
+         */
+        private void replaceApproximation() {
+            ListIterator<PolyLine> it = selection.listIterator();
+            while (it.hasNext()) {
+                if (it.next() == approximation) {
+                    it.set(imageGraph.pathToPolyLine(targetPath));
+                    propSupport.firePropertyChange("selection", null, selection());
+                    return;
+                }
+            }
+        }
+    }
 }
@@ -1,26 +1,506 @@
 package scissors;
 
+import graph.DistanceHeuristic;
 import graph.Weigher;
-import java.awt.image.BandCombineOp;
+import java.awt.image.BufferedImage;
 import java.awt.image.Raster;
-import java.awt.image.RasterOp;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 /**
  * Factory for edge weight functions appropriate for use by the Intelligent Scissors algorithm.
  */
 public class ScissorsWeights {
 
+    /**
+     * The largest weight produced by any of our weighers: the gradient "reward" for a diagonal edge
+     * whose perpendicular slope is zero.
+     */
+    static final int MAX_WEIGHT = 255;
+
+    /**
+     * The largest slopes, multiplied by edge length, that our gradient weighers reward for
+     * straight (horizontal or vertical) and diagonal edges, respectively.  An edge's weight is its
+     * reward minus its `crossGrad()`.
+     */
+    static final int STRAIGHT_REWARD = 180;
+    static final int DIAGONAL_REWARD = MAX_WEIGHT;
+
+    /**
+     * The `crossGrad()` of a straight edge along the image's border.
+     */
+    static final int BORDER_GRADIENT = STRAIGHT_REWARD - 64;
+
+    /**
+     * The largest `crossGrad()` of a straight edge in an image with 8-bit samples (the difference
+     * between two sums of two samples, divided by 4).  Diagonal edges' `crossGrad()` may be as
+     * large as a whole sample, so may be weighed 0.
+     */
+    static final int MAX_STRAIGHT_GRADIENT = (2 * 255) / 4;
+
+    /**
+     * Tasks computing the weight planes that have been requested, keyed by image and then by
+     * weigher name.  Keys are weakly referenced so that planes are discarded along with their
+     * images; planes must therefore not refer to their images (tasks drop their closures once they
+     * have run).  Guarded by its own lock, since solvers may request weighers from background
+     * threads.  Tasks are run outside of the lock by whichever thread requested their plane first,
+     * so that requests for other planes need not wait for them.
+     */
+    private static final Map<BufferedImage, Map<String, FutureTask<WeightPlane>>> planeCache =
+            new WeakHashMap<>();
+
+    /**
+     * The fewest pixels an image must have for its weights to be computed lazily, a tile at a time
+     * (see `edgeWeights()`), rather than all up front.
+     */
+    static final long TILED_MIN_PIXELS = 1L << 24;
+
+    /**
+     * The fraction (as a divisor) of the maximum heap size that each lazily computed plane may
+     * spend on tiles.
+     */
+    static final int TILE_CACHE_HEAP_DIVISOR = 8;
+
+    /**
+     * Lazily computed planes that have already been created, keyed like `planeCache`.  Guarded by
+     * `planeCache`'s lock.
+     */
+    private static final Map<BufferedImage, Map<String, TiledWeightPlane>> tiledCache =
+            new WeakHashMap<>();
+
+    /**
+     * The version of our weighers' weights, which must be incremented whenever the weights any
+     * weigher computes for some image change, so that planes persisted by earlier versions are
+     * not reused.
+     */
+    static final int WEIGHTS_VERSION = 1;
+
+    /**
+     * Where computed weight planes are persisted across runs, or null if they are not.  Guarded by
+     * `planeCache`'s lock (but used outside of it once read).
+     */
+    private static PlaneDiskCache diskCache;
+
+    /**
+     * The content hashes of images whose planes have been looked up in `diskCache`, so that each
+     * image is hashed only once.  Guarded by `planeCache`'s lock.
+     */
+    private static final Map<BufferedImage, String> contentHashes = new WeakHashMap<>();
+
+    /**
+     * Weighs the edge leaving the pixel at location (`x`, `y`) in direction `dir` without needing
+     * an `ImageEdge` object (see `ImageGraph.compile()`).  The conventions for `dir` are the same
+     * as in `ImageVertex`.
+     */
+    @FunctionalInterface
+    interface PixelWeigher {
+        int weight(int x, int y, int dir);
+    }
+
+    /**
+     * A weigher whose weights are `STRAIGHT_REWARD` or `DIAGONAL_REWARD` minus the `crossGrad()`
+     * of some plane of intensities.  Its plane of weights can be computed a row at a time straight
+     * from those intensities (see `crossGradPlane()`).
+     */
+    interface CrossGradWeigher extends PixelWeigher {
+
+        /**
+         * Return the plane of intensities whose cross-gradients we weigh by.
+         */
+        PixelPlane intensities();
+    }
+
     /**
      * Create a `Weigher` whose type is determined by `weightName`.  The weigher will be capable of
      * weighing edges in the graph `graph`.  Throws IllegalArgumentException if `weightName` is not
      * among this factory's recognized `weightNames()`.
+     * <p>
+     * The returned weigher reads from a plane of weights that is created the first time a weigher
+     * of this type is requested for `graph`'s image and shared by all subsequent requests (see
+     * `edgeWeights()`).
      */
     static Weigher<ImageEdge> makeWeigher(String weightName, ImageGraph graph) {
+        return edgeWeights(weightName, graph);
+    }
+
+    /**
+     * Return `edgeWeights(weightName, graph, progress)` without reporting progress.
+     */
+    static EdgeWeights edgeWeights(String weightName, ImageGraph graph) {
+        return edgeWeights(weightName, graph, percent -> {});
+    }
+
+    /**
+     * Return the weights computed by the weigher named `weightName` for the image of `graph`,
+     * creating them if this has not been done before.  The weights of images with at least
+     * `TILED_MIN_PIXELS` pixels are computed lazily, a tile at a time, in a `TiledWeightPlane`
+     * holding a bounded number of tiles, provided their weigher only reads the pixels around each
+     * edge; the weights of smaller images are computed up front by `weightPlane()`, reporting
+     * their progress to `progress` (see there).  Throws IllegalArgumentException if `weightName`
+     * is not among this factory's recognized `weightNames()`.
+     * <p>
+     * Computing weights up front can take a while for large images, so threads that must stay
+     * responsive (like the EDT) should call this from a background thread before making weighers
+     * or heuristics for `graph`, which then return without delay.
+     */
+    static EdgeWeights edgeWeights(String weightName, ImageGraph graph, IntConsumer progress) {
+        return edgeWeights(weightName, graph, progress, () -> false);
+    }
+
+    /**
+     * Return the weights computed by the weigher named `weightName` for the image of `graph` as
+     * above, unless `cancelled` becomes true while this call is computing them up front, in which
+     * case return null (see `weightPlane()`).
+     */
+    static EdgeWeights edgeWeights(String weightName, ImageGraph graph, IntConsumer progress,
+            BooleanSupplier cancelled) {
+        if ((long) graph.width() * graph.height() < TILED_MIN_PIXELS) {
+            return weightPlane(weightName, graph, progress, cancelled);
+        }
+        Function<Raster, PixelPlane> intensities = switch (weightName) {
+            case "CrossGradMono" -> CrossGradMonoWeight::grayIntensities;
+            case "LuminanceGradient" -> PixelPlane::luminance;
+            default -> null;
+        };
+        if (intensities == null) {
+            // Composite weights are normalized by features of the whole image, and smoothed
+            //  gradients read pixels well beyond each edge.
+            return weightPlane(weightName, graph, progress, cancelled);
+        }
+        synchronized (planeCache) {
+            Map<String, TiledWeightPlane> planes = tiledCache.computeIfAbsent(graph.image(),
+                    img -> new HashMap<>());
+            return planes.computeIfAbsent(weightName, name -> new TiledWeightPlane(
+                    graph.width(), graph.height(), crossGradTiles(graph.raster(), intensities),
+                    Runtime.getRuntime().maxMemory() / TILE_CACHE_HEAP_DIVISOR,
+                    STRAIGHT_REWARD - MAX_STRAIGHT_GRADIENT, 0));
+        }
+    }
+
+    /**
+     * Return a source of tiles of the weights of a `CrossGradWeigher` whose intensities are
+     * computed from a raster by `intensities`, for the image whose raster is `raster`.  Each tile's
+     * weights are computed from the intensities of just the window of the raster covering the
+     * tile plus a 1-pixel margin (clipped to the image), which are all that `crossGrad()` reads
+     * for edges leaving the tile's pixels.  Requires `intensities` computes the intensity of each
+     * pixel from that pixel's samples alone.
+     */
+    static TiledWeightPlane.TileSource crossGradTiles(Raster raster,
+            Function<Raster, PixelPlane> intensities) {
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+        return (x0, y0, w, h) -> {
+            int rx0 = Math.max(x0 - 1, 0);
+            int ry0 = Math.max(y0 - 1, 0);
+            int rx1 = Math.min(x0 + w + 1, width);
+            int ry1 = Math.min(y0 + h + 1, height);
+            // The window's border coincides with the image's wherever the margin was clipped, so
+            //  `crossGrad()` treats exactly the image's border pixels as such.
+            PixelPlane window = intensities.apply(raster.createChild(raster.getMinX() + rx0,
+                    raster.getMinY() + ry0, rx1 - rx0, ry1 - ry0, 0, 0, null));
+            return (x, y, dir) -> (((dir % 2) == 0) ? STRAIGHT_REWARD : DIAGONAL_REWARD)
+                    - crossGrad(window, x - rx0, y - ry0, dir);
+        };
+    }
+
+    /**
+     * Return the plane of weights computed by the weigher named `weightName` for the image of
+     * `graph`, computing it if this has not been done before.  Throws IllegalArgumentException if
+     * `weightName` is not among this factory's recognized `weightNames()`.
+     */
+    static WeightPlane weightPlane(String weightName, ImageGraph graph) {
+        return weightPlane(weightName, graph, percent -> {});
+    }
+
+    /**
+     * Return the plane of weights computed by the weigher named `weightName` for the image of
+     * `graph` as above.  If this call is the one that loads or computes the plane, its progress is
+     * reported to `progress` as a percentage (on this thread); if another thread is already doing
+     * so, this call waits for it and reports nothing.
+     */
+    static WeightPlane weightPlane(String weightName, ImageGraph graph, IntConsumer progress) {
+        return weightPlane(weightName, graph, progress, () -> false);
+    }
+
+    /**
+     * Return the plane of weights computed by the weigher named `weightName` for the image of
+     * `graph` as above, unless this call is the one computing the plane and `cancelled` becomes
+     * true before it is done, in which case return null.  `cancelled` is checked between the rows
+     * of the plane (or between the steps of weighers that compute their planes in parallel).  A
+     * cancelled plane is not cached; any other calls waiting for it compute it themselves.
+     */
+    static WeightPlane weightPlane(String weightName, ImageGraph graph, IntConsumer progress,
+            BooleanSupplier cancelled) {
+        while (true) {
+            FutureTask<WeightPlane> task;
+            boolean owner = false;
+            synchronized (planeCache) {
+                Map<String, FutureTask<WeightPlane>> planes = planeCache.computeIfAbsent(
+                        graph.image(), img -> new HashMap<>());
+                task = planes.get(weightName);
+                if (task == null) {
+                    PlaneDiskCache disk = diskCache;
+                    task = new FutureTask<>(() -> loadOrComputePlane(weightName, graph, disk,
+                            progress, cancelled));
+                    planes.put(weightName, task);
+                    owner = true;
+                }
+            }
+            if (owner) {
+                task.run();
+            }
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return task.get();
+                    } catch (InterruptedException e) {
+                        // The plane is needed regardless, and will not take long to finish.
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException e) {
+                // Let later requests try again (or throw again).
+                synchronized (planeCache) {
+                    planeCache.get(graph.image()).remove(weightName, task);
+                }
+                if (e.getCause() instanceof CancellationException) {
+                    if (owner) {
+                        return null;
+                    }
+                    // Whoever was computing the plane gave up on it, so compute it ourselves.
+                    continue;
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Return whether the plane of weights computed by the weigher named `weightName` for `image`
+     * has been computed (or loaded) and is cached.
+     */
+    static boolean hasPlane(String weightName, BufferedImage image) {
+        synchronized (planeCache) {
+            Map<String, FutureTask<WeightPlane>> planes = planeCache.get(image);
+            FutureTask<WeightPlane> task = (planes != null) ? planes.get(weightName) : null;
+            return task != null && task.state() == Future.State.SUCCESS;
+        }
+    }
+
+    /**
+     * Return the plane of weights computed by the weigher named `weightName` for the image of
+     * `graph`, loading it from `disk` if that is not null and holds it, or else computing it (and
+     * storing it in `disk`, if not null).  Reports progress to `progress` as a percentage.  Throws
+     * CancellationException if `cancelled` becomes true while computing the plane.  Throws
+     * IllegalArgumentException if `weightName` is not among this factory's recognized
+     * `weightNames()`.
+     */
+    private static WeightPlane loadOrComputePlane(String weightName, ImageGraph graph,
+            PlaneDiskCache disk, IntConsumer progress, BooleanSupplier cancelled) {
+        String key = null;
+        if (disk != null) {
+            key = PlaneDiskCache.key(contentHash(graph.image()), weightName, WEIGHTS_VERSION);
+            WeightPlane plane = disk.load(key, graph.width(), graph.height());
+            if (plane != null) {
+                progress.accept(100);
+                return plane;
+            }
+        }
+        WeightPlane plane = computePlane(weightName, graph, progress, cancelled);
+        if (key != null) {
+            disk.store(key, plane);
+        }
+        return plane;
+    }
+
+    /**
+     * Return the `PlaneDiskCache.contentHash()` of `image`, hashing it only if it has not been
+     * hashed before.
+     */
+    private static String contentHash(BufferedImage image) {
+        synchronized (planeCache) {
+            String hash = contentHashes.get(image);
+            if (hash != null) {
+                return hash;
+            }
+        }
+        // Hash outside of the lock, since hashing a large image takes a while.
+        String hash = PlaneDiskCache.contentHash(image);
+        synchronized (planeCache) {
+            contentHashes.put(image, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Compute the plane of weights computed by the weigher named `weightName` for the image of
+     * `graph`.  Reports progress to `progress` as a percentage: halfway once the weigher has
+     * converted the image (to the intensities or features it weighs by), and done once every edge
+     * has been weighed.  Throws CancellationException if `cancelled` becomes true before then (see
+     * `weightPlane()`).  Throws IllegalArgumentException if `weightName` is not among this
+     * factory's recognized `weightNames()`.
+     */
+    private static WeightPlane computePlane(String weightName, ImageGraph graph,
+            IntConsumer progress, BooleanSupplier cancelled) {
+        progress.accept(0);
+        PixelWeigher source = makePixelWeigher(weightName, graph);
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+        progress.accept(50);
+        WeightPlane plane;
+        if (source instanceof CrossGradWeigher w) {
+            plane = crossGradPlane(w.intensities(), cancelled);
+            assert plane.matches(source);
+        } else if (source instanceof CompositeWeigher w) {
+            plane = w.plane();
+            assert plane.matches(source);
+        } else if (source instanceof GaussianGradientWeigher w) {
+            plane = w.plane();
+            assert plane.matches(source);
+        } else {
+            plane = WeightPlane.build(graph, source, MAX_WEIGHT, cancelled);
+        }
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+        progress.accept(100);
+        return plane;
+    }
+
+    /**
+     * Persist the weight planes computed from now on in `directory` (creating it if necessary),
+     * and reuse the planes persisted there for images with the same pixels, so that reopening an
+     * image skips computing its weights.  At most `maxBytes` bytes of planes are kept, evicting
+     * the least recently used.  Throws IOException if `directory` cannot be created.
+     */
+    public static void persistWeights(Path directory, long maxBytes) throws IOException {
+        PlaneDiskCache cache = new PlaneDiskCache(directory, maxBytes);
+        synchronized (planeCache) {
+            diskCache = cache;
+        }
+    }
+
+    /**
+     * Return the plane of weights of a `CrossGradWeigher` whose intensities are `intensities`.
+     * Computes each row's weights one direction at a time in loops over flat arrays of samples
+     * (see `CrossGradRows`), rather than calling `crossGrad()` per edge; only the border columns
+     * are special-cased.  The weights are identical to those that `WeightPlane.build()` would
+     * compute from the weigher.
+     */
+    static WeightPlane crossGradPlane(PixelPlane intensities) {
+        return crossGradPlane(intensities, () -> false);
+    }
+
+    /**
+     * Return the plane of weights as above.  Throws CancellationException if `cancelled` becomes
+     * true before it is done, which is checked before each row.
+     */
+    static WeightPlane crossGradPlane(PixelPlane intensities, BooleanSupplier cancelled) {
+        int width = intensities.width();
+        int height = intensities.height();
+        int[] s = intensities.samples();
+        byte[] weights = new byte[WeightPlane.capacity(width, height)];
+        int borderWeight = STRAIGHT_REWARD - BORDER_GRADIENT;
+
+        // The weights of the current row's edges in directions 0-3 (right, up-right, up, and
+        //  up-left).  Elements for edges leaving the image are never written, so remain 0.
+        int[] right = new int[width];
+        int[] upRight = new int[width];
+        int[] up = new int[width];
+        int[] upLeft = new int[width];
+
+        int minStraight = MAX_WEIGHT;
+        int minDiagonal = MAX_WEIGHT;
+        for (int y = 0; y < height; ++y) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            int row = y * width;
+            int above = row - width;
+            int below = row + width;
+
+            if (y == 0 || y == height - 1) {
+                Arrays.fill(right, 0, width - 1, borderWeight);
+                if (width > 1) {
+                    minStraight = Math.min(minStraight, borderWeight);
+                }
+            } else {
+                minStraight = CrossGradRows.straight(s, below, below + 1, above, above + 1,
+                        STRAIGHT_REWARD, right, 0, width - 1, minStraight);
+            }
+
+            if (y > 0) {
+                minDiagonal = CrossGradRows.diagonal(s, row + 1, above, DIAGONAL_REWARD, upRight,
+                        0, width - 1, minDiagonal);
+                up[0] = borderWeight;
+                up[width - 1] = borderWeight;
+                minStraight = Math.min(minStraight, borderWeight);
+                minStraight = CrossGradRows.straight(s, above + 1, row + 1, above - 1, row - 1,
+                        STRAIGHT_REWARD, up, 1, width - 1, minStraight);
+                minDiagonal = CrossGradRows.diagonal(s, above, row - 1, DIAGONAL_REWARD, upLeft,
+                        1, width, minDiagonal);
+            }
+
+            for (int x = 0, i = WeightPlane.SLOTS * row; x < width; ++x, i += WeightPlane.SLOTS) {
+                weights[i] = (byte) right[x];
+                weights[i + 1] = (byte) upRight[x];
+                weights[i + 2] = (byte) up[x];
+                weights[i + 3] = (byte) upLeft[x];
+            }
+        }
+        return new WeightPlane(width, height, weights, MAX_WEIGHT, minStraight, minDiagonal);
+    }
+
+    /**
+     * Return a consistent heuristic for goal-directed searches towards the pixel with ID `targetId`
+     * in `graph` using the weigher named `weightName` (see `ShortestPaths.findPath()`).  Computes
+     * that weigher's plane of weights if this has not been done before.  Throws
+     * IllegalArgumentException if `weightName` is not among this factory's recognized
+     * `weightNames()`.
+     */
+    static DistanceHeuristic makeHeuristic(String weightName, ImageGraph graph, int targetId) {
+        EdgeWeights plane = edgeWeights(weightName, graph);
+        return graph.octileHeuristic(targetId, plane.minStraightWeight(),
+                plane.minDiagonalWeight());
+    }
+
+    /**
+     * Create a weigher that computes the weights of the type named `weightName` directly from
+     * `graph`'s image.  Throws IllegalArgumentException if `weightName` is not among this factory's
+     * recognized `weightNames()`.
+     */
+    static PixelWeigher makePixelWeigher(String weightName, ImageGraph graph) {
         return switch (weightName) {
             case "CrossGradMono" -> new CrossGradMonoWeight(graph);
             case "LuminanceGradient" -> new LuminanceGradientWeigher(graph);
+            case "Composite" -> new CompositeWeigher(graph, ForkJoinPool.commonPool());
+            case "GaussianGradient" -> new GaussianGradientWeigher(graph,
+                    ForkJoinPool.commonPool());
             default -> throw new IllegalArgumentException("Unknown weigher: " + weightName);
         };
     }
@@ -31,43 +511,43 @@ public class ScissorsWeights {
     static Iterable<String> weightNames() {
         // TODO A6.4c: Add your weigher's name to this list.  If you add a bunch of weighers, you
         //  might find this method useful when populating your app's combo box.
-        return List.of("CrossGradMono", "LuminanceGradient");
+        return List.of("CrossGradMono", "LuminanceGradient", "Composite", "GaussianGradient");
     }
 
     /**
-     * Return the magnitude of the slope of the image intensity of `img` in band `b` perpendicular
-     * to the direction `dir` from the pixel at location (`x`, `y`), multiplied by the distance to
-     * the neighboring pixel in that direction.
+     * Return the magnitude of the slope of the image intensity of `img` perpendicular to the
+     * direction `dir` from the pixel at location (`x`, `y`), multiplied by the distance to the
+     * neighboring pixel in that direction.
      * <p>
      * The conventions for `dir` are the same as in `ImageVertex`: it is an integer in [0..8] where
      * 0 points right and 2 points up.
      */
-    static int crossGrad(Raster img, int x, int y, int b, int dir) {
-        int width = img.getWidth();
-        int height = img.getHeight();
+    static int crossGrad(PixelPlane img, int x, int y, int dir) {
+        int width = img.width();
+        int height = img.height();
 
         // Note: Image boundaries are given slightly less than the maximum value, making it easier
         //  to select subjects that are cut off by the image's border without trying too hard to
         //  find paths that cut into the subject.
-        int borderWeight = 180 - 64;
+        int borderWeight = BORDER_GRADIENT;
 
         return switch (dir) {
             case 0 -> (y == 0 || y == height - 1) ? borderWeight :
-                    Math.abs((img.getSample(x, y + 1, b) + img.getSample(x + 1, y + 1, b)) -
-                            (img.getSample(x, y - 1, b) + img.getSample(x + 1, y - 1, b))) / 4;
-            case 1 -> Math.abs(img.getSample(x + 1, y, b) - img.getSample(x, y - 1, b));
+                    Math.abs((img.sample(x, y + 1) + img.sample(x + 1, y + 1)) -
+                            (img.sample(x, y - 1) + img.sample(x + 1, y - 1))) / 4;
+            case 1 -> Math.abs(img.sample(x + 1, y) - img.sample(x, y - 1));
             case 2 -> (x == 0 || x == width - 1) ? borderWeight :
-                    Math.abs((img.getSample(x + 1, y - 1, b) + img.getSample(x + 1, y, b)) -
-                            (img.getSample(x - 1, y - 1, b) + img.getSample(x - 1, y, b))) / 4;
-            case 3 -> Math.abs(img.getSample(x, y - 1, b) - img.getSample(x - 1, y, b));
+                    Math.abs((img.sample(x + 1, y - 1) + img.sample(x + 1, y)) -
+                            (img.sample(x - 1, y - 1) + img.sample(x - 1, y))) / 4;
+            case 3 -> Math.abs(img.sample(x, y - 1) - img.sample(x - 1, y));
             case 4 -> (y == 0 || y == height - 1) ? borderWeight :
-                    Math.abs((img.getSample(x, y - 1, b) + img.getSample(x - 1, y - 1, b)) -
-                            (img.getSample(x, y + 1, b) + img.getSample(x - 1, y + 1, b))) / 4;
-            case 5 -> Math.abs(img.getSample(x - 1, y, b) - img.getSample(x, y + 1, b));
+                    Math.abs((img.sample(x, y - 1) + img.sample(x - 1, y - 1)) -
+                            (img.sample(x, y + 1) + img.sample(x - 1, y + 1))) / 4;
+            case 5 -> Math.abs(img.sample(x - 1, y) - img.sample(x, y + 1));
             case 6 -> (x == 0 || x == width - 1) ? borderWeight :
-                    Math.abs((img.getSample(x - 1, y + 1, b) + img.getSample(x - 1, y, b)) -
-                            (img.getSample(x + 1, y + 1, b) + img.getSample(x + 1, y, b))) / 4;
-            case 7 -> Math.abs(img.getSample(x, y + 1, b) - img.getSample(x + 1, y, b));
+                    Math.abs((img.sample(x - 1, y + 1) + img.sample(x - 1, y)) -
+                            (img.sample(x + 1, y + 1) + img.sample(x + 1, y))) / 4;
+            case 7 -> Math.abs(img.sample(x, y + 1) - img.sample(x + 1, y));
             default -> throw new IllegalArgumentException();
         };
     }
@@ -76,7 +556,7 @@ public class ScissorsWeights {
      * Weight edges less if they run perpendicular to a large brightness gradient in an ImageGraph's
      * image.  Only considers the brightness of a grayscale (band-averaged) version of the image.
      */
-    static class CrossGradMonoWeight implements Weigher<ImageEdge> {
+    static class CrossGradMonoWeight implements Weigher<ImageEdge>, CrossGradWeigher {
 
         /**
          * The graph that the edges to be weighed will come from.
@@ -86,7 +566,7 @@ public class ScissorsWeights {
         /**
          * A grayscale copy of the image represented by `graph`.
          */
-        private Raster grayImage;
+        private PixelPlane grayImage;
 
         /**
          * Create a new weigher capable of weighing edges in `graph`.
@@ -99,39 +579,66 @@ public class ScissorsWeights {
             Raster src = graph.raster();
 
             // Convert our graph's image to black-and-white by averaging its bands
-            // This involves linear algebra; we do not expect most students to understand how this
-            //  works yet (consider CS 4670 if you are interested).
+            grayImage = grayIntensities(src);
+        }
+
+        /**
+         * Return a plane holding the average of the bands of `src` at each pixel.
+         */
+        static PixelPlane grayIntensities(Raster src) {
             float weight = 1.0f / src.getNumBands();
-            float[][] avgMatrix = new float[3][src.getNumBands()];
-            Arrays.fill(avgMatrix[0], weight);
-            Arrays.fill(avgMatrix, avgMatrix[0]);
-            RasterOp op = new BandCombineOp(avgMatrix, null);
-            grayImage = op.filter(src, null);
+            float[] avgCoefficients = new float[src.getNumBands()];
+            Arrays.fill(avgCoefficients, weight);
+            return PixelPlane.combine(src, avgCoefficients);
         }
 
         @Override
         public int weight(ImageEdge edge) {
             // Get location of pixel at edge's start
             ImageVertex src = graph.getVertex(edge.startId());
-            int x = src.x();
-            int y = src.y();
+            return weight(src.x(), src.y(), edge.dir());
+        }
 
+        @Override
+        public int weight(int x, int y, int dir) {
             // Compute the largest possible slope, multiplied by the edge's length, that could be
             //  observed perpendicular to this edge's direction (even directions are horizontal or
             //  vertical; odd edges are diagonal).  By subtracting a "reward" quantity from this,
             //  we convert the reward into a "cost".
-            int eGradMax = ((edge.dir() % 2) == 0) ? 180 : 255;
+            int eGradMax = ((dir % 2) == 0) ? STRAIGHT_REWARD : DIAGONAL_REWARD;
 
             // Compute the magnitude of the slope perpendicular to this edge, multiplied by this
             //  edge's length, then subtract it from the best possible value.
-            return eGradMax - crossGrad(grayImage, x, y, 0, edge.dir());
+            return eGradMax - crossGrad(grayImage, x, y, dir);
+        }
+
+        @Override
+        public PixelPlane intensities() {
+            return grayImage;
+        }
+
+        /**
+         * Weights never exceed the reward for a diagonal edge, since `crossGrad()` is non-negative
+         * (assuming 8-bit samples).
+         */
+        @Override
+        public int maxWeight() {
+            return MAX_WEIGHT;
+        }
+
+        /**
+         * `crossGrad()` measures the same slope from either end of an edge.
+         */
+        @Override
+        public boolean isSymmetric() {
+            return true;
         }
     }
 
     // TODO A6.4a: Define a new nested Weigher class that takes color into account.
     //  Start by mimicking the structure of `CrossGradMonoWeight`, but skip the grayscale conversion
-    //  (just save the graph's image's raster to a field).  Then apply `crossGrad()` to each band
-    //  in the image and combine the results to get a single valid weight.
+    //  (just save a `PixelPlane.band()` for each band of the graph's image's raster to a field).
+    //  Then apply `crossGrad()` to each band and combine the results to get a single valid weight.
     //  That is probably the simplest approach, but you can also be creative and try something
     //  totally different!  The requirements are just:
     //  1. Must work for every edge in the graph.
@@ -139,34 +646,45 @@ public class ScissorsWeights {
     //  3. Must work better than "CrossGradMono" on images with different colors of similar
     //     brightness (like challenge_1.png).
 
-    static class LuminanceGradientWeigher implements Weigher<ImageEdge> {
+    static class LuminanceGradientWeigher implements Weigher<ImageEdge>, CrossGradWeigher {
         private final ImageGraph graph;
-        private final Raster luminanceRaster;
+        private final PixelPlane luminancePlane;
 
         LuminanceGradientWeigher(ImageGraph graph) {
             this.graph = graph;
-            this.luminanceRaster = createLuminanceRaster(graph.raster());
+            this.luminancePlane = createLuminancePlane(graph.raster());
         }
 
-        private Raster createLuminanceRaster(Raster src) {
-            float[][] luminanceMatrix = {
-                    {0.2126f, 0.7152f, 0.0722f},
-                    {0.2126f, 0.7152f, 0.0722f},
-                    {0.2126f, 0.7152f, 0.0722f}
-            };
-            RasterOp op = new BandCombineOp(luminanceMatrix, null);
-            return op.filter(src, null);
+        private PixelPlane createLuminancePlane(Raster src) {
+            return PixelPlane.luminance(src);
         }
 
         @Override
         public int weight(ImageEdge edge) {
             ImageVertex startVertex = graph.getVertex(edge.startId());
-            int x = startVertex.x();
-            int y = startVertex.y();
+            return weight(startVertex.x(), startVertex.y(), edge.dir());
+        }
 
-            int maxGradient = ((edge.dir() % 2) == 0) ? 180 : 255;
+        @Override
+        public int weight(int x, int y, int dir) {
+            int maxGradient = ((dir % 2) == 0) ? STRAIGHT_REWARD : DIAGONAL_REWARD;
+
+            return maxGradient - crossGrad(luminancePlane, x, y, dir);
+        }
+
+        @Override
+        public PixelPlane intensities() {
+            return luminancePlane;
+        }
 
-            return maxGradient - crossGrad(luminanceRaster, x, y, 0, edge.dir());
+        @Override
+        public int maxWeight() {
+            return MAX_WEIGHT;
+        }
+
+        @Override
+        public boolean isSymmetric() {
+            return true;
         }
     }
 }
@@ -0,0 +1,112 @@
+package scissors;
+
+import graph.PathfindingSnapshot;
+import java.awt.Rectangle;
+
+/**
+ * A rectangular window of pixels around the starting point of a bounded search, within which every
+ * pixel's shortest path must be known before the search can pause.  Since a shortest-paths solver
+ * settles pixels in order of distance rather than position, the search is steered by repeatedly
+ * asking it for the first pixel of the window (in row-major order) that is not yet settled; once
+ * no such pixel remains, the window is complete.  Settled pixels stay settled, so the window keeps
+ * its place in that scan between queries, making the total cost of all queries proportional to
+ * the window's area.
+ */
+class SearchWindow {
+
+    /**
+     * The pixels in this window.  Lies within the image.
+     */
+    private final Rectangle bounds;
+
+    /**
+     * The width of the image containing this window.
+     */
+    private final int imageWidth;
+
+    /**
+     * The number of pixels of this window, in row-major order, known to be settled.
+     */
+    private int scanned;
+
+    /**
+     * Create a window containing the pixels of `bounds` that lie within `graph`'s image.
+     * Requires that intersection is not empty.
+     */
+    SearchWindow(ImageGraph graph, Rectangle bounds) {
+        this(graph.width(), graph.height(), bounds);
+    }
+
+    /**
+     * Create a window containing the pixels of `bounds` that lie within an image of size
+     * `imageWidth` x `imageHeight`.  Requires that intersection is not empty.
+     */
+    SearchWindow(int imageWidth, int imageHeight, Rectangle bounds) {
+        this.bounds = bounds.intersection(new Rectangle(imageWidth, imageHeight));
+        assert !this.bounds.isEmpty();
+        this.imageWidth = imageWidth;
+    }
+
+    /**
+     * Create a square window extending `radius` pixels in each direction from (`x`, `y`), clipped
+     * to `graph`'s image.  Requires (`x`, `y`) is in the image and `radius` is non-negative.
+     */
+    static SearchWindow around(ImageGraph graph, int x, int y, int radius) {
+        return new SearchWindow(graph,
+                new Rectangle(x - radius, y - radius, 2 * radius + 1, 2 * radius + 1));
+    }
+
+    /**
+     * Return whether the pixel at (`x`, `y`) is in this window.
+     */
+    boolean contains(int x, int y) {
+        return bounds.contains(x, y);
+    }
+
+    /**
+     * Return the number of pixels in this window.
+     */
+    long area() {
+        return (long) bounds.width * bounds.height;
+    }
+
+    /**
+     * Return the ID of the first pixel of this window that `paths` does not report as settled, or
+     * -1 if every pixel is settled.  Requires `paths` come from the same search as any snapshots
+     * previously passed to this method, and be no older than them.
+     */
+    int nextUnsettled(PathfindingSnapshot paths) {
+        while (scanned < area()) {
+            int x = bounds.x + scanned % bounds.width;
+            int y = bounds.y + scanned / bounds.width;
+            int id = ImageVertex.xyToId(x, y, imageWidth);
+            if (!paths.settled(id)) {
+                return id;
+            }
+            scanned += 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Return the percentage of this window's pixels known to be settled by the last call to
+     * `nextUnsettled()`.
+     */
+    int percentSettled() {
+        // Windows may span most of a gigapixel image, so `scanned * 100` would overflow an int.
+        return (int) (scanned * 100L / area());
+    }
+
+    /**
+     * Return a larger window, clipped to `graph`'s image, that contains this window and the pixel
+     * at (`x`, `y`) with a margin around it.  So that a wandering cursor only triggers a
+     * logarithmic number of growths, the margin is at least half the larger dimension of this
+     * window.  The new window's scan starts over.
+     */
+    SearchWindow grownToInclude(ImageGraph graph, int x, int y) {
+        int margin = Math.max(bounds.width, bounds.height) / 2 + 1;
+        Rectangle grown = bounds.union(new Rectangle(x, y, 1, 1));
+        grown.grow(margin, margin);
+        return new SearchWindow(graph, grown);
+    }
+}
@@ -0,0 +1,133 @@
+package scissors;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable pathfinding solvers for a single image.  A solver's arrays are as large as
+ * its image, so allocating fresh ones for every click is slow and churns the heap; instead, each
+ * solve leases a solver from the pool and returns it when neither the solve nor anyone reading its
+ * results needs it any more.  Since snapshots published by a solver are views of its arrays, a
+ * lease may have several holders, and its solver is only returned once every holder has released
+ * it.  All methods may be called from any thread.
+ */
+class SolverPool<T> {
+
+    /**
+     * Creates a new solver when none are idle.
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * Solvers that are not currently leased.
+     */
+    private final ArrayDeque<T> idle;
+
+    /**
+     * The largest number of idle solvers to keep; solvers released beyond this are discarded.
+     */
+    private final int maxIdle;
+
+    /**
+     * Create an empty pool that creates solvers using `factory` and keeps at most `maxIdle` of
+     * them when they are not leased.  Requires `maxIdle` is non-negative.
+     */
+    SolverPool(Supplier<T> factory, int maxIdle) {
+        assert maxIdle >= 0;
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+        idle = new ArrayDeque<>(maxIdle);
+    }
+
+    /**
+     * Lease an idle solver (or a new one, if none are idle) on behalf of `holds` holders, each of
+     * whom must eventually call `release()` on the returned lease.  Requires `holds` is positive.
+     */
+    Lease acquire(int holds) {
+        assert holds > 0;
+        T solver;
+        synchronized (this) {
+            solver = idle.pollLast();
+        }
+        // Create new solvers outside of our lock, since doing so may be slow.
+        return new Lease((solver != null) ? solver : factory.get(), holds);
+    }
+
+    /**
+     * Return the number of solvers currently waiting to be leased.
+     */
+    synchronized int idleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Return `solver` to our idle solvers, unless we already have enough of them.
+     */
+    private synchronized void recycle(T solver) {
+        if (idle.size() < maxIdle) {
+            idle.addLast(solver);
+        }
+    }
+
+    /**
+     * Exclusive use of one of our solvers, shared among a number of holders.  The solver returns to
+     * its pool once every holder has released it, after which it must no longer be used (nor may
+     * any results that refer to its storage).
+     */
+    class Lease {
+
+        /**
+         * The leased solver.
+         */
+        private final T solver;
+
+        /**
+         * The number of holders that have not yet released this lease.  Guarded by this lease's
+         * lock.
+         */
+        private int holds;
+
+        /**
+         * Create a lease of `solver` for `holds` holders.
+         */
+        private Lease(T solver, int holds) {
+            this.solver = solver;
+            this.holds = holds;
+        }
+
+        /**
+         * Return the leased solver.  Requires this lease has not been fully released.
+         */
+        T solver() {
+            return solver;
+        }
+
+        /**
+         * Add a holder to this lease, who must eventually call `release()`.  Throws
+         * IllegalStateException if every holder has already released this lease.
+         */
+        synchronized void retain() {
+            if (holds == 0) {
+                throw new IllegalStateException("Lease has already been released");
+            }
+            holds += 1;
+        }
+
+        /**
+         * Give up one holder's claim on this lease, returning its solver to the pool if it was the
+         * last.  Throws IllegalStateException if every holder has already released this lease.
+         */
+        void release() {
+            synchronized (this) {
+                if (holds == 0) {
+                    throw new IllegalStateException("Lease has already been released");
+                }
+                holds -= 1;
+                if (holds > 0) {
+                    return;
+                }
+            }
+            recycle(solver);
+        }
+    }
+}
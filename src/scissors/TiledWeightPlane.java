@@ -0,0 +1,312 @@
+package scissors;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The weights of every edge of an ImageGraph, computed lazily in square tiles of pixels the first
+ * time a solver weighs an edge leaving one of them.  Tiles are laid out like `WeightPlane`s (only
+ * directions 0-3 are stored; directions 4-7 are read from the neighbor's slots, possibly in a
+ * neighboring tile).  At most a fixed number of tiles are kept, evicting the least recently used,
+ * so memory use follows the region solvers explore rather than the image's size.  Whenever a solver
+ * first reaches a tile, the tiles around it are computed in the background, so that a frontier
+ * crossing into them rarely has to wait.
+ * <p>
+ * Safe to use from multiple threads.  Weighing an edge in a tile that is loaded costs a few loads
+ * and a comparison more than a `WeightPlane`; recency is tracked in "ticks" that advance whenever
+ * a tile is loaded, so each tile takes the synchronized slow path at most once per tick.
+ */
+final class TiledWeightPlane implements EdgeWeights {
+
+    /**
+     * The base-2 logarithm of the width and height of a tile, in pixels.
+     */
+    static final int TILE_SHIFT = 8;
+
+    /**
+     * The width and height of a tile, in pixels.
+     */
+    static final int TILE_SIZE = 1 << TILE_SHIFT;
+
+    /**
+     * The number of bytes of weights in a tile.
+     */
+    static final int TILE_BYTES = WeightPlane.SLOTS * TILE_SIZE * TILE_SIZE;
+
+    /**
+     * The fewest tiles we keep, regardless of our memory budget: enough for a tile and all of its
+     * neighbors.
+     */
+    static final int MIN_TILES = 9;
+
+    /**
+     * Computes prefetched tiles.  Its thread is a daemon so that it does not keep the application
+     * alive.
+     */
+    private static final ExecutorService prefetcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Tile prefetcher");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    /**
+     * Provides weighers for the edges leaving the pixels of each tile.
+     */
+    @FunctionalInterface
+    interface TileSource {
+
+        /**
+         * Return a weigher capable of weighing the edges leaving the pixels in columns
+         * `[x0..x0+w)` of rows `[y0..y0+h)` in directions 0-3, given their locations in the whole
+         * image.
+         */
+        ScissorsWeights.PixelWeigher forRegion(int x0, int y0, int w, int h);
+    }
+
+    /**
+     * The dimensions of the image whose edges we weigh.
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * The number of columns of tiles.
+     */
+    private final int tilesX;
+
+    /**
+     * Computes our tiles' weights.
+     */
+    private final TileSource source;
+
+    /**
+     * The largest number of tiles we keep.
+     */
+    private final int maxTiles;
+
+    /**
+     * Lower bounds on the weights of straight and diagonal edges, as promised by our source.
+     */
+    private final int minStraightWeight;
+    private final int minDiagonalWeight;
+
+    /**
+     * `tiles.get(t)` holds the weights of tile `t` (numbered in row-major order), laid out as
+     * `tile[SLOTS * (x + TILE_SIZE * y) + dir]` for the pixel at (`x`, `y`) within the tile, or is
+     * null if that tile is not loaded.
+     */
+    private final AtomicReferenceArray<byte[]> tiles;
+
+    /**
+     * The tick at which each tile was last used.  Written under our lock, but read without it.
+     */
+    private final int[] stamps;
+
+    /**
+     * Whether each tile has been used since it was last loaded, so that its neighbors have been
+     * prefetched.  Guarded by our lock.
+     */
+    private final boolean[] visited;
+
+    /**
+     * The current tick.  Only advanced under our lock.
+     */
+    private volatile int tick;
+
+    /**
+     * The number of tiles that are loaded.  Guarded by our lock.
+     */
+    private int loadedCount;
+
+    /**
+     * Create a plane of the weights of the edges of an image of size `width` x `height`, computed
+     * by `source`, keeping at most `maxBytes` bytes of tiles (but at least `MIN_TILES` tiles).
+     * Requires `source` never weighs a straight edge less than `minStraightWeight` nor a diagonal
+     * edge less than `minDiagonalWeight`.
+     */
+    TiledWeightPlane(int width, int height, TileSource source, long maxBytes,
+            int minStraightWeight, int minDiagonalWeight) {
+        this.width = width;
+        this.height = height;
+        this.source = source;
+        this.minStraightWeight = minStraightWeight;
+        this.minDiagonalWeight = minDiagonalWeight;
+        tilesX = Math.ceilDiv(width, TILE_SIZE);
+        int tileCount = tilesX * Math.ceilDiv(height, TILE_SIZE);
+        maxTiles = (int) Math.max(MIN_TILES, Math.min(tileCount, maxBytes / TILE_BYTES));
+        tiles = new AtomicReferenceArray<>(tileCount);
+        stamps = new int[tileCount];
+        visited = new boolean[tileCount];
+        // Unloaded tiles must not look up to date.
+        tick = 1;
+    }
+
+    @Override
+    public int weight(int x, int y, int dir) {
+        if (dir >= WeightPlane.SLOTS) {
+            // Read the neighbor's slot for the opposite direction.
+            x += CompiledImageGraph.DX[dir];
+            y += CompiledImageGraph.DY[dir];
+            dir -= WeightPlane.SLOTS;
+        }
+        int t = (y >> TILE_SHIFT) * tilesX + (x >> TILE_SHIFT);
+        byte[] tile = tiles.getAcquire(t);
+        if (tile == null || stamps[t] != tick) {
+            tile = touch(t);
+        }
+        int local = ((y & (TILE_SIZE - 1)) << TILE_SHIFT) + (x & (TILE_SIZE - 1));
+        return tile[WeightPlane.SLOTS * local + dir] & 0xFF;
+    }
+
+    @Override
+    public int weight(int id, int dir) {
+        int y = id / width;
+        return weight(id - y * width, y, dir);
+    }
+
+    @Override
+    public int weight(ImageEdge edge) {
+        return weight(edge.startId(), edge.dir());
+    }
+
+    @Override
+    public int maxWeight() {
+        return ScissorsWeights.MAX_WEIGHT;
+    }
+
+    /**
+     * Tiles are computed lazily, so this is the bound promised by our source rather than the
+     * smallest weight in the image.
+     */
+    @Override
+    public int minStraightWeight() {
+        return minStraightWeight;
+    }
+
+    /**
+     * Tiles are computed lazily, so this is the bound promised by our source rather than the
+     * smallest weight in the image.
+     */
+    @Override
+    public int minDiagonalWeight() {
+        return minDiagonalWeight;
+    }
+
+    /**
+     * Return the number of tiles that are currently loaded.
+     */
+    synchronized int loadedTiles() {
+        return loadedCount;
+    }
+
+    /**
+     * Return the weights of tile `t`, loading it if necessary, and record that it was used.  The
+     * first time a tile is used after being loaded, schedule its neighbors to be prefetched.
+     */
+    private byte[] touch(int t) {
+        byte[] tile = tiles.getAcquire(t);
+        if (tile == null) {
+            // Compute outside our lock so that other threads may keep weighing loaded tiles.
+            tile = install(t, compute(t));
+        }
+        boolean prefetch;
+        synchronized (this) {
+            stamps[t] = tick;
+            prefetch = !visited[t];
+            visited[t] = true;
+        }
+        if (prefetch) {
+            prefetchAround(t);
+        }
+        return tile;
+    }
+
+    /**
+     * Return the weights of tile `t`, computed by our source.
+     */
+    private byte[] compute(int t) {
+        int x0 = (t % tilesX) << TILE_SHIFT;
+        int y0 = (t / tilesX) << TILE_SHIFT;
+        int w = Math.min(TILE_SIZE, width - x0);
+        int h = Math.min(TILE_SIZE, height - y0);
+        ScissorsWeights.PixelWeigher weigher = source.forRegion(x0, y0, w, h);
+        byte[] tile = new byte[TILE_BYTES];
+        for (int ly = 0; ly < h; ++ly) {
+            int y = y0 + ly;
+            for (int lx = 0; lx < w; ++lx) {
+                int x = x0 + lx;
+                int base = WeightPlane.SLOTS * ((ly << TILE_SHIFT) + lx);
+                // Directions 0-3 point right, up-right, up, and up-left.
+                if (x + 1 < width) {
+                    tile[base] = (byte) weigher.weight(x, y, 0);
+                }
+                if (x + 1 < width && y > 0) {
+                    tile[base + 1] = (byte) weigher.weight(x, y, 1);
+                }
+                if (y > 0) {
+                    tile[base + 2] = (byte) weigher.weight(x, y, 2);
+                }
+                if (x > 0 && y > 0) {
+                    tile[base + 3] = (byte) weigher.weight(x, y, 3);
+                }
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Make `computed` the weights of tile `t` unless another thread has loaded that tile in the
+     * meantime, evicting the least recently used tiles beyond our capacity.  Advances the tick.
+     * Return the tile's weights.
+     */
+    private synchronized byte[] install(int t, byte[] computed) {
+        byte[] tile = tiles.get(t);
+        if (tile != null) {
+            return tile;
+        }
+        tick += 1;
+        stamps[t] = tick;
+        visited[t] = false;
+        tiles.setRelease(t, computed);
+        loadedCount += 1;
+        while (loadedCount > maxTiles) {
+            int victim = -1;
+            for (int i = 0; i < stamps.length; ++i) {
+                if (i != t && tiles.get(i) != null
+                        && (victim < 0 || stamps[i] - stamps[victim] < 0)) {
+                    victim = i;
+                }
+            }
+            tiles.set(victim, null);
+            loadedCount -= 1;
+        }
+        return computed;
+    }
+
+    /**
+     * Compute the tiles neighboring tile `t` that are not loaded, in the background.
+     */
+    private void prefetchAround(int t) {
+        int tx = t % tilesX;
+        int ty = t / tilesX;
+        int tilesY = tiles.length() / tilesX;
+        for (int dy = -1; dy <= 1; ++dy) {
+            for (int dx = -1; dx <= 1; ++dx) {
+                int nx = tx + dx;
+                int ny = ty + dy;
+                if (nx >= 0 && nx < tilesX && ny >= 0 && ny < tilesY) {
+                    int n = ny * tilesX + nx;
+                    if (tiles.getAcquire(n) == null) {
+                        prefetcher.execute(() -> {
+                            if (tiles.getAcquire(n) == null) {
+                                install(n, compute(n));
+                            }
+                        });
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package scissors;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Precomputed weights for every edge of an ImageGraph, stored compactly as one unsigned byte per
+ * edge.  Since the weights of our weighers are symmetric (the edge leaving pixel `p` in direction
+ * `dir` has the same weight as the edge leaving its neighbor in the opposite direction), only
+ * directions 0-3 are stored for each pixel; the weights of directions 4-7 are read from the
+ * neighbor's slots.  Weighing an edge therefore costs a single buffer load, which makes it cheap
+ * enough to share one plane among every solve on the same image.  Weights may be stored on the
+ * heap or in a file mapped into memory (see `PlaneDiskCache`).
+ */
+class WeightPlane implements EdgeWeights {
+
+    /**
+     * The number of stored directions per pixel.
+     */
+    static final int SLOTS = 4;
+
+    /**
+     * The dimensions of the image whose edges we weigh.
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * `weights.get(SLOTS*id + dir)` is the weight of the edge leaving the pixel with ID `id` in
+     * direction `dir` (for `dir` in [0..3]), interpreted as an unsigned byte.  Slots for edges
+     * leaving the image are 0.  Its position and limit are never changed.
+     */
+    private final ByteBuffer weights;
+
+    /**
+     * `slotOffsets[dir]` is the difference between the index in `weights` of the edge leaving
+     * a pixel in direction `dir` and `SLOTS` times that pixel's ID.  For `dir >= SLOTS`, this
+     * points into the slots of the neighbor in direction `dir`.
+     */
+    private final int[] slotOffsets;
+
+    /**
+     * An upper bound on the stored weights.
+     */
+    private final int maxWeight;
+
+    /**
+     * Lower bounds on the weights of straight (horizontal or vertical) and diagonal edges in this
+     * plane, respectively.
+     */
+    private final int minStraightWeight;
+    private final int minDiagonalWeight;
+
+    /**
+     * Create a plane for an image of size `width` x `height` backed by `weights` (laid out as
+     * documented on that field), none of whose values exceeds `maxWeight`.  Requires `maxWeight` is
+     * at most 255.
+     */
+    WeightPlane(int width, int height, byte[] weights, int maxWeight) {
+        this(width, height, weights, maxWeight, 0, 0);
+    }
+
+    /**
+     * Create a plane as above whose straight and diagonal edges are known to weigh at least
+     * `minStraightWeight` and `minDiagonalWeight`, respectively.
+     */
+    WeightPlane(int width, int height, byte[] weights, int maxWeight, int minStraightWeight,
+            int minDiagonalWeight) {
+        this(width, height, ByteBuffer.wrap(weights), maxWeight, minStraightWeight,
+                minDiagonalWeight);
+    }
+
+    /**
+     * Create a plane as above whose weights are the contents of `weights` (from index 0 to its
+     * capacity), which must not be modified afterwards.
+     */
+    WeightPlane(int width, int height, ByteBuffer weights, int maxWeight, int minStraightWeight,
+            int minDiagonalWeight) {
+        assert maxWeight <= 0xFF;
+        assert weights.capacity() == (long) SLOTS * width * height;
+        this.width = width;
+        this.height = height;
+        this.weights = weights;
+        this.maxWeight = maxWeight;
+        this.minStraightWeight = minStraightWeight;
+        this.minDiagonalWeight = minDiagonalWeight;
+        slotOffsets = new int[8];
+        for (int dir = 0; dir < 8; ++dir) {
+            slotOffsets[dir] = (dir < SLOTS) ? dir
+                    : SLOTS * CompiledImageGraph.idOffset(dir, width) + (dir - SLOTS);
+        }
+    }
+
+    /**
+     * Return the number of bytes of weights in a plane for an image of size `width` x `height`.
+     * Throws IllegalArgumentException if that many bytes would not fit in an array.
+     */
+    static int capacity(int width, int height) {
+        try {
+            return Math.multiplyExact(SLOTS, Math.multiplyExact(width, height));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Image too large for a weight plane: " + width + "x" + height, e);
+        }
+    }
+
+    /**
+     * Compute the weights of all edges in `graph` using `source`, whose weights must be symmetric,
+     * non-negative, and no greater than `maxWeight` (which must be at most 255).
+     */
+    static WeightPlane build(ImageGraph graph, ScissorsWeights.PixelWeigher source,
+            int maxWeight) {
+        return build(graph, source, maxWeight, () -> false);
+    }
+
+    /**
+     * Compute the weights of all edges in `graph` as above.  Throws CancellationException if
+     * `cancelled` becomes true before they are done, which is checked before each row.
+     */
+    static WeightPlane build(ImageGraph graph, ScissorsWeights.PixelWeigher source,
+            int maxWeight, BooleanSupplier cancelled) {
+        int width = graph.width();
+        int height = graph.height();
+        byte[] weights = new byte[capacity(width, height)];
+        int minStraight = maxWeight;
+        int minDiagonal = maxWeight;
+        for (int y = 0; y < height; ++y) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+            for (int x = 0; x < width; ++x) {
+                int base = SLOTS * ImageVertex.xyToId(x, y, width);
+                // Directions 0-3 point right, up-right, up, and up-left.
+                if (x + 1 < width) {
+                    int w = source.weight(x, y, 0);
+                    weights[base] = quantize(w, maxWeight);
+                    minStraight = Math.min(minStraight, w);
+                }
+                if (x + 1 < width && y > 0) {
+                    int w = source.weight(x, y, 1);
+                    weights[base + 1] = quantize(w, maxWeight);
+                    minDiagonal = Math.min(minDiagonal, w);
+                }
+                if (y > 0) {
+                    int w = source.weight(x, y, 2);
+                    weights[base + 2] = quantize(w, maxWeight);
+                    minStraight = Math.min(minStraight, w);
+                }
+                if (x > 0 && y > 0) {
+                    int w = source.weight(x, y, 3);
+                    weights[base + 3] = quantize(w, maxWeight);
+                    minDiagonal = Math.min(minDiagonal, w);
+                }
+            }
+        }
+        WeightPlane plane = new WeightPlane(width, height, weights, maxWeight, minStraight,
+                minDiagonal);
+        assert plane.matches(source);
+        return plane;
+    }
+
+    /**
+     * Return `weight` as an unsigned byte.  Requires `weight` is in `[0..maxWeight]`.
+     */
+    private static byte quantize(int weight, int maxWeight) {
+        assert weight >= 0 && weight <= maxWeight : "Weight out of range: " + weight;
+        return (byte) weight;
+    }
+
+    /**
+     * Return whether every edge weight in this plane, including those of directions 4-7 that are
+     * shared with the opposite edge, agrees with `source`.  Intended for use in assertions.
+     */
+    boolean matches(ScissorsWeights.PixelWeigher source) {
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                for (int dir = 0; dir < 8; ++dir) {
+                    if (validDir(x, y, dir) && weight(x, y, dir) != source.weight(x, y, dir)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return whether the neighbor of pixel (`x`, `y`) in direction `dir` is within the image.
+     */
+    private boolean validDir(int x, int y, int dir) {
+        int nx = x + CompiledImageGraph.DX[dir];
+        int ny = y + CompiledImageGraph.DY[dir];
+        return nx >= 0 && nx < width && ny >= 0 && ny < height;
+    }
+
+    @Override
+    public int weight(int id, int dir) {
+        return weights.get(SLOTS * id + slotOffsets[dir]) & 0xFF;
+    }
+
+    @Override
+    public int weight(int x, int y, int dir) {
+        return weight(ImageVertex.xyToId(x, y, width), dir);
+    }
+
+    @Override
+    public int weight(ImageEdge edge) {
+        return weight(edge.startId(), edge.dir());
+    }
+
+    @Override
+    public int maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Return the width of the image whose edges we weigh.
+     */
+    int width() {
+        return width;
+    }
+
+    /**
+     * Return the height of the image whose edges we weigh.
+     */
+    int height() {
+        return height;
+    }
+
+    /**
+     * Return a read-only view of our weights, laid out as documented on that field, positioned at
+     * the first.
+     */
+    ByteBuffer weights() {
+        return weights.asReadOnlyBuffer().clear();
+    }
+
+    @Override
+    public int minStraightWeight() {
+        return minStraightWeight;
+    }
+
+    @Override
+    public int minDiagonalWeight() {
+        return minDiagonalWeight;
+    }
+}
@@ -0,0 +1,166 @@
+package selector;
+
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import scissors.ImagePathsSnapshot;
+
+/**
+ * Shading of the pixels in a region of an image (typically the part of it that is visible) by
+ * their status in a pathfinding progress snapshot, kept up to date by applying only the changes
+ * reported by each new snapshot.  Only the region is buffered, so memory use follows the size of
+ * the view rather than that of the image; changes to pixels outside of the region are skipped.
+ * Moving the region to another part of the image shades it afresh.
+ */
+final class ProgressOverlay {
+
+    /**
+     * The width of the image whose pixels we shade, which maps pixels' row-major indices to their
+     * locations.
+     */
+    private final int imageWidth;
+
+    /**
+     * The ARGB colors of pixels whose shortest paths are known and of pixels on the frontier of a
+     * search, respectively.  Undiscovered pixels are transparent.
+     */
+    private final int settledColor;
+    private final int frontierColor;
+
+    /**
+     * The region of the image we shade.  Empty until we are first updated.
+     */
+    private Rectangle region = new Rectangle();
+
+    /**
+     * Our shading of `region`, whose upper-left pixel is that of the region, or null if the region
+     * is empty.
+     */
+    private BufferedImage shading;
+
+    /**
+     * The pixels of `shading`, in row-major order (its raster's backing array).
+     */
+    private int[] pixels;
+
+    /**
+     * The progress snapshot whose statuses `shading` shows, or null if it shows none (in which
+     * case it is transparent).
+     */
+    private ImagePathsSnapshot shown;
+
+    /**
+     * Create an overlay for an image `imageWidth` pixels wide that shades settled pixels with the
+     * ARGB color `settledColor` and frontier pixels with the ARGB color `frontierColor`.
+     */
+    ProgressOverlay(int imageWidth, int settledColor, int frontierColor) {
+        this.imageWidth = imageWidth;
+        this.settledColor = settledColor;
+        this.frontierColor = frontierColor;
+    }
+
+    /**
+     * Shade `region` (which must lie within the image) by the statuses in `snapshot`.  If
+     * `region` is the one we already shade and `snapshot` follows the snapshot we show (or starts
+     * a new solve), only the pixels whose status changed are updated; otherwise, every pixel of
+     * the region is shaded afresh.  Does nothing if we already shade `region` by `snapshot`.
+     */
+    void update(ImagePathsSnapshot snapshot, Rectangle region) {
+        boolean moved = !region.equals(this.region);
+        if (snapshot == shown && !moved) {
+            return;
+        }
+        if (moved) {
+            this.region = new Rectangle(region);
+            if (region.isEmpty()) {
+                shading = null;
+                pixels = null;
+            } else if (shading == null || shading.getWidth() != region.width
+                    || shading.getHeight() != region.height) {
+                shading = new BufferedImage(region.width, region.height,
+                        BufferedImage.TYPE_INT_ARGB);
+                pixels = ((DataBufferInt) shading.getRaster().getDataBuffer()).getData();
+            }
+            // Whatever we showed was of another region.
+            shown = null;
+        }
+        if (shown == null || !snapshot.follows(shown)) {
+            if (!snapshot.follows(null)) {
+                rescan(snapshot);
+                return;
+            }
+            // A new solve starts with no discovered pixels.
+            if (pixels != null) {
+                Arrays.fill(pixels, 0);
+            }
+        }
+        shown = snapshot;
+        if (pixels == null) {
+            return;
+        }
+
+        // A pixel discovered and settled in the same batch is listed in both, so settle last.
+        for (int i = 0; i < snapshot.newlyDiscoveredCount(); ++i) {
+            shade(snapshot.newlyDiscoveredIndex(i), frontierColor);
+        }
+        for (int i = 0; i < snapshot.newlySettledCount(); ++i) {
+            shade(snapshot.newlySettledIndex(i), settledColor);
+        }
+    }
+
+    /**
+     * Shade the pixel whose row-major index in the image is `index` with `color`, if it is in our
+     * region.
+     */
+    private void shade(int index, int color) {
+        int y = index / imageWidth;
+        int x = index - y * imageWidth - region.x;
+        y -= region.y;
+        if (x >= 0 && x < region.width && y >= 0 && y < region.height) {
+            pixels[x + region.width * y] = color;
+        }
+    }
+
+    /**
+     * Shade every pixel of our region by its status in `snapshot`, whose changes since what we
+     * show are unknown.
+     */
+    private void rescan(ImagePathsSnapshot snapshot) {
+        shown = snapshot;
+        if (pixels == null) {
+            return;
+        }
+        Point p = new Point();
+        int i = 0;
+        for (p.y = region.y; p.y < region.y + region.height; ++p.y) {
+            for (p.x = region.x; p.x < region.x + region.width; ++p.x) {
+                pixels[i++] = snapshot.settled(p) ? settledColor
+                        : snapshot.discovered(p) ? frontierColor : 0;
+            }
+        }
+    }
+
+    /**
+     * Return the ARGB color we shade the pixel at (`x`, `y`) of the image with, or 0 if it is
+     * outside of our region.
+     */
+    int colorAt(int x, int y) {
+        if (!region.contains(x, y)) {
+            return 0;
+        }
+        return pixels[(x - region.x) + region.width * (y - region.y)];
+    }
+
+    /**
+     * Draw our shading at its place in the image on `g`, whose origin is the image's upper-left
+     * corner.
+     */
+    void paint(Graphics g) {
+        if (shading != null) {
+            g.drawImage(shading, region.x, region.y, null);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
@@ -14,7 +15,6 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
 import javax.swing.JComponent;
-import java.awt.Rectangle;
 import scissors.ImagePathsSnapshot;
 
 /**
@@ -45,6 +45,13 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
      */
     private Point mouseLocation = new Point();
 
+    /**
+     * Shading of the visible pixels of our model's image by their pathfinding progress, kept up to
+     * date as each new progress snapshot arrives.  Null until progress is first shown for the
+     * current image.
+     */
+    private ProgressOverlay progressOverlay;
+
     /* View parameters */
     // TODO (embellishment): Customize these to your liking.  The API documentation for Color [1]
     //  should be helpful. (0 points - just for fun)
@@ -71,6 +78,16 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
      */
     private Color controlPointColor = Color.CYAN;
 
+    /**
+     * The ARGB color used to shade pixels whose shortest paths are known while processing.
+     */
+    private int settledColor = new Color(192, 192, 96, 128).getRGB();
+
+    /**
+     * The ARGB color used to shade pixels on the frontier of a search while processing.
+     */
+    private int frontierColor = new Color(96, 96, 192, 128).getRGB();
+
     /**
      * Construct a new SelectionComponent that will participate in viewing and controlling the
      * selection modeled by `model`.  View will update upon receiving property change events from
@@ -112,6 +129,9 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
         // index may not be valid in the new model
         selectedIndex = -1;
 
+        // Progress shading for the old model's image is no longer relevant
+        progressOverlay = null;
+
         // Model state has changed; update our view.
         repaint();
     }
@@ -151,25 +171,33 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
      * undiscovered).  Do nothing if there is no pending path solution.
      */
     private void paintPathfindingProgress(Graphics g, ImagePathsSnapshot pendingPaths) {
-        int settledColor = new Color(192, 192, 96, 128).getRGB();
-        int frontierColor = new Color(96, 96, 192, 128).getRGB();
-
-        Rectangle bounds = g.getClipBounds();
-        int width = Math.min(bounds.width, model.image().getWidth() - bounds.x);
-        int height = Math.min(bounds.height, model.image().getHeight() - bounds.y);
-
-        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        for (int x = bounds.x; x < bounds.x + width; ++x) {
-            for (int y = bounds.y; y < bounds.y + height; ++y) {
-                Point p = new Point(x, y);
-                if (pendingPaths.settled(p)) {
-                    img.setRGB(x - bounds.x, y - bounds.y, settledColor);
-                } else if (pendingPaths.discovered(p)) {
-                    img.setRGB(x - bounds.x, y - bounds.y, frontierColor);
-                }
-            }
+        updateProgressOverlay(pendingPaths);
+        progressOverlay.paint(g);
+    }
+
+    /**
+     * Bring `progressOverlay` up to date with the statuses in `snapshot` for the part of our
+     * model's image that is currently visible (see `ProgressOverlay.update()`).
+     */
+    private void updateProgressOverlay(ImagePathsSnapshot snapshot) {
+        BufferedImage img = model.image();
+        if (progressOverlay == null) {
+            progressOverlay = new ProgressOverlay(img.getWidth(), settledColor, frontierColor);
+        }
+        Rectangle visible = getVisibleRect().intersection(
+                new Rectangle(img.getWidth(), img.getHeight()));
+        if (visible.isEmpty()) {
+            visible = new Rectangle();
         }
-        g.drawImage(img, bounds.x, bounds.y, null);
+        progressOverlay.update(snapshot, visible);
+    }
+
+    /**
+     * Return the shading of our model's image by pathfinding progress, or null if none has been
+     * shown for the current image.
+     */
+    ProgressOverlay progressOverlay() {
+        return progressOverlay;
     }
 
     /**
@@ -188,8 +216,9 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
             paintMoveGuides(g, segments);
         }
 
-        // Draw live wire
-        if (model.state() == SELECTING && mouseLocation != null) {
+        // Draw live wire (which may be available from partial results while processing)
+        if ((model.state() == SELECTING || model.state() == PROCESSING) && mouseLocation != null
+                && model.liveWireAvailable(mouseLocation)) {
             paintLiveWire(g);
         }
 
@@ -239,10 +268,9 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
         // TODO 3C: Implement this method as specified.  The same Graphics methods you used in
         //  `paintSelectionPerimeter()` are relevant here.
         g.setColor(liveWireColor); // Use the specified color for the live wire.
-        // Retrieve the last point of the selection to start the live wire.
-        Point lastPoint = model.lastPoint();
-        // Draw a line from the last point to the mouse location.
-        g.drawLine(lastPoint.x, lastPoint.y, mouseLocation.x, mouseLocation.y);
+        // Draw the model's path from the last point to the mouse location.
+        PolyLine wire = model.liveWire(mouseLocation);
+        g.drawPolyline(wire.xs(), wire.ys(), wire.size());
     }
 
     /**
@@ -292,6 +320,7 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
         //  [2] https://docs.oracle.com/javase/tutorial/uiswing/events/mousemotionlistener.html
         if(e.getButton() == MouseEvent.BUTTON1){
             if(model.state() == SELECTING || model.selection().isEmpty()){
+                model.setViewport(getVisibleRect());
                 model.addPoint(e.getPoint());
             }
         }
@@ -307,12 +336,16 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
 
     /**
      * When a selection is in progress, update our last-observed mouse location to the location of
-     * this event and repaint ourselves to draw a "live wire" to the mouse pointer.
+     * this event, hint that the live wire to the mouse pointer is wanted, and repaint ourselves to
+     * draw that "live wire".  While our model is processing, also do so in case the live wire is
+     * already available.
      */
     @Override
     public void mouseMoved(MouseEvent e) {
-        if (model.state() == SELECTING) {
+        if (model.state() == SELECTING
+                || (model.state() == PROCESSING && model.image() != null)) {
             updateMouseLocation(e.getPoint());
+            model.hintLiveWire(mouseLocation);
         }
     }
 
@@ -366,6 +399,16 @@ public class SelectionComponent extends JComponent implements MouseListener, Mou
             BufferedImage img = (BufferedImage) e.getNewValue();
             setPreferredSize(new Dimension(img.getWidth(), img.getHeight()));
         }
+        if (e.getPropertyName().equals("image")) {
+            progressOverlay = null;
+        }
+
+        // Apply each batch of pathfinding progress as it arrives, since each only lists what
+        //  changed since the last.
+        if (e.getPropertyName().equals("pending-paths")
+                && e.getNewValue() instanceof ImagePathsSnapshot snapshot) {
+            updateProgressOverlay(snapshot);
+        }
 
         // If the model's selection changed while we are interacting with a control point, cancel
         // that interaction (since our selected index may no longer be valid).
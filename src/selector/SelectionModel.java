@@ -202,6 +202,33 @@ public abstract class SelectionModel {
      */
     public abstract PolyLine liveWire(Point p);
 
+    /**
+     * Return whether `liveWire(p)` can currently be called.  By default this is only the case
+     * while a selection is in progress (in the SELECTING state); subclasses may also be able to
+     * serve live wires from partial results while PROCESSING.
+     */
+    public boolean liveWireAvailable(Point p) {
+        return state == SELECTING;
+    }
+
+    /**
+     * Inform this model that the user is interested in the live wire to `p` (for example, because
+     * the mouse pointer is there), so that any asynchronous processing may prioritize making it
+     * available.  Default implementation does nothing.
+     */
+    public void hintLiveWire(Point p) {
+        // Default implementation does nothing
+    }
+
+    /**
+     * Inform this model that the pixels within `visible` are the ones currently shown to the user,
+     * so that processing may be limited to their neighborhood.  Default implementation does
+     * nothing.
+     */
+    public void setViewport(Rectangle visible) {
+        // Default implementation does nothing
+    }
+
     /**
      * If we are still processing the most recently added point, cancel that operation.  Otherwise,
      * remove the last segment from the selection path.  If the selection path does not contain any
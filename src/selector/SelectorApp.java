@@ -11,6 +11,7 @@ import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -22,6 +23,11 @@ import scissors.ScissorsWeights;
  */
 public class SelectorApp implements PropertyChangeListener {
 
+    /**
+     * The largest total size, in bytes, of the weight planes persisted between runs.
+     */
+    private static final long PLANE_CACHE_BYTES = 1L << 30;
+
     private final JFrame frame;
     private final ImagePanel imgPanel;
     private SelectionModel model;
@@ -259,6 +265,17 @@ public class SelectorApp implements PropertyChangeListener {
     }
 
     public static void main(String[] args) {
+        // Reuse the edge weights computed for images opened in earlier runs.  The cache is an
+        //  optimization only, so carry on without it if its directory is unusable.
+        Path planeCache = Path.of(System.getProperty("selector.planeCache",
+                Path.of(System.getProperty("user.home"), ".cache", "selector", "planes")
+                        .toString()));
+        try {
+            ScissorsWeights.persistWeights(planeCache, PLANE_CACHE_BYTES);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Not caching weights in " + planeCache + ": " + e);
+        }
+
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
@@ -0,0 +1,125 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BucketMinQueueTest {
+    @DisplayName("GIVEN a BucketMinQueue whose priorities span its whole range, WHEN elements are "
+            + "removed, THEN they will be returned in priority order, wrapping around the buckets")
+    @Test
+    void testRemoveWrapsAround() {
+        int maxSpread = 4;
+        BucketMinQueue q = new BucketMinQueue(10, maxSpread);
+        assertEquals(maxSpread + 1, q.span());
+
+        q.addOrUpdate(0, 3);
+        q.addOrUpdate(1, 7);
+        q.addOrUpdate(2, 5);
+        assertEquals(0, q.remove());
+        assertEquals(5, q.minPriority());
+
+        // Priorities beyond the first cycle of buckets
+        q.addOrUpdate(3, 6);
+        assertEquals(2, q.remove());
+        q.addOrUpdate(4, 9);
+        assertEquals(3, q.remove());
+        assertEquals(1, q.get());
+        assertEquals(7, q.minPriority());
+        assertEquals(1, q.remove());
+        assertEquals(4, q.remove());
+        assertTrue(q.isEmpty());
+    }
+
+    @DisplayName("GIVEN a BucketMinQueue, WHEN an element's priority is reduced, THEN it will move "
+            + "to the front of the queue without changing its size")
+    @Test
+    void testUpdate() {
+        BucketMinQueue q = new BucketMinQueue(10, 10);
+        for (int i = 0; i < 10; ++i) {
+            q.addOrUpdate(i, 5 + i / 2);
+        }
+        q.addOrUpdate(9, 2);
+        assertEquals(10, q.size());
+        assertEquals(9, q.get());
+        assertEquals(2, q.minPriority());
+        assertTrue(q.contains(9));
+    }
+
+    @DisplayName("GIVEN a BucketMinQueue, WHEN it is driven by a Dijkstra-like workload, THEN its "
+            + "removals will agree in priority order with an IntHeapMinQueue")
+    @Test
+    void testAgainstHeap() {
+        int capacity = 500;
+        int maxWeight = 20;
+        BucketMinQueue q = new BucketMinQueue(capacity, maxWeight);
+        IntMinQueue ref = new IntHeapMinQueue(capacity);
+        int[] best = new int[capacity];
+        Arrays.fill(best, Integer.MAX_VALUE);
+        boolean[] removed = new boolean[capacity];
+
+        int seed = 1;
+        Random rng = new Random(seed);
+        q.addOrUpdate(0, 0);
+        ref.addOrUpdate(0, 0);
+        best[0] = 0;
+        while (!ref.isEmpty()) {
+            assertEquals(ref.size(), q.size());
+            int d = ref.minPriority();
+            assertEquals(d, q.minPriority());
+            int key = q.remove();
+            // Ties may be broken differently, so remove the same key from the reference
+            ref.addOrUpdate(key, Integer.MIN_VALUE);
+            ref.remove();
+            removed[key] = true;
+
+            // "Relax" a few random edges
+            for (int i = 0; i < 4; ++i) {
+                int neighbor = rng.nextInt(capacity);
+                int newPriority = d + rng.nextInt(maxWeight + 1);
+                if (!removed[neighbor] && newPriority < best[neighbor]) {
+                    best[neighbor] = newPriority;
+                    q.addOrUpdate(neighbor, newPriority);
+                    ref.addOrUpdate(neighbor, newPriority);
+                }
+            }
+        }
+        assertTrue(q.isEmpty());
+    }
+
+    @DisplayName("GIVEN a non-empty BucketMinQueue, WHEN it is cleared, THEN it will be empty AND "
+            + "it can be reused starting from a smaller priority")
+    @Test
+    void testClear() {
+        BucketMinQueue q = new BucketMinQueue(20, 3);
+        for (int i = 0; i < 20; ++i) {
+            q.addOrUpdate(i, 100 + i % 4);
+        }
+        q.remove();
+
+        q.clear();
+        assertTrue(q.isEmpty());
+        for (int i = 0; i < 20; ++i) {
+            assertFalse(q.contains(i));
+        }
+
+        q.addOrUpdate(5, 0);
+        assertEquals(5, q.get());
+        assertEquals(0, q.minPriority());
+    }
+
+    @DisplayName("GIVEN an empty BucketMinQueue, WHEN attempting to query or remove the next "
+            + "element, THEN a NoSuchElementException will be thrown")
+    @Test
+    void testExceptions() {
+        BucketMinQueue q = new BucketMinQueue(1, 1);
+
+        assertThrows(NoSuchElementException.class, () -> q.get());
+        assertThrows(NoSuchElementException.class, () -> q.minPriority());
+        assertThrows(NoSuchElementException.class, () -> q.remove());
+    }
+}
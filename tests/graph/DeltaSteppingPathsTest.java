@@ -0,0 +1,194 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DeltaSteppingPathsTest {
+
+    @DisplayName("WHEN all shortest paths are found in a small graph, THEN they agree with the "
+            + "known shortest paths")
+    @Test
+    void testMyersExample() {
+        SimpleGraph g = SimpleGraph.fromText(ShortestPathsTest.graph1);
+        DeltaSteppingPaths<SimpleVertex, SimpleEdge> pathfinder =
+                new DeltaSteppingPaths<>(g, new SimpleWeigher());
+
+        PathfindingSnapshot paths = pathfinder.findAllPaths(g.getVertexByLabel("A").id());
+        assertTrue(pathfinder.allPathsFound());
+        assertEquals(g.vertexCount(), pathfinder.settledCount());
+
+        SimpleVertex end = g.getVertexByLabel("G");
+        assertEquals(50, paths.distanceTo(end.id()));
+        String[] pathLabels = paths.pathTo(end.id()).stream()
+                .map(id -> g.getVertex(id).label())
+                .toArray(String[]::new);
+        assertArrayEquals(new String[]{"A", "C", "E", "F", "G"}, pathLabels);
+    }
+
+    @DisplayName("GIVEN a large random graph, WHEN all shortest paths are found in parallel, THEN "
+            + "every distance agrees with ShortestPaths AND every predecessor lies on a shortest "
+            + "path")
+    @Test
+    void testAgainstShortestPaths() {
+        SimpleGraph g = randomGridGraph(120, 120, 40, 1);
+        CompilableSimpleGraph cg = new CompilableSimpleGraph(g);
+        Weigher<SimpleEdge> w = new SimpleWeigher(40);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PathfindingSnapshot expected = new ShortestPaths<>(g, w).findAllPaths(0);
+            // Small buckets exercise many rounds; large buckets exercise parallel rounds.
+            for (int delta : new int[]{1, 7, 200}) {
+                assertAgrees(g, expected,
+                        new DeltaSteppingPaths<>(g, w, delta, pool).findAllPaths(0));
+                assertAgrees(g, expected,
+                        new DeltaSteppingPaths<>(cg, w, delta, pool).findAllPaths(0));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @DisplayName("WHEN a search is extended incrementally, THEN at least the requested number of "
+            + "vertices is settled each time AND settled distances are final")
+    @Test
+    void testExtendSearch() {
+        SimpleGraph g = randomGridGraph(30, 30, 10, 2);
+        Weigher<SimpleEdge> w = new SimpleWeigher(10);
+        PathfindingSnapshot expected = new ShortestPaths<>(g, w).findAllPaths(5);
+        DeltaSteppingPaths<SimpleVertex, SimpleEdge> pathfinder =
+                new DeltaSteppingPaths<>(g, w, 3, ForkJoinPool.commonPool());
+
+        int reachable = 0;
+        for (int id = 0; id < g.vertexCount(); ++id) {
+            reachable += expected.discovered(id) ? 1 : 0;
+        }
+
+        pathfinder.setStart(5);
+        int previouslySettled = 0;
+        while (!pathfinder.allPathsFound()) {
+            PathfindingSnapshot paths = pathfinder.extendSearch(50);
+            int settled = pathfinder.settledCount();
+            assertTrue(settled >= Math.min(previouslySettled + 50, reachable));
+            for (int id = 0; id < g.vertexCount(); ++id) {
+                if (paths.settled(id)) {
+                    assertEquals(expected.distanceTo(id), paths.distanceTo(id));
+                } else if (paths.discovered(id)) {
+                    assertTrue(paths.distanceTo(id) >= expected.distanceTo(id));
+                }
+            }
+            previouslySettled = settled;
+        }
+        assertEquals(reachable, pathfinder.settledCount());
+    }
+
+    @DisplayName("WHEN a search records its changes, THEN each batch lists exactly the vertices "
+            + "it newly discovered and settled")
+    @Test
+    void testRecordChanges() {
+        SimpleGraph g = randomGridGraph(30, 30, 10, 7);
+        ShortestPathsTest.assertRecordsChanges(
+                new DeltaSteppingPaths<>(g, new SimpleWeigher(10), 3, ForkJoinPool.commonPool()),
+                0);
+    }
+
+    @DisplayName("WHEN a vertex of interest is set, THEN extending the search returns once it is "
+            + "settled")
+    @Test
+    void testInterest() {
+        SimpleGraph g = randomGridGraph(30, 30, 10, 3);
+        DeltaSteppingPaths<SimpleVertex, SimpleEdge> pathfinder =
+                new DeltaSteppingPaths<>(g, new SimpleWeigher(10), 4, ForkJoinPool.commonPool());
+
+        pathfinder.setStart(0);
+        pathfinder.setInterest(31);
+        PathfindingSnapshot paths = pathfinder.extendSearch(g.vertexCount());
+        assertTrue(pathfinder.interestSettled());
+        assertTrue(paths.settled(31));
+        assertFalse(pathfinder.allPathsFound());
+    }
+
+    @DisplayName("WHEN the graph is disconnected, THEN unreachable vertices are neither discovered "
+            + "nor settled")
+    @Test
+    void testDisconnected() {
+        SimpleGraph g = new SimpleGraph();
+        SimpleVertex a = g.addVertex("A");
+        SimpleVertex b = g.addVertex("B");
+        DeltaSteppingPaths<SimpleVertex, SimpleEdge> pathfinder =
+                new DeltaSteppingPaths<>(g, new SimpleWeigher());
+
+        PathfindingSnapshot paths = pathfinder.findAllPaths(a.id());
+        assertTrue(pathfinder.allPathsFound());
+        assertEquals(0, paths.distanceTo(a.id()));
+        assertEquals(1, pathfinder.settledCount());
+        assertFalse(paths.discovered(b.id()));
+        assertFalse(paths.settled(b.id()));
+    }
+
+    @DisplayName("WHEN constructing a solver with a non-positive bucket width, THEN an "
+            + "IllegalArgumentException is thrown")
+    @Test
+    void testInvalidDelta() {
+        SimpleGraph g = SimpleGraph.fromText(ShortestPathsTest.graph1);
+        assertThrows(IllegalArgumentException.class, () -> new DeltaSteppingPaths<>(g,
+                new SimpleWeigher(), 0, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Assert that `actual` has the same distances as `expected` for every vertex in `g`, and that
+     * each of its predecessors is joined to its vertex by an edge consistent with those distances.
+     */
+    static void assertAgrees(SimpleGraph g, PathfindingSnapshot expected,
+            PathfindingSnapshot actual) {
+        for (int id = 0; id < g.vertexCount(); ++id) {
+            assertEquals(expected.discovered(id), actual.settled(id));
+            assertEquals(expected.distanceTo(id), actual.distanceTo(id));
+        }
+        for (int id = 0; id < g.vertexCount(); ++id) {
+            if (!actual.settled(id) || actual.distanceTo(id) == 0) {
+                continue;
+            }
+            List<Integer> path = actual.pathTo(id);
+            int predecessor = path.get(path.size() - 2);
+            int end = id;
+            assertTrue(g.getVertex(predecessor).outgoingEdges().stream().anyMatch(e ->
+                    e.endId() == end && actual.distanceTo(predecessor) + e.weight()
+                            == actual.distanceTo(end)));
+        }
+    }
+
+    /**
+     * Return a graph whose vertices form a `width` x `height` grid, with random edges (weighing at
+     * most `maxWeight`, including zero) between horizontal and vertical neighbors.  Some edges are
+     * one-way and some vertices are unreachable.  `seed` determines the random choices.
+     */
+    static SimpleGraph randomGridGraph(int width, int height, int maxWeight, int seed) {
+        Random rng = new Random(seed);
+        SimpleGraph g = new SimpleGraph();
+        for (int id = 0; id < width * height; ++id) {
+            g.addVertex(Integer.toString(id));
+        }
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                int id = y * width + x;
+                int[] neighbors = {(x + 1 < width) ? id + 1 : -1,
+                        (y + 1 < height) ? id + width : -1};
+                for (int neighbor : neighbors) {
+                    if (neighbor < 0 || rng.nextInt(20) == 0) {
+                        continue;
+                    }
+                    g.addEdge(id, neighbor, rng.nextInt(maxWeight + 1));
+                    if (rng.nextInt(10) != 0) {
+                        g.addEdge(neighbor, id, rng.nextInt(maxWeight + 1));
+                    }
+                }
+            }
+        }
+        return g;
+    }
+}
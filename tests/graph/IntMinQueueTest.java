@@ -0,0 +1,126 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IntMinQueueTest {
+    @DisplayName("WHEN a new IntMinQueue is created, THEN its size will be 0 AND it will be empty "
+            + "AND it will not contain any keys")
+    @Test
+    void testNew() {
+        IntMinQueue q = makeQueue(10);
+
+        assertEquals(0, q.size());
+        assertTrue(q.isEmpty());
+        assertEquals(10, q.capacity());
+        for (int k = 0; k < q.capacity(); ++k) {
+            assertFalse(q.contains(k));
+        }
+    }
+
+    @DisplayName("GIVEN a non-empty IntMinQueue, WHEN it is cleared, THEN its size will be 0 "
+            + "AND it will no longer contain its previous keys")
+    @Test
+    void testClear() {
+        IntMinQueue q = makeQueue(20);
+        for (int i = 0; i < 20; i += 1) {
+            q.addOrUpdate(i, i / 2);
+        }
+
+        q.clear();
+        assertEquals(0, q.size());
+        assertTrue(q.isEmpty());
+        for (int i = 0; i < 20; i += 1) {
+            assertFalse(q.contains(i));
+        }
+
+        // The queue must remain usable after being cleared.
+        q.addOrUpdate(7, 3);
+        assertEquals(7, q.get());
+        assertEquals(3, q.minPriority());
+    }
+
+    @DisplayName("GIVEN an IntMinQueue containing an element x whose priority is the minimum, "
+            + "WHEN x's priority is increased and another's is reduced, THEN the minimum element "
+            + "will reflect both updates")
+    @Test
+    void testUpdate() {
+        IntMinQueue q = makeQueue(20);
+        for (int i = 0; i < 20; i += 1) {
+            q.addOrUpdate(i, i);
+        }
+
+        q.addOrUpdate(0, 10);
+        assertEquals(20, q.size());
+        assertEquals(1, q.get());
+        assertEquals(1, q.minPriority());
+
+        q.addOrUpdate(15, 0);
+        assertEquals(15, q.get());
+        assertEquals(0, q.minPriority());
+    }
+
+    @DisplayName("GIVEN an IntMinQueue, WHEN random keys are added, updated, and removed, THEN its "
+            + "removals will agree in priority order with a reference MinQueue")
+    @Test
+    void testAgainstReference() {
+        int capacity = 200;
+        IntMinQueue q = makeQueue(capacity);
+        MinQueue<Integer> ref = new RefMinQueue<>();
+
+        int seed = 1;
+        Random rng = new Random(seed);
+        for (int i = 0; i < 2000; i += 1) {
+            if (rng.nextInt(3) == 0 && !q.isEmpty()) {
+                assertEquals(ref.minPriority(), q.minPriority());
+                assertEquals(ref.size(), q.size());
+                int removedPriority = q.minPriority();
+                int key = q.remove();
+                assertFalse(q.contains(key));
+                // Ties may be broken differently, so remove the same key from the reference by
+                //  giving it a priority below all others.
+                ref.addOrUpdate(key, Integer.MIN_VALUE);
+                ref.remove();
+                assertTrue(q.isEmpty() || q.minPriority() >= removedPriority);
+            } else {
+                int key = rng.nextInt(capacity);
+                int priority = rng.nextInt(1000);
+                q.addOrUpdate(key, priority);
+                ref.addOrUpdate(key, priority);
+                assertTrue(q.contains(key));
+            }
+        }
+        assertEquals(ref.size(), q.size());
+    }
+
+    @DisplayName("GIVEN an empty IntMinQueue, WHEN attempting to query the next element "
+            + "OR query the minimum priority OR remove the next element "
+            + "THEN a NoSuchElementException will be thrown")
+    @Test
+    void testExceptions() {
+        IntMinQueue q = makeQueue(1);
+
+        assertThrows(NoSuchElementException.class, () -> q.get());
+        assertThrows(NoSuchElementException.class, () -> q.minPriority());
+        assertThrows(NoSuchElementException.class, () -> q.remove());
+
+        q.addOrUpdate(0, 0);
+        q.remove();
+
+        assertThrows(NoSuchElementException.class, () -> q.get());
+        assertThrows(NoSuchElementException.class, () -> q.minPriority());
+        assertThrows(NoSuchElementException.class, () -> q.remove());
+    }
+
+    /**
+     * Helper method for constructing new, empty IntMinQueues that can hold keys in
+     * `[0..capacity)`.  Convenient for testing different implementations.
+     */
+    static IntMinQueue makeQueue(int capacity) {
+        return new IntHeapMinQueue(capacity);
+    }
+}
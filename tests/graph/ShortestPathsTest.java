@@ -107,6 +107,155 @@ class ShortestPathsTest {
         assertArrayEquals(new String[]{"A", "B", "C", "E", "D"}, pathLabels);
     }
 
+    @DisplayName("WHEN the weigher declares a maximum weight, THEN the same shortest paths are found")
+    @Test
+    void testBoundedWeights() {
+        SimpleGraph g = SimpleGraph.fromText(graph1);
+        Weigher<SimpleEdge> w = new SimpleWeigher(37);
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g, w);
+
+        SimpleVertex start = g.getVertexByLabel("A");
+        PathfindingSnapshot paths = pathfinder.findAllPaths(start.id());
+        assertTrue(pathfinder.allPathsFound());
+        assertEquals(g.vertexCount(), pathfinder.settledCount());
+
+        SimpleVertex end = g.getVertexByLabel("G");
+        assertEquals(50, paths.distanceTo(end.id()));
+        String[] pathLabels = paths.pathTo(end.id()).stream()
+                .map(id -> g.getVertex(id).label())
+                .toArray(String[]::new);
+        assertArrayEquals(new String[]{"A", "C", "E", "F", "G"}, pathLabels);
+    }
+
+    @DisplayName("WHEN the graph can be compiled, THEN the same shortest paths are found using its "
+            + "compact form")
+    @Test
+    void testCompilableGraph() {
+        CompilableSimpleGraph g = new CompilableSimpleGraph(SimpleGraph.fromText(graph2));
+        Weigher<SimpleEdge> w = new SimpleWeigher();
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g, w);
+
+        PathfindingSnapshot paths = pathfinder.findAllPaths(g.getVertexByLabel("A").id());
+        assertTrue(g.compiled);
+        assertEquals(4, paths.distanceTo(g.getVertexByLabel("D").id()));
+        String[] pathLabels = paths.pathTo(g.getVertexByLabel("D").id()).stream()
+                .map(id -> g.getVertex(id).label())
+                .toArray(String[]::new);
+        assertArrayEquals(new String[]{"A", "B", "C", "E", "D"}, pathLabels);
+    }
+
+    @DisplayName("WHEN a solver is given only a compact graph, THEN the same shortest paths are "
+            + "found")
+    @Test
+    void testCompactGraph() {
+        SimpleGraph g = SimpleGraph.fromText(graph2);
+        CompactGraph compact = new CompilableSimpleGraph(g).compile(new SimpleWeigher());
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(compact,
+                new SimpleWeigher().maxWeight());
+
+        assertEquals(g.vertexCount(), pathfinder.vertexCount());
+        PathfindingSnapshot paths = pathfinder.findAllPaths(g.getVertexByLabel("A").id());
+        assertEquals(4, paths.distanceTo(g.getVertexByLabel("D").id()));
+        String[] pathLabels = paths.pathTo(g.getVertexByLabel("D").id()).stream()
+                .map(id -> g.getVertex(id).label())
+                .toArray(String[]::new);
+        assertArrayEquals(new String[]{"A", "B", "C", "E", "D"}, pathLabels);
+    }
+
+    @DisplayName("GIVEN a grid whose compact form has fixed neighbor offsets, WHEN all shortest "
+            + "paths are found, THEN they agree with those found without the offsets")
+    @Test
+    void testNeighborOffsets() {
+        int width = 25;
+        SimpleGraph g = DeltaSteppingPathsTest.randomGridGraph(width, 20, 10, 5);
+        CompactGraph compact = new CompilableSimpleGraph(g).compile(new SimpleWeigher(10));
+        CompactGraph grid = new CompactGraph() {
+            @Override
+            public int vertexCount() {
+                return compact.vertexCount();
+            }
+
+            @Override
+            public void forEachNeighbor(int id, NeighborVisitor visitor) {
+                compact.forEachNeighbor(id, visitor);
+            }
+
+            @Override
+            public int[] neighborOffsets() {
+                return new int[]{1, -width, -1, width};
+            }
+        };
+
+        for (int startId : new int[]{0, 260, g.vertexCount() - 1}) {
+            PathfindingSnapshot expected = new ShortestPaths<>(compact, 10).findAllPaths(startId);
+            PathfindingSnapshot actual = new ShortestPaths<>(grid, 10).findAllPaths(startId);
+            for (int id = 0; id < g.vertexCount(); ++id) {
+                assertEquals(expected.distanceTo(id), actual.distanceTo(id));
+                if (expected.settled(id)) {
+                    assertEquals(expected.pathTo(id), actual.pathTo(id));
+                }
+            }
+        }
+    }
+
+    @DisplayName("WHEN a path to a single target is requested, THEN the search stops once that "
+            + "target is settled AND its shortest path is found AND the search cannot be extended")
+    @Test
+    void testFindPath() {
+        SimpleGraph g = SimpleGraph.fromText(graph1);
+        Weigher<SimpleEdge> w = new SimpleWeigher(37);
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g, w);
+
+        // A zero heuristic is consistent for any graph
+        SimpleVertex start = g.getVertexByLabel("A");
+        SimpleVertex end = g.getVertexByLabel("E");
+        PathfindingSnapshot paths = pathfinder.findPath(start.id(), end.id(), id -> 0);
+        assertTrue(paths.settled(end.id()));
+        assertEquals(31, paths.distanceTo(end.id()));
+        String[] pathLabels = paths.pathTo(end.id()).stream()
+                .map(id -> g.getVertex(id).label())
+                .toArray(String[]::new);
+        assertArrayEquals(new String[]{"A", "C", "E"}, pathLabels);
+
+        // "G" is farther than "E", so it should not have been settled
+        assertFalse(paths.settled(g.getVertexByLabel("G").id()));
+        assertTrue(pathfinder.settledCount() < g.vertexCount());
+        assertFalse(pathfinder.allPathsFound());
+        assertThrows(IllegalStateException.class, () -> pathfinder.extendSearch(1));
+    }
+
+    @DisplayName("WHEN a path is found by searching from both ends, THEN it is a shortest path "
+            + "AND every vertex along it is settled")
+    @Test
+    void testFindPathBidirectional() {
+        SimpleGraph g = SimpleGraph.fromText(graph2);
+        Weigher<SimpleEdge> w = new SimpleWeigher();
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g, w);
+        // Edges are undirected, so the reverse search may use the same graph
+        ShortestPaths<SimpleVertex, SimpleEdge> reverse = new ShortestPaths<>(g, w);
+
+        SimpleVertex start = g.getVertexByLabel("A");
+        SimpleVertex end = g.getVertexByLabel("D");
+        PathfindingSnapshot paths = pathfinder.findPathBidirectional(start.id(), end.id(),
+                reverse);
+        assertEquals(4, paths.distanceTo(end.id()));
+        List<Integer> path = paths.pathTo(end.id());
+        String[] pathLabels = path.stream()
+                .map(id -> g.getVertex(id).label())
+                .toArray(String[]::new);
+        assertArrayEquals(new String[]{"A", "B", "C", "E", "D"}, pathLabels);
+        int[] expectedDistances = {0, 1, 2, 3, 4};
+        for (int i = 0; i < path.size(); ++i) {
+            assertTrue(paths.settled(path.get(i)));
+            assertEquals(expectedDistances[i], paths.distanceTo(path.get(i)));
+        }
+
+        // The solvers can be reused, including for trivial queries
+        paths = pathfinder.findPathBidirectional(end.id(), end.id(), reverse);
+        assertEquals(0, paths.distanceTo(end.id()));
+        assertEquals(List.of(end.id()), paths.pathTo(end.id()));
+    }
+
     @DisplayName("WHEN the graph is disconnected")
     @Test
     void testDisconnected() {
@@ -129,6 +278,33 @@ class ShortestPathsTest {
         assertFalse(paths.settled(b.id()));
     }
 
+    @DisplayName("GIVEN a weigher whose bounds do not rule out overflow, WHEN a path's weight does "
+            + "not fit in an int, THEN the search throws instead of reporting a wrong distance")
+    @Test
+    void testDistanceOverflow() {
+        SimpleGraph g = SimpleGraph.fromText("""
+            A -> B 2000000000
+            B -> C 2000000000""");
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g,
+                new SimpleWeigher());
+
+        assertThrows(ArithmeticException.class,
+                () -> pathfinder.findAllPaths(g.getVertexByLabel("A").id()));
+    }
+
+    @DisplayName("WHEN a weigher's minimum weight exceeds its maximum, THEN no solver can be created")
+    @Test
+    void testInvalidWeightBounds() {
+        SimpleGraph g = SimpleGraph.fromText(graph1);
+        Weigher<SimpleEdge> w = new SimpleWeigher(3) {
+            @Override
+            public int minWeight() {
+                return 5;
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> new ShortestPaths<>(g, w));
+    }
+
     @DisplayName("Extending a search should not settle more than the specified number of vertices")
     @Test
     void testExtendSearch() {
@@ -153,6 +329,161 @@ class ShortestPathsTest {
         assertEquals(g.vertexCount(), pathfinder.settledCount());
         assertTrue(pathfinder.allPathsFound());
     }
+
+    @DisplayName("WHEN a vertex of interest is set, THEN extending the search stops as soon as it "
+            + "is settled AND its shortest path is known")
+    @Test
+    void testInterest() {
+        SimpleGraph g = SimpleGraph.fromText(graph1);
+        Weigher<SimpleEdge> w = new SimpleWeigher();
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g, w);
+
+        pathfinder.setStart(g.getVertexByLabel("A").id());
+        SimpleVertex e = g.getVertexByLabel("E");
+        pathfinder.setInterest(e.id());
+        assertFalse(pathfinder.interestSettled());
+
+        // A, B, C, D, and E are settled in that order
+        PathfindingSnapshot paths = pathfinder.extendSearch(g.vertexCount());
+        assertTrue(pathfinder.interestSettled());
+        assertEquals(5, pathfinder.settledCount());
+        assertEquals(31, paths.distanceTo(e.id()));
+        assertFalse(pathfinder.allPathsFound());
+
+        // Changing the starting point clears the interest
+        pathfinder.setStart(e.id());
+        assertFalse(pathfinder.interestSettled());
+    }
+
+    @DisplayName("GIVEN a solver reused for many searches, WHEN all paths are found from a new "
+            + "starting point, THEN no results from earlier searches remain")
+    @Test
+    void testReuse() {
+        SimpleGraph g = DeltaSteppingPathsTest.randomGridGraph(20, 20, 10, 4);
+        Weigher<SimpleEdge> w = new SimpleWeigher(10);
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g, w);
+
+        for (int startId = 0; startId < g.vertexCount(); startId += 37) {
+            // Leave some searches unfinished, and some stopped early at a target.
+            pathfinder.setStart(startId);
+            pathfinder.extendSearch(startId % 100);
+            pathfinder.findPath(startId, g.vertexCount() - 1 - startId, id -> 0);
+
+            PathfindingSnapshot expected = new ShortestPaths<>(g, w).findAllPaths(startId);
+            PathfindingSnapshot actual = pathfinder.findAllPaths(startId);
+            for (int id = 0; id < g.vertexCount(); ++id) {
+                assertEquals(expected.discovered(id), actual.discovered(id));
+                assertEquals(expected.settled(id), actual.settled(id));
+                assertEquals(expected.distanceTo(id), actual.distanceTo(id));
+            }
+        }
+    }
+
+    @DisplayName("GIVEN all shortest paths from a starting point, WHEN the start is moved, THEN the "
+            + "repaired paths agree with those found from scratch AND fewer vertices are searched "
+            + "again when the start moves only slightly")
+    @Test
+    void testMoveStart() {
+        int width = 40;
+        SimpleGraph g = DeltaSteppingPathsTest.randomGridGraph(width, 40, 10, 6);
+        Weigher<SimpleEdge> w = new SimpleWeigher(10);
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g, w);
+
+        // Includes moves to the same vertex, to neighbors, across the grid, and to vertices from
+        //  which the old start may be unreachable.
+        int[] starts = {820, 820, 821, 861, 860, 0, 1599, 1598, 40, 820};
+        pathfinder.findAllPaths(starts[0]);
+        for (int i = 1; i < starts.length; ++i) {
+            PathfindingSnapshot expected = new ShortestPaths<>(g, w).findAllPaths(starts[i]);
+            PathfindingSnapshot actual = pathfinder.moveStart(starts[i]);
+            assertEquals(starts[i], actual.start());
+            assertTrue(pathfinder.allPathsFound());
+            DeltaSteppingPathsTest.assertAgrees(g, expected, actual);
+        }
+
+        pathfinder.findAllPaths(820);
+        int reachable = pathfinder.settledCount();
+        pathfinder.moveStart(821);
+        assertEquals(reachable, pathfinder.settledCount());
+
+        // Paths copied from another solver can be repaired without disturbing the original
+        PathfindingSnapshot original = pathfinder.findAllPaths(820);
+        ShortestPaths<SimpleVertex, SimpleEdge> copy = new ShortestPaths<>(g, w);
+        copy.copyPaths(pathfinder);
+        DeltaSteppingPathsTest.assertAgrees(g, new ShortestPaths<>(g, w).findAllPaths(861),
+                copy.moveStart(861));
+        DeltaSteppingPathsTest.assertAgrees(g, new ShortestPaths<>(g, w).findAllPaths(820),
+                original);
+
+        // Moving the start of an unfinished search is not supported
+        pathfinder.setStart(0);
+        assertThrows(IllegalStateException.class, () -> pathfinder.moveStart(1));
+    }
+
+    @DisplayName("WHEN a search records its changes, THEN each batch lists exactly the vertices "
+            + "it newly discovered and settled")
+    @Test
+    void testRecordChanges() {
+        SimpleGraph g = DeltaSteppingPathsTest.randomGridGraph(30, 30, 10, 7);
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder =
+                new ShortestPaths<>(g, new SimpleWeigher(10));
+        // Reusing the solver must not disturb the recorded changes
+        assertRecordsChanges(pathfinder, 0);
+        assertRecordsChanges(pathfinder, 465);
+    }
+
+    /**
+     * Assert that, when `pathfinder` searches from the vertex with ID `startId` in batches, the
+     * changes it records for each batch are exactly the vertices whose statuses changed.
+     */
+    static void assertRecordsChanges(IncrementalPathfinder pathfinder, int startId) {
+        boolean[] discovered = new boolean[pathfinder.vertexCount()];
+        boolean[] settled = new boolean[pathfinder.vertexCount()];
+        SearchDelta changes = new SearchDelta();
+        pathfinder.recordChanges(changes);
+        pathfinder.setStart(startId);
+        while (!pathfinder.allPathsFound()) {
+            PathfindingSnapshot paths = pathfinder.extendSearch(50);
+            for (int i = 0; i < changes.discoveredCount(); ++i) {
+                assertFalse(discovered[changes.discoveredId(i)]);
+                discovered[changes.discoveredId(i)] = true;
+            }
+            for (int i = 0; i < changes.settledCount(); ++i) {
+                assertFalse(settled[changes.settledId(i)]);
+                settled[changes.settledId(i)] = true;
+            }
+            for (int id = 0; id < pathfinder.vertexCount(); ++id) {
+                assertEquals(paths.discovered(id), discovered[id]);
+                assertEquals(paths.settled(id), settled[id]);
+            }
+            changes = new SearchDelta();
+            pathfinder.recordChanges(changes);
+        }
+        pathfinder.recordChanges(null);
+    }
+
+    @DisplayName("A snapshot should not reflect progress made after it was taken")
+    @Test
+    void testSnapshotUnaffectedByLaterProgress() {
+        SimpleGraph g = SimpleGraph.fromText(graph1);
+        Weigher<SimpleEdge> w = new SimpleWeigher();
+        ShortestPaths<SimpleVertex, SimpleEdge> pathfinder = new ShortestPaths<>(g, w);
+
+        // After settling only "A", its neighbors are discovered but nothing else is
+        pathfinder.setStart(g.getVertexByLabel("A").id());
+        PathfindingSnapshot early = pathfinder.extendSearch(1);
+        pathfinder.extendSearch(g.vertexCount());
+        assertTrue(pathfinder.allPathsFound());
+
+        SimpleVertex c = g.getVertexByLabel("C");
+        SimpleVertex g1 = g.getVertexByLabel("G");
+        assertTrue(early.settled(g.getVertexByLabel("A").id()));
+        assertTrue(early.discovered(c.id()));
+        assertFalse(early.settled(c.id()));
+        assertFalse(early.discovered(g1.id()));
+        assertFalse(early.settled(g1.id()));
+        assertEquals(-1, early.distanceTo(g1.id()));
+    }
 }
 
 /*
@@ -224,6 +555,44 @@ class SimpleGraph implements Graph<SimpleVertex> {
     }
 }
 
+/**
+ * A SimpleGraph that also offers a compact form, in order to exercise pathfinders' allocation-free
+ * code paths.  Records whether it has been compiled.
+ */
+class CompilableSimpleGraph extends SimpleGraph implements CompilableGraph<SimpleEdge> {
+
+    boolean compiled = false;
+
+    CompilableSimpleGraph(SimpleGraph g) {
+        for (int id = 0; id < g.vertexCount(); ++id) {
+            addVertex(g.getVertex(id).label());
+        }
+        for (int id = 0; id < g.vertexCount(); ++id) {
+            for (SimpleEdge e : g.getVertex(id).outgoingEdges()) {
+                addEdge(e.startId(), e.endId(), e.weight());
+            }
+        }
+    }
+
+    @Override
+    public CompactGraph compile(Weigher<SimpleEdge> weigher) {
+        compiled = true;
+        return new CompactGraph() {
+            @Override
+            public int vertexCount() {
+                return CompilableSimpleGraph.this.vertexCount();
+            }
+
+            @Override
+            public void forEachNeighbor(int id, NeighborVisitor visitor) {
+                for (SimpleEdge e : getVertex(id).outgoingEdges()) {
+                    visitor.visit(e.endId(), weigher.weight(e));
+                }
+            }
+        };
+    }
+}
+
 record SimpleVertex(int id, String label, Set<SimpleEdge> outgoingEdges)
         implements Vertex<SimpleEdge> {
 
@@ -235,8 +604,26 @@ record SimpleEdge(int startId, int endId, int weight) implements Edge {
 
 class SimpleWeigher implements Weigher<SimpleEdge> {
 
+    private final int maxWeight;
+
+    SimpleWeigher() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a weigher that declares `maxWeight` as an upper bound on its edges' weights.
+     */
+    SimpleWeigher(int maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
     @Override
     public int weight(SimpleEdge edge) {
         return edge.weight();
     }
+
+    @Override
+    public int maxWeight() {
+        return maxWeight;
+    }
 }
@@ -0,0 +1,124 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static scissors.FeaturePipelineTest.BAND_POOL;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for `CompositeWeigher`, checking its weight plane against the weights it computes
+ * per edge.
+ */
+class CompositeWeigherTest {
+
+    /**
+     * Return an RGB image of size `width` x `height` showing a bright disk on a dark background,
+     * overlaid with noise drawn from a generator seeded with `seed`, so that it has both sharp
+     * boundaries and gradients in every direction.
+     */
+    static BufferedImage diskImage(int width, int height, long seed) {
+        Random rng = new Random(seed);
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        double radius = Math.min(width, height) / 3.0;
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                boolean inside = Math.hypot(x - width / 2.0, y - height / 2.0) < radius;
+                int base = inside ? 200 : 40;
+                int r = Math.clamp(base + rng.nextInt(31) - 15, 0, 255);
+                int g = Math.clamp(base / 2 + x % 17 + rng.nextInt(11) - 5, 0, 255);
+                int b = Math.clamp(255 - base + rng.nextInt(21) - 10, 0, 255);
+                img.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return img;
+    }
+
+    /**
+     * Assert that every edge of `graph` weighs the same in `plane` as according to `weigher`, and
+     * that `plane`'s lower bounds on straight and diagonal weights are the smallest such weights.
+     */
+    static void assertPlaneMatches(ImageGraph graph, ScissorsWeights.PixelWeigher weigher,
+            WeightPlane plane) {
+        int width = graph.width();
+        int height = graph.height();
+        assertEquals(width, plane.width());
+        assertEquals(height, plane.height());
+        int minStraight = Integer.MAX_VALUE;
+        int minDiagonal = Integer.MAX_VALUE;
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                for (int dir = 0; dir < 8; ++dir) {
+                    int nx = x + CompiledImageGraph.DX[dir];
+                    int ny = y + CompiledImageGraph.DY[dir];
+                    if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                        continue;
+                    }
+                    int expected = weigher.weight(x, y, dir);
+                    assertEquals(expected, plane.weight(x, y, dir),
+                            "Edge from (" + x + ", " + y + ") in direction " + dir);
+                    if (dir % 2 == 0) {
+                        minStraight = Math.min(minStraight, expected);
+                    } else {
+                        minDiagonal = Math.min(minDiagonal, expected);
+                    }
+                }
+            }
+        }
+        assertEquals(minStraight, plane.minStraightWeight());
+        assertEquals(minDiagonal, plane.minDiagonalWeight());
+    }
+
+    @DisplayName("GIVEN a small image whose dimensions differ, WHEN a composite weigher's plane is "
+            + "computed, THEN every edge weighs the same in the plane as according to the weigher")
+    @Test
+    void testPlaneMatchesWeightsSmall() {
+        ImageGraph graph = new ImageGraph(diskImage(37, 23, 1));
+        CompositeWeigher weigher = new CompositeWeigher(graph, BAND_POOL);
+        assertPlaneMatches(graph, weigher, weigher.plane());
+    }
+
+    @DisplayName("GIVEN an image large enough to be computed in several bands, WHEN a composite "
+            + "weigher's plane is computed, THEN every edge weighs the same in the plane as "
+            + "according to the weigher")
+    @Test
+    void testPlaneMatchesWeightsBanded() {
+        int width = 97;
+        int height = 3 * FeaturePipeline.BAND_PIXELS / width + 11;
+        ImageGraph graph = new ImageGraph(diskImage(width, height, 2));
+        CompositeWeigher weigher = new CompositeWeigher(graph, BAND_POOL);
+        assertPlaneMatches(graph, weigher, weigher.plane());
+    }
+
+    @DisplayName("GIVEN custom feature weights, WHEN a composite weigher's plane is computed, THEN "
+            + "every edge weighs the same in the plane as according to the weigher")
+    @Test
+    void testPlaneMatchesWeightsCustom() {
+        ImageGraph graph = new ImageGraph(diskImage(40, 31, 3));
+        CompositeWeigher weigher = new CompositeWeigher(graph, BAND_POOL, 0.2, 0.3, 0.5);
+        assertPlaneMatches(graph, weigher, weigher.plane());
+    }
+
+    @DisplayName("WHEN feature weights are negative or sum to more than 1, THEN an "
+            + "IllegalArgumentException is thrown")
+    @Test
+    void testInvalidFeatureWeights() {
+        ImageGraph graph = new ImageGraph(diskImage(4, 4, 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompositeWeigher(graph, BAND_POOL, -0.1, 0.5, 0.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompositeWeigher(graph, BAND_POOL, 0.5, 0.5, 0.5));
+    }
+
+    @DisplayName("WHEN the capacity of a weight plane too large for an array is requested, THEN "
+            + "an IllegalArgumentException is thrown instead of a wrapped-around size")
+    @Test
+    void testCapacityOverflow() {
+        assertEquals(WeightPlane.SLOTS * 300 * 200, WeightPlane.capacity(300, 200));
+        assertThrows(IllegalArgumentException.class, () -> WeightPlane.capacity(30000, 30000));
+        assertThrows(IllegalArgumentException.class,
+                () -> WeightPlane.capacity(1 << 16, 1 << 16));
+    }
+}
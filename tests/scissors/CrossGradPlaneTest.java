@@ -0,0 +1,147 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import scissors.ScissorsWeights.CrossGradWeigher;
+
+/**
+ * A test suite for `ScissorsWeights.crossGradPlane()` and the row loops of `CrossGradRows` it is
+ * built from, checking every edge against the `CrossGradWeigher`s it stands in for.
+ */
+class CrossGradPlaneTest {
+
+    /**
+     * Image sizes to test: single pixels, rows, and columns, images 1 or 2 pixels wide or tall
+     * (where every pixel is on the border), and images wider than any vector with rows that leave
+     * a partial vector over.
+     */
+    private static final int[][] SIZES = {
+            {1, 1}, {1, 6}, {6, 1}, {2, 2}, {2, 9}, {9, 2}, {3, 3}, {1, 40}, {40, 1}, {2, 40},
+            {40, 2}, {37, 23}, {64, 5}, {67, 4}};
+
+    /**
+     * Return an RGB image of size `width` x `height` whose samples are drawn from a generator
+     * seeded with `seed`, so that its gradients span their whole range.
+     */
+    private static BufferedImage noiseImage(int width, int height, long seed) {
+        Random rng = new Random(seed);
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                img.setRGB(x, y, rng.nextInt(1 << 24));
+            }
+        }
+        return img;
+    }
+
+    /**
+     * Assert that every edge of `plane`, in every direction whose neighbor is in the image, has the
+     * weight `weigher` gives it, and that the plane's minimum weights are those of
+     * `WeightPlane.build()`.
+     */
+    private static void assertEveryEdge(ImageGraph graph, CrossGradWeigher weigher,
+            WeightPlane plane, String description) {
+        int width = graph.width();
+        int height = graph.height();
+        assertEquals(width, plane.width());
+        assertEquals(height, plane.height());
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                for (int dir = 0; dir < 8; ++dir) {
+                    int nx = x + CompiledImageGraph.DX[dir];
+                    int ny = y + CompiledImageGraph.DY[dir];
+                    if (nx >= 0 && nx < width && ny >= 0 && ny < height) {
+                        assertEquals(weigher.weight(x, y, dir), plane.weight(x, y, dir),
+                                description + ": edge from (" + x + ", " + y + ") in direction "
+                                        + dir);
+                    }
+                }
+            }
+        }
+        WeightPlane built = WeightPlane.build(graph, weigher, ScissorsWeights.MAX_WEIGHT);
+        assertEquals(built.minStraightWeight(), plane.minStraightWeight(), description);
+        assertEquals(built.minDiagonalWeight(), plane.minDiagonalWeight(), description);
+    }
+
+    @DisplayName("GIVEN images from a single pixel up, including ones 1 or 2 pixels wide or tall, "
+            + "WHEN the plane of a `CrossGradMonoWeight` or `LuminanceGradientWeigher` is "
+            + "computed row by row, THEN every edge, including those along the border rows and "
+            + "columns, has the weigher's weight, AND the plane's minimum weights are the "
+            + "weigher's")
+    @Test
+    void testEveryEdge() {
+        for (int[] size : SIZES) {
+            ImageGraph graph = new ImageGraph(noiseImage(size[0], size[1],
+                    size[0] * 100L + size[1]));
+            String description = size[0] + "x" + size[1];
+            CrossGradWeigher mono = new ScissorsWeights.CrossGradMonoWeight(graph);
+            assertEveryEdge(graph, mono, ScissorsWeights.crossGradPlane(mono.intensities()),
+                    description + " CrossGradMono");
+            CrossGradWeigher luminance = new ScissorsWeights.LuminanceGradientWeigher(graph);
+            assertEveryEdge(graph, luminance,
+                    ScissorsWeights.crossGradPlane(luminance.intensities()),
+                    description + " LuminanceGradient");
+        }
+    }
+
+    @DisplayName("GIVEN a uniform image, WHEN its plane is computed, THEN edges along the border "
+            + "rows and columns weigh the border weight, AND every other edge weighs its full "
+            + "reward")
+    @Test
+    void testUniformBorder() {
+        int width = 19;
+        int height = 4;
+        ImageGraph graph = new ImageGraph(new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_RGB));
+        WeightPlane plane = ScissorsWeights.crossGradPlane(
+                new ScissorsWeights.CrossGradMonoWeight(graph).intensities());
+        int border = ScissorsWeights.STRAIGHT_REWARD - ScissorsWeights.BORDER_GRADIENT;
+        for (int x = 0; x < width - 1; ++x) {
+            assertEquals(border, plane.weight(x, 0, 0));
+            assertEquals(border, plane.weight(x, height - 1, 0));
+            assertEquals(ScissorsWeights.STRAIGHT_REWARD, plane.weight(x, 1, 0));
+            assertEquals(ScissorsWeights.DIAGONAL_REWARD, plane.weight(x, 1, 1));
+        }
+        for (int y = 1; y < height; ++y) {
+            assertEquals(border, plane.weight(0, y, 2));
+            assertEquals(border, plane.weight(width - 1, y, 2));
+            assertEquals(ScissorsWeights.STRAIGHT_REWARD, plane.weight(1, y, 2));
+            assertEquals(ScissorsWeights.DIAGONAL_REWARD, plane.weight(1, y, 3));
+        }
+        assertEquals(border, plane.minStraightWeight());
+        assertEquals(ScissorsWeights.DIAGONAL_REWARD, plane.minDiagonalWeight());
+    }
+
+    @DisplayName("GIVEN the Vector API is available, WHEN runs of every length up to several "
+            + "vectors are weighed with it, THEN its weights and minimum match the scalar loops'")
+    @Test
+    void testVectorizedMatchesScalar() {
+        Assumptions.assumeTrue(CrossGradRows.VECTORIZED, "Vector API unavailable");
+        Random rng = new Random(5);
+        int[] s = new int[200];
+        for (int i = 0; i < s.length; ++i) {
+            s[i] = rng.nextInt(256);
+        }
+        for (int length = 0; length <= 70; ++length) {
+            for (int from = 0; from < 3; ++from) {
+                int to = from + length;
+                int[] expected = new int[to];
+                int[] actual = new int[to];
+                assertEquals(CrossGradRows.scalarStraight(s, 100, 101, 2, 3, 180, expected, from,
+                                to, 255),
+                        CrossGradRows.Vectorized.straight(s, 100, 101, 2, 3, 180, actual, from, to,
+                                255));
+                assertArrayEquals(expected, actual, "Straight, length " + length);
+                assertEquals(CrossGradRows.scalarDiagonal(s, 101, 50, 255, expected, from, to,
+                                255),
+                        CrossGradRows.Vectorized.diagonal(s, 101, 50, 255, actual, from, to, 255));
+                assertArrayEquals(expected, actual, "Diagonal, length " + length);
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for the kernels of `FeaturePipeline` and for how it splits planes into bands.
+ */
+class FeaturePipelineTest {
+
+    /**
+     * A pool with several threads, so that bands are computed concurrently even on machines whose
+     * common pool is small.  Shared by the suites of everything built on a pipeline; its workers
+     * are daemon threads, so it never needs shutting down.
+     */
+    static final ForkJoinPool BAND_POOL = new ForkJoinPool(4);
+
+    /**
+     * Return a plane of width `width` whose rows are `rows`, concatenated.
+     */
+    private static PixelPlane plane(int width, int... rows) {
+        return PixelPlane.of(width, rows.length / width, rows);
+    }
+
+    /**
+     * Return a plane of size `width` x `height` whose samples are random 8-bit intensities drawn
+     * from a generator seeded with `seed`.
+     */
+    private static PixelPlane randomPlane(int width, int height, long seed) {
+        Random rng = new Random(seed);
+        int[] samples = new int[width * height];
+        for (int i = 0; i < samples.length; ++i) {
+            samples[i] = rng.nextInt(256);
+        }
+        return PixelPlane.of(width, height, samples);
+    }
+
+    /**
+     * Return the plane computed by running `kernel` over every row of an image of size `width` x
+     * `height` in a single call.
+     */
+    private static int[] computeSequentially(FeaturePipeline.RowKernel kernel, int width,
+            int height) {
+        int[] out = new int[width * height];
+        kernel.computeRows(out, 0, height);
+        return out;
+    }
+
+    @DisplayName("WHEN the Laplacian of a single bright pixel is computed, THEN it is 8 at that "
+            + "pixel and -1 at each of its neighbors, including those whose other neighbors are "
+            + "replicated border pixels")
+    @Test
+    void testLaplacianPoint() {
+        PixelPlane in = plane(3,
+                0, 0, 0,
+                0, 1, 0,
+                0, 0, 0);
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, 3, 3);
+        int[] expected = {
+                -1, -1, -1,
+                -1, 8, -1,
+                -1, -1, -1};
+        assertArrayEquals(expected, pipeline.compute(FeaturePipeline.laplacian(in)).samples());
+    }
+
+    @DisplayName("WHEN the Laplacian of a constant image is computed, THEN it is 0 everywhere")
+    @Test
+    void testLaplacianConstant() {
+        PixelPlane in = plane(4,
+                7, 7, 7, 7,
+                7, 7, 7, 7);
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, 4, 2);
+        assertArrayEquals(new int[8], pipeline.compute(FeaturePipeline.laplacian(in)).samples());
+    }
+
+    @DisplayName("WHEN the Sobel derivatives of a horizontal ramp are computed, THEN the "
+            + "horizontal derivative is 8 times the slope inside the image and half that at its "
+            + "left and right borders, AND the vertical derivative is 0")
+    @Test
+    void testSobelHorizontalRamp() {
+        PixelPlane in = plane(4,
+                0, 1, 2, 3,
+                0, 1, 2, 3,
+                0, 1, 2, 3);
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, 4, 3);
+        int[] expectedX = {
+                4, 8, 8, 4,
+                4, 8, 8, 4,
+                4, 8, 8, 4};
+        assertArrayEquals(expectedX, pipeline.compute(FeaturePipeline.sobelX(in)).samples());
+        assertArrayEquals(new int[12], pipeline.compute(FeaturePipeline.sobelY(in)).samples());
+    }
+
+    @DisplayName("WHEN the Sobel derivatives of a ramp increasing downwards are computed, THEN "
+            + "the vertical derivative is 8 times the slope inside the image and half that at its "
+            + "top and bottom borders, AND the horizontal derivative is 0")
+    @Test
+    void testSobelVerticalRamp() {
+        PixelPlane in = plane(2,
+                0, 0,
+                2, 2,
+                4, 4);
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, 2, 3);
+        int[] expectedY = {
+                8, 8,
+                16, 16,
+                8, 8};
+        assertArrayEquals(expectedY, pipeline.compute(FeaturePipeline.sobelY(in)).samples());
+        assertArrayEquals(new int[6], pipeline.compute(FeaturePipeline.sobelX(in)).samples());
+    }
+
+    @DisplayName("WHEN the magnitude of a gradient is computed, THEN it is the length of the "
+            + "gradient rounded to the nearest integer, regardless of the components' signs")
+    @Test
+    void testMagnitude() {
+        PixelPlane dx = plane(4, 3, -3, 1, 0);
+        PixelPlane dy = plane(4, 4, 4, -1, 0);
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, 4, 1);
+        assertArrayEquals(new int[]{5, 5, 1, 0},
+                pipeline.compute(FeaturePipeline.magnitude(dx, dy)).samples());
+    }
+
+    @DisplayName("WHEN zero-crossings are marked, THEN pixels whose Laplacian is 0, or that are "
+            + "the one closer to 0 of horizontally or vertically neighboring pixels whose "
+            + "Laplacians differ in sign, are marked 0, AND all other pixels are marked 1")
+    @Test
+    void testZeroCrossings() {
+        PixelPlane laplacian = plane(5,
+                5, -3, 2, 0, 4,
+                6, 6, 6, 6, -9);
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, 5, 2);
+        byte[] marks = new byte[10];
+        pipeline.forEachRowBand(FeaturePipeline.zeroCrossings(laplacian, marks));
+        byte[] expected = {
+                1, 0, 0, 0, 0,
+                1, 1, 1, 0, 1};
+        assertArrayEquals(expected, marks);
+    }
+
+    @DisplayName("WHEN a Gaussian kernel is built, THEN it has taps out to 3 standard deviations, "
+            + "AND it is symmetric, peaks at its center, and sums to 1")
+    @Test
+    void testGaussian() {
+        for (double sigma : new double[]{0.2, 1.0, 2.5}) {
+            float[] kernel = FeaturePipeline.gaussian(sigma);
+            int radius = Math.max(1, (int) Math.ceil(3 * sigma));
+            assertEquals(2 * radius + 1, kernel.length);
+            double sum = 0;
+            for (int i = 0; i < kernel.length; ++i) {
+                assertEquals(kernel[i], kernel[kernel.length - 1 - i]);
+                assertTrue(kernel[i] <= kernel[radius]);
+                sum += kernel[i];
+            }
+            assertEquals(1, sum, 1e-6);
+        }
+    }
+
+    @DisplayName("WHEN the rows of a ramp are convolved with a smoothing kernel, THEN the interior "
+            + "of the ramp is unchanged but for the scale, AND the borders are smoothed with "
+            + "replicated border pixels")
+    @Test
+    void testConvolveRows() {
+        PixelPlane in = plane(4,
+                0, 1, 2, 3,
+                8, 8, 8, 8);
+        float[] kernel = {0.25f, 0.5f, 0.25f};
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, 4, 2);
+        int[] expected = {
+                1, 4, 8, 11,
+                32, 32, 32, 32};
+        assertArrayEquals(expected,
+                pipeline.compute(FeaturePipeline.convolveRows(in, kernel, 4)).samples());
+    }
+
+    @DisplayName("WHEN the columns of a ramp are convolved with a smoothing kernel, THEN the "
+            + "interior of the ramp is unchanged but for the scale, AND the borders are smoothed "
+            + "with replicated border pixels")
+    @Test
+    void testConvolveColumns() {
+        PixelPlane in = plane(2,
+                0, 8,
+                1, 8,
+                2, 8,
+                3, 8);
+        float[] kernel = {0.25f, 0.5f, 0.25f};
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, 2, 4);
+        int[] expected = {
+                1, 32,
+                4, 32,
+                8, 32,
+                11, 32};
+        assertArrayEquals(expected,
+                pipeline.compute(FeaturePipeline.convolveColumns(in, kernel, 4)).samples());
+    }
+
+    @DisplayName("GIVEN an image large enough to be split into several bands, WHEN rows are "
+            + "processed in bands, THEN every row is processed exactly once")
+    @Test
+    void testForEachRowBandCoversRows() {
+        int width = 64;
+        int height = 4 * FeaturePipeline.BAND_PIXELS / width + 3;
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, width, height);
+        AtomicIntegerArray visits = new AtomicIntegerArray(height);
+        pipeline.forEachRowBand((beginRow, endRow) -> {
+            assertTrue(endRow - beginRow < height, "Rows were not split into bands");
+            for (int y = beginRow; y < endRow; ++y) {
+                visits.incrementAndGet(y);
+            }
+        });
+        for (int y = 0; y < height; ++y) {
+            assertEquals(1, visits.get(y), "Row " + y);
+        }
+    }
+
+    @DisplayName("GIVEN an image large enough to be split into several bands, WHEN each kernel's "
+            + "plane is computed in parallel bands, THEN it is identical to the plane computed in "
+            + "one sequential pass")
+    @Test
+    void testBandedMatchesSequential() {
+        int width = 61;
+        int height = 3 * FeaturePipeline.BAND_PIXELS / width + 5;
+        PixelPlane in = randomPlane(width, height, 2110);
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, width, height);
+        PixelPlane dx = pipeline.compute(FeaturePipeline.sobelX(in));
+        PixelPlane dy = pipeline.compute(FeaturePipeline.sobelY(in));
+        float[] gaussian = FeaturePipeline.gaussian(2.0);
+        FeaturePipeline.RowKernel[] kernels = {
+                FeaturePipeline.laplacian(in),
+                FeaturePipeline.sobelX(in),
+                FeaturePipeline.sobelY(in),
+                FeaturePipeline.magnitude(dx, dy),
+                FeaturePipeline.convolveRows(in, gaussian, 256),
+                FeaturePipeline.convolveColumns(in, gaussian, 256)};
+        for (FeaturePipeline.RowKernel kernel : kernels) {
+            assertArrayEquals(computeSequentially(kernel, width, height),
+                    pipeline.compute(kernel).samples());
+        }
+
+        PixelPlane laplacian = pipeline.compute(FeaturePipeline.laplacian(in));
+        byte[] sequential = new byte[width * height];
+        FeaturePipeline.zeroCrossings(laplacian, sequential).run(0, height);
+        byte[] banded = new byte[width * height];
+        pipeline.forEachRowBand(FeaturePipeline.zeroCrossings(laplacian, banded));
+        assertArrayEquals(sequential, banded);
+    }
+
+    @DisplayName("WHEN a pipeline is created for an image with more pixels than fit in an array, "
+            + "THEN an IllegalArgumentException is thrown")
+    @Test
+    void testTooLarge() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FeaturePipeline(BAND_POOL, 1 << 16, 1 << 16));
+    }
+}
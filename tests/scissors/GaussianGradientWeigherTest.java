@@ -0,0 +1,83 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static scissors.FeaturePipelineTest.BAND_POOL;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for `GaussianGradientWeigher`, checking its weight plane against the weights it
+ * computes per edge, and its smoothing against a sequential convolution.
+ */
+class GaussianGradientWeigherTest {
+
+    @DisplayName("GIVEN a small image whose dimensions differ, WHEN a Gaussian gradient weigher's "
+            + "plane is computed at a single scale, THEN every edge weighs the same in the plane "
+            + "as according to the weigher")
+    @Test
+    void testPlaneMatchesWeightsOneScale() {
+        ImageGraph graph = new ImageGraph(CompositeWeigherTest.diskImage(37, 23, 5));
+        GaussianGradientWeigher weigher = new GaussianGradientWeigher(graph, BAND_POOL, 1.5);
+        CompositeWeigherTest.assertPlaneMatches(graph, weigher, weigher.plane());
+    }
+
+    @DisplayName("GIVEN an image large enough to be computed in several bands, WHEN a Gaussian "
+            + "gradient weigher's plane is computed at several scales, THEN every edge weighs the "
+            + "same in the plane as according to the weigher")
+    @Test
+    void testPlaneMatchesWeightsSeveralScales() {
+        int width = 83;
+        int height = 3 * FeaturePipeline.BAND_PIXELS / width + 7;
+        ImageGraph graph = new ImageGraph(CompositeWeigherTest.diskImage(width, height, 6));
+        GaussianGradientWeigher weigher = new GaussianGradientWeigher(graph, BAND_POOL, 0.5, 1.0,
+                3.0);
+        CompositeWeigherTest.assertPlaneMatches(graph, weigher, weigher.plane());
+    }
+
+    @DisplayName("GIVEN an image large enough to be split into several bands, WHEN it is smoothed "
+            + "by a separable convolution in parallel bands, THEN the result is identical to "
+            + "convolving it in one sequential pass per direction")
+    @Test
+    void testBandedConvolutionMatchesSequential() {
+        int width = 71;
+        int height = 4 * FeaturePipeline.BAND_PIXELS / width + 3;
+        Random rng = new Random(2110);
+        int[] samples = new int[width * height];
+        for (int i = 0; i < samples.length; ++i) {
+            samples[i] = rng.nextInt(256);
+        }
+        PixelPlane in = PixelPlane.of(width, height, samples);
+        FeaturePipeline pipeline = new FeaturePipeline(BAND_POOL, width, height);
+        for (double sigma : GaussianGradientWeigher.DEFAULT_SIGMAS) {
+            float[] kernel = FeaturePipeline.gaussian(sigma);
+
+            int[] rows = new int[width * height];
+            FeaturePipeline.convolveRows(in, kernel, 256).computeRows(rows, 0, height);
+            int[] sequential = new int[width * height];
+            FeaturePipeline.convolveColumns(PixelPlane.of(width, height, rows), kernel, 1 / 256f)
+                    .computeRows(sequential, 0, height);
+
+            PixelPlane bandedRows = pipeline.compute(FeaturePipeline.convolveRows(in, kernel,
+                    256));
+            assertArrayEquals(rows, bandedRows.samples());
+            PixelPlane banded = pipeline.compute(FeaturePipeline.convolveColumns(bandedRows,
+                    kernel, 1 / 256f));
+            assertArrayEquals(sequential, banded.samples());
+        }
+    }
+
+    @DisplayName("WHEN a weigher is created without scales or with a scale that is not positive, "
+            + "THEN an IllegalArgumentException is thrown")
+    @Test
+    void testInvalidScales() {
+        ImageGraph graph = new ImageGraph(CompositeWeigherTest.diskImage(4, 4, 7));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GaussianGradientWeigher(graph, BAND_POOL, new double[0]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GaussianGradientWeigher(graph, BAND_POOL, 1.0, 0.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GaussianGradientWeigher(graph, BAND_POOL, Double.NaN));
+    }
+}
@@ -0,0 +1,119 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import graph.PathfindingSnapshot;
+import graph.ShortestPaths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for `ImagePyramid`, checking the paths it refines through `CorridorGraph`s against
+ * shortest paths across the whole image.
+ */
+class ImagePyramidTest {
+
+    /**
+     * The weigher our pyramids weigh edges with.
+     */
+    private static final String WEIGHER = "CrossGradMono";
+
+    /**
+     * Return a prepared pyramid of `graph`'s image.
+     */
+    private static ImagePyramid preparedPyramid(ImageGraph graph) {
+        ImagePyramid pyramid = new ImagePyramid(graph, WEIGHER);
+        assertTrue(pyramid.prepare(percent -> {}, () -> false));
+        return pyramid;
+    }
+
+    /**
+     * Assert that `path` is a path in `graph` from the pixel with ID `startId` to the pixel with
+     * ID `targetId` whose consecutive pixels are distinct neighbors and which visits no pixel
+     * twice, and return its total weight under `weights`.
+     */
+    private static long assertValidPath(ImageGraph graph, EdgeWeights weights, List<Integer> path,
+            int startId, int targetId, String description) {
+        assertFalse(path.isEmpty(), description);
+        assertEquals(startId, path.getFirst(), description);
+        assertEquals(targetId, path.getLast(), description);
+        Set<Integer> visited = new HashSet<>();
+        long cost = 0;
+        for (int i = 0; i < path.size(); ++i) {
+            int id = path.get(i);
+            assertTrue(id >= 0 && id < graph.vertexCount(), description + ": pixel " + id);
+            assertTrue(visited.add(id), description + ": pixel " + id + " visited twice");
+            if (i > 0) {
+                ImageVertex from = graph.getVertex(path.get(i - 1));
+                ImageVertex to = graph.getVertex(id);
+                int dx = to.x() - from.x();
+                int dy = to.y() - from.y();
+                int dir = -1;
+                for (int d = 0; d < 8; ++d) {
+                    if (CompiledImageGraph.DX[d] == dx && CompiledImageGraph.DY[d] == dy) {
+                        dir = d;
+                    }
+                }
+                assertTrue(dir >= 0, description + ": step from (" + from.x() + ", " + from.y()
+                        + ") to (" + to.x() + ", " + to.y() + ") is not to a neighbor");
+                cost += weights.weight(from.x(), from.y(), dir);
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Assert that, for each pair of pixels in `endpoints` (given as `{x0, y0, x1, y1}`), the path
+     * that a pyramid of `graph`'s image refines between them is valid and costs no less than the
+     * shortest path between them across the whole image, and that the pyramid's approximate path
+     * joins them.  Also asserts the pyramid has at least `minLevels` levels.
+     */
+    private static void assertRefinedPaths(ImageGraph graph, int minLevels, int[][] endpoints) {
+        ImagePyramid pyramid = preparedPyramid(graph);
+        assertTrue(pyramid.levelCount() >= minLevels, "Only " + pyramid.levelCount() + " levels");
+        EdgeWeights weights = ScissorsWeights.edgeWeights(WEIGHER, graph);
+        ShortestPaths<ImageVertex, ImageEdge> solver = new ShortestPaths<>(graph,
+                ScissorsWeights.makeWeigher(WEIGHER, graph));
+        int width = graph.width();
+        for (int[] e : endpoints) {
+            int startId = ImageVertex.xyToId(e[0], e[1], width);
+            int targetId = ImageVertex.xyToId(e[2], e[3], width);
+            String description = "(" + e[0] + ", " + e[1] + ") to (" + e[2] + ", " + e[3] + ")";
+            PathfindingSnapshot optimal = solver.findAllPaths(startId);
+            List<Integer> refined = pyramid.refinedPath(startId, targetId);
+            long cost = assertValidPath(graph, weights, refined, startId, targetId, description);
+            assertTrue(cost >= optimal.distanceTo(targetId),
+                    description + ": refined path costs " + cost + ", less than the optimum "
+                            + optimal.distanceTo(targetId));
+
+            List<Integer> approximate = pyramid.approximatePath(startId, targetId);
+            assertEquals(startId, approximate.getFirst(), description);
+            assertEquals(targetId, approximate.getLast(), description);
+        }
+    }
+
+    @DisplayName("GIVEN an image with one level below it, WHEN paths are refined between pixels "
+            + "across it, along its border, and from a pixel to itself, THEN each is a valid path "
+            + "between them, AND none costs less than the shortest path across the whole image")
+    @Test
+    void testRefinedPathsTwoLevels() {
+        ImageGraph graph = new ImageGraph(CompositeWeigherTest.diskImage(420, 330, 1));
+        assertRefinedPaths(graph, 2, new int[][]{
+                {5, 5, 400, 300}, {0, 0, 419, 329}, {419, 0, 0, 329}, {0, 100, 419, 100},
+                {210, 20, 210, 310}, {100, 160, 101, 161}, {200, 150, 200, 150}});
+    }
+
+    @DisplayName("GIVEN an image with two levels below it, whose odd dimensions are rounded up "
+            + "when halved, WHEN paths are refined between pixels across it, THEN each is a valid "
+            + "path between them, AND none costs less than the shortest path across the whole "
+            + "image")
+    @Test
+    void testRefinedPathsThreeLevels() {
+        ImageGraph graph = new ImageGraph(CompositeWeigherTest.diskImage(781, 611, 2));
+        assertRefinedPaths(graph, 3, new int[][]{
+                {3, 7, 770, 600}, {780, 610, 0, 0}, {390, 10, 395, 600}, {700, 300, 40, 320}});
+    }
+}
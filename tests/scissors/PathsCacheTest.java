@@ -0,0 +1,164 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import graph.IncrementalPathfinder;
+import graph.PathfindingSnapshot;
+import graph.ShortestPaths;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for `PathsCache`, checking which entries it keeps and that it returns their solvers
+ * to their pool when it lets them go.
+ */
+class PathsCacheTest {
+
+    /**
+     * The pool our tests lease solvers from.  Keeps more idle solvers than any test leases, so its
+     * idle count is the number of leases that have been fully released.
+     */
+    private SolverPool<IncrementalPathfinder> pool;
+
+    @BeforeEach
+    void makePool() {
+        ImageGraph graph = new ImageGraph(new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB));
+        pool = new SolverPool<>(() -> new ShortestPaths<>(graph,
+                ScissorsWeights.makeWeigher("CrossGradMono", graph)), 16);
+    }
+
+    /**
+     * Return paths from the pixel with ID `startId`.  Their distances and predecessors are never
+     * read by the cache.
+     */
+    private static PathfindingSnapshot paths(int startId) {
+        return new PathfindingSnapshot(startId, new int[6], new int[6], new BitSet());
+    }
+
+    /**
+     * Add paths from the pixel with ID `startId` to `cache` under a fresh lease, as a solve does
+     * once it finishes: the solve's own hold on the lease is released after the paths are put.
+     * Returns the lease.
+     */
+    private SolverPool<IncrementalPathfinder>.Lease put(PathsCache cache, int startId) {
+        SolverPool<IncrementalPathfinder>.Lease lease = pool.acquire(1);
+        cache.put(paths(startId), lease);
+        lease.release();
+        return lease;
+    }
+
+    @DisplayName("WHEN a cache is created with a memory budget, THEN its capacity is the number of "
+            + "solvers that fit in that budget")
+    @Test
+    void testCapacity() {
+        assertEquals(3, new PathsCache(100, 30).capacity());
+        assertEquals(1, new PathsCache(30, 30).capacity());
+        assertEquals(0, new PathsCache(29, 30).capacity());
+        assertEquals(Integer.MAX_VALUE, new PathsCache(Long.MAX_VALUE, 1).capacity());
+    }
+
+    @DisplayName("GIVEN a cache with no capacity, WHEN paths are put in it, THEN they are not "
+            + "kept, AND their lease is not retained")
+    @Test
+    void testNoCapacity() {
+        PathsCache cache = new PathsCache(0, 30);
+        put(cache, 1);
+        assertEquals(0, cache.size());
+        assertNull(cache.get(1));
+        assertEquals(1, pool.idleCount());
+    }
+
+    @DisplayName("GIVEN a full cache, WHEN more paths are put in it, THEN the least recently "
+            + "added paths are evicted, AND their solver is returned to its pool, AND the other "
+            + "paths are kept along with their leases")
+    @Test
+    void testEviction() {
+        PathsCache cache = new PathsCache(2, 1);
+        put(cache, 1);
+        put(cache, 2);
+        assertEquals(0, pool.idleCount());
+
+        put(cache, 3);
+        assertEquals(2, cache.size());
+        assertFalse(cache.contains(1));
+        assertNull(cache.get(1));
+        assertEquals(1, pool.idleCount());
+        assertEquals(2, cache.get(2).paths().start());
+        assertEquals(3, cache.get(3).paths().start());
+    }
+
+    @DisplayName("GIVEN a full cache, WHEN its least recently added paths are gotten and then more "
+            + "paths are put in it, THEN the gotten paths are kept, AND the paths that were least "
+            + "recently used instead are evicted")
+    @Test
+    void testPromotionOnHit() {
+        PathsCache cache = new PathsCache(2, 1);
+        put(cache, 1);
+        put(cache, 2);
+        assertNotNull(cache.get(1));
+
+        put(cache, 3);
+        assertTrue(cache.contains(1));
+        assertFalse(cache.contains(2));
+        assertTrue(cache.contains(3));
+    }
+
+    @DisplayName("GIVEN a full cache, WHEN whether it contains some paths is checked, THEN that "
+            + "does not count as a use of them")
+    @Test
+    void testContainsDoesNotPromote() {
+        PathsCache cache = new PathsCache(2, 1);
+        put(cache, 1);
+        put(cache, 2);
+        assertTrue(cache.contains(1));
+
+        put(cache, 3);
+        assertFalse(cache.contains(1));
+        assertTrue(cache.contains(2));
+    }
+
+    @DisplayName("GIVEN a cache holding paths from some pixel, WHEN new paths from the same pixel "
+            + "are put in it, THEN they replace the old paths, AND the old paths' solver is "
+            + "returned to its pool")
+    @Test
+    void testReplace() {
+        PathsCache cache = new PathsCache(2, 1);
+        SolverPool<IncrementalPathfinder>.Lease first = put(cache, 1);
+        SolverPool<IncrementalPathfinder>.Lease second = put(cache, 1);
+        assertEquals(1, cache.size());
+        assertSame(second, cache.get(1).lease());
+        assertEquals(1, pool.idleCount());
+        assertThrows(IllegalStateException.class, first::release);
+    }
+
+    @DisplayName("GIVEN a cache whose paths are also held elsewhere, WHEN they are evicted, THEN "
+            + "their solver is only returned to its pool once the other holder releases it")
+    @Test
+    void testEvictionWhileHeld() {
+        PathsCache cache = new PathsCache(1, 1);
+        SolverPool<IncrementalPathfinder>.Lease lease = put(cache, 1);
+        cache.get(1).lease().retain();
+
+        put(cache, 2);
+        assertFalse(cache.contains(1));
+        assertEquals(0, pool.idleCount());
+        lease.release();
+        assertEquals(1, pool.idleCount());
+    }
+
+    @DisplayName("GIVEN a cache holding several paths, WHEN it is cleared, THEN it is empty, AND "
+            + "every solver is returned to its pool")
+    @Test
+    void testClear() {
+        PathsCache cache = new PathsCache(3, 1);
+        put(cache, 1);
+        put(cache, 2);
+        put(cache, 3);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(3, pool.idleCount());
+    }
+}
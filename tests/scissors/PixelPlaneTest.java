@@ -0,0 +1,210 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for `PixelPlane`, checking the rows it reads straight from rasters' data buffers
+ * against those read through `Raster.getSamples()`.
+ */
+class PixelPlaneTest {
+
+    /**
+     * Image types whose rows `readRow()` reads from their data buffers, followed by types it reads
+     * through `getSamples()` (packed into shorts, and several pixels per byte).
+     */
+    private static final int[] IMAGE_TYPES = {
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_INT_BGR,
+            BufferedImage.TYPE_BYTE_GRAY,
+            BufferedImage.TYPE_USHORT_GRAY,
+            BufferedImage.TYPE_USHORT_565_RGB,
+            BufferedImage.TYPE_BYTE_BINARY};
+
+    /**
+     * Return an image of type `type` and size `width` x `height` whose samples are drawn from a
+     * generator seeded with `seed`, each spanning its band's full range.
+     */
+    private static BufferedImage randomImage(int type, int width, int height, long seed) {
+        Random rng = new Random(seed);
+        BufferedImage img = new BufferedImage(width, height, type);
+        WritableRaster raster = img.getRaster();
+        int[] sampleSizes = raster.getSampleModel().getSampleSize();
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                for (int b = 0; b < raster.getNumBands(); ++b) {
+                    raster.setSample(x, y, b, rng.nextInt(1 << sampleSizes[b]));
+                }
+            }
+        }
+        return img;
+    }
+
+    /**
+     * Assert that every row of every band of `src` read by `readRow()` matches the row read by
+     * `getSamples()`, and that the planes of its bands hold the same samples, scaled to 8 bits if
+     * they are wider.
+     */
+    private static void assertRowsMatch(Raster src, String description) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        int[] expected = new int[width];
+        int[] actual = new int[width];
+        for (int b = 0; b < src.getNumBands(); ++b) {
+            int[] plane = PixelPlane.band(src, b).samples();
+            int shift = Math.max(src.getSampleModel().getSampleSize(b) - 8, 0);
+            for (int y = 0; y < height; ++y) {
+                src.getSamples(src.getMinX(), src.getMinY() + y, width, 1, b, expected);
+                PixelPlane.readRow(src, y, b, actual);
+                String row = description + ", band " + b + ", row " + y;
+                assertArrayEquals(expected, actual, row);
+                for (int x = 0; x < width; ++x) {
+                    assertEquals(expected[x] >>> shift, plane[x + width * y], row);
+                }
+            }
+        }
+    }
+
+    @DisplayName("GIVEN images of the common types, WHEN their rows are read, THEN every band of "
+            + "every row matches what `Raster.getSamples()` reads")
+    @Test
+    void testReadRow() {
+        for (int type : IMAGE_TYPES) {
+            Raster raster = randomImage(type, 23, 11, type).getRaster();
+            assertRowsMatch(raster, "Type " + type);
+        }
+    }
+
+    @DisplayName("GIVEN child rasters that are translated, offset within their parents, and "
+            + "restricted to a reordered subset of bands, WHEN their rows are read, THEN every "
+            + "band of every row matches what `Raster.getSamples()` reads")
+    @Test
+    void testReadRowChild() {
+        for (int type : IMAGE_TYPES) {
+            WritableRaster parent = randomImage(type, 23, 11, 100 + type).getRaster();
+            String description = "Type " + type;
+
+            // Offset within the parent and translated, so the child's minimum coordinates, its
+            //  sample model translation, and its location in the data buffer all differ.
+            WritableRaster child = parent.createWritableChild(3, 2, 17, 8, -40, 25, null);
+            assertRowsMatch(child, description + " child");
+
+            // A child of a child, translated again.
+            Raster grandchild = child.createChild(-38, 27, 9, 5, 7, -3, null);
+            assertRowsMatch(grandchild, description + " grandchild");
+
+            if (parent.getNumBands() > 1) {
+                // Bands in reverse order, so band indices no longer match the parent's.
+                int[] bands = new int[parent.getNumBands()];
+                for (int b = 0; b < bands.length; ++b) {
+                    bands[b] = bands.length - 1 - b;
+                }
+                Raster reordered = parent.createChild(5, 1, 12, 9, 0, 0, bands);
+                assertRowsMatch(reordered, description + " reordered child");
+            }
+        }
+    }
+
+    @DisplayName("GIVEN a translated child raster of an RGB image, WHEN its luminance is "
+            + "computed, THEN it equals the luminance of a copy of the same pixels")
+    @Test
+    void testLuminanceChild() {
+        BufferedImage img = randomImage(BufferedImage.TYPE_3BYTE_BGR, 31, 19, 7);
+        Raster child = img.getRaster().createChild(4, 6, 20, 10, 13, -8, null);
+        BufferedImage copy = img.getSubimage(4, 6, 20, 10);
+        BufferedImage detached = new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB);
+        detached.getGraphics().drawImage(copy, 0, 0, null);
+        assertArrayEquals(PixelPlane.luminance(detached.getRaster()).samples(),
+                PixelPlane.luminance(child).samples());
+    }
+
+    @DisplayName("GIVEN 16-bit gray and RGB images, and 8-bit images of their high bytes, WHEN "
+            + "planes are computed from them, THEN the 16-bit images' planes equal the 8-bit "
+            + "images', AND every weigher weighs every edge of the 16-bit images in range and as "
+            + "it weighs the 8-bit images'")
+    @Test
+    void testSixteenBit() {
+        int width = 21;
+        int height = 13;
+        BufferedImage gray16 = new BufferedImage(width, height, BufferedImage.TYPE_USHORT_GRAY);
+        BufferedImage gray8 = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        ComponentColorModel rgbModel = new ComponentColorModel(
+                ColorSpace.getInstance(ColorSpace.CS_sRGB), false, false, Transparency.OPAQUE,
+                DataBuffer.TYPE_USHORT);
+        BufferedImage rgb16 = new BufferedImage(rgbModel,
+                rgbModel.createCompatibleWritableRaster(width, height), false, null);
+        BufferedImage rgb8 = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Random rng = new Random(16);
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                int high = rng.nextInt(256);
+                gray16.getRaster().setSample(x, y, 0, (high << 8) | rng.nextInt(256));
+                gray8.getRaster().setSample(x, y, 0, high);
+                for (int b = 0; b < 3; ++b) {
+                    high = rng.nextInt(256);
+                    rgb16.getRaster().setSample(x, y, b, (high << 8) | rng.nextInt(256));
+                    rgb8.getRaster().setSample(x, y, b, high);
+                }
+            }
+        }
+
+        assertArrayEquals(PixelPlane.band(gray8.getRaster(), 0).samples(),
+                PixelPlane.band(gray16.getRaster(), 0).samples());
+        assertArrayEquals(PixelPlane.luminance(rgb8.getRaster()).samples(),
+                PixelPlane.luminance(rgb16.getRaster()).samples());
+        assertArrayEquals(PixelPlane.combine(rgb8.getRaster(), new float[]{0.5f, 0.25f}).samples(),
+                PixelPlane.combine(rgb16.getRaster(), new float[]{0.5f, 0.25f}).samples());
+
+        BufferedImage[][] pairs = {{gray16, gray8}, {rgb16, rgb8}};
+        for (BufferedImage[] pair : pairs) {
+            ImageGraph wide = new ImageGraph(pair[0]);
+            ImageGraph narrow = new ImageGraph(pair[1]);
+            for (String name : ScissorsWeights.weightNames()) {
+                if (name.equals("LuminanceGradient") && pair[0].getRaster().getNumBands() < 3) {
+                    // Luminance is only defined for color images.
+                    continue;
+                }
+                ScissorsWeights.PixelWeigher wideWeigher = ScissorsWeights.makePixelWeigher(name,
+                        wide);
+                ScissorsWeights.PixelWeigher narrowWeigher = ScissorsWeights.makePixelWeigher(
+                        name, narrow);
+                for (int y = 1; y < height - 1; ++y) {
+                    for (int x = 1; x < width - 1; ++x) {
+                        for (int dir = 0; dir < 8; ++dir) {
+                            String edge = name + " " + pair[0].getRaster().getNumBands()
+                                    + "-band edge from (" + x + ", " + y + ") in direction " + dir;
+                            int w = wideWeigher.weight(x, y, dir);
+                            assertTrue(w >= 0 && w <= ScissorsWeights.MAX_WEIGHT, edge + ": " + w);
+                            assertEquals(narrowWeigher.weight(x, y, dir), w, edge);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @DisplayName("WHEN a plane is requested for a band a raster does not have, or a combination "
+            + "with more coefficients than the raster has bands, THEN an "
+            + "IllegalArgumentException is thrown")
+    @Test
+    void testInvalidBands() {
+        Raster raster = randomImage(BufferedImage.TYPE_BYTE_GRAY, 4, 3, 8).getRaster();
+        assertThrows(IllegalArgumentException.class, () -> PixelPlane.band(raster, 1));
+        assertThrows(IllegalArgumentException.class, () -> PixelPlane.band(raster, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PixelPlane.combine(raster, new float[]{1, 1}));
+    }
+}
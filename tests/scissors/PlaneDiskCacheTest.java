@@ -0,0 +1,209 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A test suite for `PlaneDiskCache`, storing planes in a temporary directory.
+ */
+class PlaneDiskCacheTest {
+
+    /**
+     * The directory our caches store their files in; emptied before each test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Return a plane of size `width` x `height` whose weights are drawn from a generator seeded with
+     * `seed`.
+     */
+    private static WeightPlane randomPlane(int width, int height, long seed) {
+        Random rng = new Random(seed);
+        byte[] weights = new byte[WeightPlane.capacity(width, height)];
+        for (int i = 0; i < weights.length; ++i) {
+            weights[i] = (byte) rng.nextInt(ScissorsWeights.MAX_WEIGHT + 1);
+        }
+        return new WeightPlane(width, height, weights, ScissorsWeights.MAX_WEIGHT,
+                rng.nextInt(10), rng.nextInt(10));
+    }
+
+    /**
+     * Return the size of the file that stores a plane of size `width` x `height`.
+     */
+    private static long fileSize(int width, int height) {
+        return PlaneDiskCache.HEADER_INTS * Integer.BYTES + WeightPlane.capacity(width, height);
+    }
+
+    /**
+     * Return the file in which our caches store the plane with key `key`.
+     */
+    private Path fileFor(String key) {
+        return directory.resolve(key + ".plane");
+    }
+
+    /**
+     * Assert that `actual` has the same dimensions, bounds, and weights as `expected`.
+     */
+    private static void assertSamePlane(WeightPlane expected, WeightPlane actual) {
+        assertNotNull(actual);
+        assertEquals(expected.width(), actual.width());
+        assertEquals(expected.height(), actual.height());
+        assertEquals(expected.maxWeight(), actual.maxWeight());
+        assertEquals(expected.minStraightWeight(), actual.minStraightWeight());
+        assertEquals(expected.minDiagonalWeight(), actual.minDiagonalWeight());
+        assertEquals(expected.weights(), actual.weights());
+    }
+
+    /**
+     * Overwrite the int at index `index` of the header of `file` with `value`.
+     */
+    private static void patchHeader(Path file, int index, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(value).flip(),
+                    (long) index * Integer.BYTES);
+        }
+    }
+
+    @DisplayName("WHEN a plane is stored, THEN loading it under the same key and dimensions "
+            + "returns the same weights and bounds, AND loading a key that was never stored "
+            + "returns null")
+    @Test
+    void testRoundTrip() throws IOException {
+        PlaneDiskCache cache = new PlaneDiskCache(directory, 1 << 20);
+        WeightPlane plane = randomPlane(13, 7, 1);
+        cache.store("a", plane);
+
+        assertEquals(fileSize(13, 7), Files.size(fileFor("a")));
+        assertSamePlane(plane, cache.load("a", 13, 7));
+        assertNull(cache.load("b", 13, 7));
+    }
+
+    @DisplayName("WHEN a plane is stored under a key that is already stored, THEN the new plane "
+            + "replaces the old one")
+    @Test
+    void testReplace() throws IOException {
+        PlaneDiskCache cache = new PlaneDiskCache(directory, 1 << 20);
+        cache.store("a", randomPlane(13, 7, 1));
+        WeightPlane replacement = randomPlane(13, 7, 2);
+        cache.store("a", replacement);
+        assertSamePlane(replacement, cache.load("a", 13, 7));
+    }
+
+    @DisplayName("GIVEN a stored plane whose file has been truncated, WHEN it is loaded, THEN null "
+            + "is returned")
+    @Test
+    void testTruncated() throws IOException {
+        PlaneDiskCache cache = new PlaneDiskCache(directory, 1 << 20);
+        cache.store("a", randomPlane(13, 7, 1));
+        try (FileChannel channel = FileChannel.open(fileFor("a"), StandardOpenOption.WRITE)) {
+            channel.truncate(fileSize(13, 7) - 1);
+        }
+        assertNull(cache.load("a", 13, 7));
+
+        try (FileChannel channel = FileChannel.open(fileFor("a"), StandardOpenOption.WRITE)) {
+            channel.truncate(Integer.BYTES);
+        }
+        assertNull(cache.load("a", 13, 7));
+    }
+
+    @DisplayName("GIVEN a stored plane, WHEN it is loaded for an image of different dimensions "
+            + "with the same number of pixels, THEN null is returned")
+    @Test
+    void testMismatchedDimensions() throws IOException {
+        PlaneDiskCache cache = new PlaneDiskCache(directory, 1 << 20);
+        cache.store("a", randomPlane(13, 7, 1));
+        assertNull(cache.load("a", 7, 13));
+        assertNull(cache.load("a", 13, 8));
+        assertNotNull(cache.load("a", 13, 7));
+    }
+
+    @DisplayName("GIVEN a stored plane whose header's magic number or format is wrong, WHEN it is "
+            + "loaded, THEN null is returned")
+    @Test
+    void testMismatchedHeader() throws IOException {
+        PlaneDiskCache cache = new PlaneDiskCache(directory, 1 << 20);
+        cache.store("a", randomPlane(13, 7, 1));
+        patchHeader(fileFor("a"), 0, PlaneDiskCache.MAGIC + 1);
+        assertNull(cache.load("a", 13, 7));
+
+        cache.store("b", randomPlane(13, 7, 2));
+        patchHeader(fileFor("b"), 1, PlaneDiskCache.FORMAT + 1);
+        assertNull(cache.load("b", 13, 7));
+    }
+
+    @DisplayName("GIVEN a cache that fits two planes, one of which was loaded after the other was "
+            + "stored, WHEN a third plane is stored, THEN the least recently used plane is "
+            + "evicted, AND the other two can still be loaded")
+    @Test
+    void testEvictsLeastRecentlyUsed() throws IOException {
+        PlaneDiskCache cache = new PlaneDiskCache(directory, 2 * fileSize(13, 7));
+        WeightPlane a = randomPlane(13, 7, 1);
+        WeightPlane b = randomPlane(13, 7, 2);
+        WeightPlane c = randomPlane(13, 7, 3);
+        cache.store("a", a);
+        cache.store("b", b);
+        // File times may be coarse, so age the planes explicitly: "a" was stored first, but is
+        //  then used more recently than "b".
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(fileFor("a"), FileTime.fromMillis(now - 20_000));
+        Files.setLastModifiedTime(fileFor("b"), FileTime.fromMillis(now - 10_000));
+        assertNotNull(cache.load("a", 13, 7));
+
+        cache.store("c", c);
+        assertFalse(Files.exists(fileFor("b")));
+        assertNull(cache.load("b", 13, 7));
+        assertSamePlane(a, cache.load("a", 13, 7));
+        assertSamePlane(c, cache.load("c", 13, 7));
+    }
+
+    @DisplayName("GIVEN a cache full of planes, WHEN a plane larger than the whole cache is "
+            + "stored, THEN it is skipped, AND no stored plane is evicted")
+    @Test
+    void testSkipsOversized() throws IOException {
+        PlaneDiskCache cache = new PlaneDiskCache(directory, fileSize(13, 7));
+        WeightPlane small = randomPlane(13, 7, 1);
+        cache.store("small", small);
+        cache.store("large", randomPlane(14, 7, 2));
+
+        assertFalse(Files.exists(fileFor("large")));
+        assertNull(cache.load("large", 14, 7));
+        assertSamePlane(small, cache.load("small", 13, 7));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count(), "Temporary files were left behind");
+        }
+    }
+
+    @DisplayName("WHEN images with the same pixels but different raster layouts are hashed, THEN "
+            + "their hashes are equal, AND changing a single sample changes the hash")
+    @Test
+    void testContentHash() {
+        BufferedImage packed = new BufferedImage(5, 3, BufferedImage.TYPE_INT_RGB);
+        BufferedImage interleaved = new BufferedImage(5, 3, BufferedImage.TYPE_3BYTE_BGR);
+        Random rng = new Random(4);
+        for (int y = 0; y < 3; ++y) {
+            for (int x = 0; x < 5; ++x) {
+                int rgb = rng.nextInt(1 << 24);
+                packed.setRGB(x, y, rgb);
+                interleaved.setRGB(x, y, rgb);
+            }
+        }
+        String hash = PlaneDiskCache.contentHash(packed);
+        assertEquals(hash, PlaneDiskCache.contentHash(interleaved));
+
+        interleaved.setRGB(4, 2, interleaved.getRGB(4, 2) ^ 1);
+        assertNotEquals(hash, PlaneDiskCache.contentHash(interleaved));
+    }
+}
@@ -0,0 +1,299 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static selector.SelectionModel.SelectionState.*;
+
+import graph.PathfindingSnapshot;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import selector.SelectionModel.SelectionState;
+
+/**
+ * A test suite for the background solves of `ScissorsSelectionModel`: preparing to solve off the
+ * EDT, speculative solves from pixels the cursor rests on, and the cache of complete paths they
+ * feed.  Models are driven on the EDT, as they are in the app, while the tests wait on their own
+ * thread.
+ */
+class ScissorsSelectionModelTest {
+
+    /**
+     * How long (in milliseconds) to wait for a model's background work before failing.
+     */
+    private static final long TIMEOUT_MS = 60_000;
+
+    /**
+     * Return an RGB image of size `width` x `height` whose pixels are drawn from a generator
+     * seeded with `seed`.
+     */
+    private static BufferedImage noiseImage(int width, int height, long seed) {
+        Random rng = new Random(seed);
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                img.setRGB(x, y, rng.nextInt(1 << 24));
+            }
+        }
+        return img;
+    }
+
+    /**
+     * An RGB image that counts reads of its raster from the EDT and from other threads, and that
+     * can hold the first read from another thread until released.  Weighing an image starts by
+     * reading its raster, so this shows where (and lets us pause while) a solve is prepared.
+     */
+    private static class WatchedImage extends BufferedImage {
+
+        /**
+         * Reads of our raster from the EDT and from other threads since we started watching.
+         */
+        final AtomicInteger edtReads = new AtomicInteger();
+        final AtomicInteger backgroundReads = new AtomicInteger();
+
+        /**
+         * Whether reads are being counted, and whether the next read from another thread should
+         * wait for `release`.
+         */
+        volatile boolean watching;
+        volatile boolean holding;
+
+        /**
+         * Counted down when a read from another thread is held, and awaited before letting it go.
+         */
+        final CountDownLatch held = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        WatchedImage(BufferedImage pixels) {
+            super(pixels.getWidth(), pixels.getHeight(), BufferedImage.TYPE_INT_RGB);
+            setData(pixels.getRaster());
+        }
+
+        @Override
+        public WritableRaster getRaster() {
+            if (watching) {
+                if (SwingUtilities.isEventDispatchThread()) {
+                    edtReads.incrementAndGet();
+                } else {
+                    backgroundReads.incrementAndGet();
+                    if (holding) {
+                        holding = false;
+                        held.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            }
+            return super.getRaster();
+        }
+    }
+
+    /**
+     * Run `action` on the EDT and wait for it to finish.
+     */
+    private static void onEdt(Runnable action) throws Exception {
+        SwingUtilities.invokeAndWait(action);
+    }
+
+    /**
+     * Wait until `condition`, evaluated on the EDT, is true.  Fails if it is not true within
+     * `TIMEOUT_MS`.
+     */
+    private static void await(BooleanSupplier condition, String description) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        boolean[] met = new boolean[1];
+        while (true) {
+            onEdt(() -> met[0] = condition.getAsBoolean());
+            if (met[0]) {
+                return;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting: " + description);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Return a model of `img` whose selection has been started at `start`, with the solve from
+     * there complete.
+     */
+    private static ScissorsSelectionModel startedModel(BufferedImage img, Point start)
+            throws Exception {
+        ScissorsSelectionModel model = new ScissorsSelectionModel("CrossGradMono", false);
+        onEdt(() -> {
+            model.setImage(img);
+            model.addPoint(start);
+        });
+        await(() -> model.state() == SELECTING, "first solve");
+        return model;
+    }
+
+    /**
+     * Rest the cursor on `p` while `model` is selecting, and return the speculative worker this
+     * starts once the cursor has rested long enough, after running `then` on the EDT in the same
+     * event as the worker was found (so that it cannot have finished in between as far as the
+     * model is concerned).
+     */
+    private static SwingWorker<PathfindingSnapshot, ImagePathsSnapshot> speculateAt(
+            ScissorsSelectionModel model, Point p, Runnable then) throws Exception {
+        onEdt(() -> model.hintLiveWire(p));
+        AtomicReference<SwingWorker<PathfindingSnapshot, ImagePathsSnapshot>> found =
+                new AtomicReference<>();
+        await(() -> {
+            found.set(model.speculativeWorker());
+            if (found.get() == null) {
+                return false;
+            }
+            then.run();
+            return true;
+        }, "speculation to start");
+        return found.get();
+    }
+
+    @DisplayName("GIVEN a selection in progress, WHEN the cursor rests on a pixel long enough, "
+            + "THEN paths from that pixel are solved for in the background and cached, AND adding "
+            + "a point there uses the cached paths without processing")
+    @Test
+    void testSpeculationCached() throws Exception {
+        BufferedImage img = noiseImage(80, 60, 1);
+        ScissorsSelectionModel model = startedModel(img, new Point(10, 10));
+        Point rest = new Point(60, 45);
+        int restId = ImageVertex.xyToId(rest.x, rest.y, img.getWidth());
+        speculateAt(model, rest, () -> {});
+        await(() -> model.pathsCache().contains(restId), "speculative paths to be cached");
+
+        List<SelectionState> states = new ArrayList<>();
+        model.addPropertyChangeListener("state", e -> states.add((SelectionState) e.getNewValue()));
+        onEdt(() -> {
+            model.addPoint(rest);
+            assertEquals(SELECTING, model.state());
+            assertNull(model.speculativeWorker());
+        });
+        assertFalse(states.contains(PROCESSING), "Cached paths were solved for again");
+        assertEquals(rest, model.lastPoint());
+        assertEquals(1, model.selection().size());
+    }
+
+    @DisplayName("GIVEN a speculative solve in progress, WHEN a point is added at its pixel, THEN "
+            + "the speculative solve becomes the model's solve instead of being cancelled, AND its "
+            + "paths are cached once it finishes")
+    @Test
+    void testSpeculationPromoted() throws Exception {
+        BufferedImage img = noiseImage(400, 300, 2);
+        ScissorsSelectionModel model = startedModel(img, new Point(20, 20));
+        Point rest = new Point(350, 250);
+        int restId = ImageVertex.xyToId(rest.x, rest.y, img.getWidth());
+        SwingWorker<PathfindingSnapshot, ImagePathsSnapshot> speculation = speculateAt(model,
+                rest, () -> {
+                    model.addPoint(rest);
+                    assertEquals(PROCESSING, model.state());
+                    assertNull(model.speculativeWorker());
+                });
+
+        await(() -> model.state() == SELECTING, "promoted solve");
+        assertTrue(speculation.isDone());
+        assertFalse(speculation.isCancelled());
+        assertTrue(model.pathsCache().contains(restId));
+        assertEquals(rest, model.lastPoint());
+    }
+
+    @DisplayName("GIVEN a speculative solve in progress, WHEN a point is added at a different "
+            + "pixel, THEN the speculative solve is dropped, AND its paths are never cached, AND "
+            + "the added point's paths are")
+    @Test
+    void testSpeculationDropped() throws Exception {
+        BufferedImage img = noiseImage(400, 300, 3);
+        ScissorsSelectionModel model = startedModel(img, new Point(20, 20));
+        Point rest = new Point(350, 250);
+        Point chosen = new Point(200, 30);
+        int width = img.getWidth();
+        SwingWorker<PathfindingSnapshot, ImagePathsSnapshot> speculation = speculateAt(model,
+                rest, () -> {
+                    model.addPoint(chosen);
+                    assertNull(model.speculativeWorker());
+                });
+
+        await(() -> model.state() == SELECTING && speculation.isDone(), "chosen point's solve");
+        assertFalse(model.pathsCache().contains(ImageVertex.xyToId(rest.x, rest.y, width)));
+        assertTrue(model.pathsCache().contains(ImageVertex.xyToId(chosen.x, chosen.y, width)));
+        assertEquals(chosen, model.lastPoint());
+    }
+
+    @DisplayName("GIVEN a new image, WHEN the first point is added, THEN its edges are weighed in "
+            + "the background rather than on the EDT, AND the model goes on to select from there")
+    @Test
+    void testPreparesOffEdt() throws Exception {
+        WatchedImage img = new WatchedImage(noiseImage(200, 150, 4));
+        ScissorsSelectionModel model = new ScissorsSelectionModel("CrossGradMono", false);
+        onEdt(() -> {
+            model.setImage(img);
+            img.watching = true;
+            model.addPoint(new Point(30, 40));
+            assertEquals(PROCESSING, model.state());
+        });
+        await(() -> model.state() == SELECTING, "first solve");
+
+        assertEquals(0, img.edtReads.get(), "The image was read on the EDT");
+        assertTrue(img.backgroundReads.get() > 0, "The image was never weighed");
+        assertTrue(ScissorsWeights.hasPlane("CrossGradMono", img));
+        assertTrue(model.pathsCache().contains(ImageVertex.xyToId(30, 40, img.getWidth())));
+    }
+
+    @DisplayName("GIVEN the first point's solve is still weighing the image, WHEN it is "
+            + "cancelled, THEN the model stops processing without publishing any paths, AND the "
+            + "partly computed weights are dropped, AND adding the point again weighs the image "
+            + "afresh and selects from there")
+    @Test
+    void testCancelDuringPreparation() throws Exception {
+        WatchedImage img = new WatchedImage(noiseImage(200, 150, 5));
+        ScissorsSelectionModel model = new ScissorsSelectionModel("CrossGradMono", false);
+        AtomicInteger pending = new AtomicInteger();
+        model.addPropertyChangeListener("pending-paths", e -> pending.incrementAndGet());
+        Point start = new Point(100, 75);
+        onEdt(() -> {
+            model.setImage(img);
+            img.watching = true;
+            img.holding = true;
+            model.addPoint(start);
+        });
+        assertTrue(img.held.await(TIMEOUT_MS, TimeUnit.MILLISECONDS), "The image was never read");
+
+        // The solve only notices that it was cancelled once it goes on weighing.
+        onEdt(() -> {
+            assertEquals(PROCESSING, model.state());
+            model.cancelProcessing();
+        });
+        img.release.countDown();
+        await(() -> model.state() == NO_SELECTION, "cancellation");
+        assertTrue(model.selection().isEmpty());
+        assertEquals(0, pending.get(), "Paths were published by a cancelled solve");
+        assertFalse(ScissorsWeights.hasPlane("CrossGradMono", img));
+        int readsBeforeRetry = img.backgroundReads.get();
+
+        // The second solve must weigh the image itself, since the first gave up on its weights.
+        onEdt(() -> model.addPoint(start));
+        await(() -> model.state() == SELECTING, "second solve");
+        assertTrue(img.backgroundReads.get() > readsBeforeRetry, "The image was not reweighed");
+        assertEquals(0, img.edtReads.get(), "The image was read on the EDT");
+        assertTrue(ScissorsWeights.hasPlane("CrossGradMono", img));
+        ImageGraph graph = new ImageGraph(img);
+        assertTrue(ScissorsWeights.weightPlane("CrossGradMono", graph).matches(
+                ScissorsWeights.makePixelWeigher("CrossGradMono", graph)));
+        assertTrue(model.pathsCache().contains(
+                ImageVertex.xyToId(start.x, start.y, img.getWidth())));
+        assertTrue(pending.get() > 0);
+    }
+}
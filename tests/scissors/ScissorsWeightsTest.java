@@ -0,0 +1,99 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for the shared weight planes of `ScissorsWeights`, checking that computing one can
+ * be cancelled partway without leaving a broken plane behind.
+ */
+class ScissorsWeightsTest {
+
+    /**
+     * The weigher whose planes we compute.
+     */
+    private static final String WEIGHER = "CrossGradMono";
+
+    @DisplayName("WHEN a plane is built row by row and cancellation is requested partway, THEN it "
+            + "stops at the next row by throwing a CancellationException")
+    @Test
+    void testCancelWithinRows() {
+        ImageGraph graph = new ImageGraph(CompositeWeigherTest.diskImage(60, 40, 1));
+        ScissorsWeights.CrossGradWeigher weigher = new ScissorsWeights.CrossGradMonoWeight(graph);
+
+        AtomicInteger rows = new AtomicInteger();
+        assertThrows(CancellationException.class, () -> ScissorsWeights.crossGradPlane(
+                weigher.intensities(), () -> rows.incrementAndGet() > 10));
+        assertEquals(11, rows.get());
+
+        rows.set(0);
+        assertThrows(CancellationException.class, () -> WeightPlane.build(graph, weigher,
+                ScissorsWeights.MAX_WEIGHT, () -> rows.incrementAndGet() > 10));
+        assertEquals(11, rows.get());
+    }
+
+    @DisplayName("GIVEN a plane that has never been computed, WHEN the call computing it is "
+            + "cancelled partway, THEN that call returns null, AND no plane is cached, AND the "
+            + "next call computes the plane afresh")
+    @Test
+    void testCancelledPlaneNotCached() {
+        ImageGraph graph = new ImageGraph(CompositeWeigherTest.diskImage(200, 150, 2));
+        AtomicInteger checks = new AtomicInteger();
+        assertNull(ScissorsWeights.weightPlane(WEIGHER, graph, percent -> {},
+                () -> checks.incrementAndGet() > 20));
+        assertTrue(checks.get() < graph.height(), "Cancellation was not noticed within the rows");
+        assertFalse(ScissorsWeights.hasPlane(WEIGHER, graph.image()));
+
+        WeightPlane plane = ScissorsWeights.weightPlane(WEIGHER, graph);
+        assertTrue(plane.matches(ScissorsWeights.makePixelWeigher(WEIGHER, graph)));
+        assertTrue(ScissorsWeights.hasPlane(WEIGHER, graph.image()));
+        assertSame(plane, ScissorsWeights.weightPlane(WEIGHER, graph, percent -> {},
+                () -> true));
+    }
+
+    @DisplayName("GIVEN a thread waiting for a plane that another thread is computing, WHEN the "
+            + "computing thread is cancelled, THEN the waiting thread computes the plane itself "
+            + "and returns it")
+    @Test
+    void testWaiterComputesCancelledPlane() throws Exception {
+        ImageGraph graph = new ImageGraph(CompositeWeigherTest.diskImage(200, 150, 3));
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+        AtomicReference<WeightPlane> owned = new AtomicReference<>();
+        Thread owner = new Thread(() -> owned.set(ScissorsWeights.weightPlane(WEIGHER, graph,
+                percent -> {}, () -> {
+                    computing.countDown();
+                    try {
+                        // Give the waiting thread time to start waiting for our plane.
+                        waiting.await();
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return true;
+                })));
+        owner.start();
+        assertTrue(computing.await(30, TimeUnit.SECONDS));
+
+        AtomicReference<WeightPlane> waited = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            waiting.countDown();
+            waited.set(ScissorsWeights.weightPlane(WEIGHER, graph));
+        });
+        waiter.start();
+        owner.join(30_000);
+        waiter.join(30_000);
+
+        assertNull(owned.get());
+        assertNotNull(waited.get());
+        assertTrue(waited.get().matches(ScissorsWeights.makePixelWeigher(WEIGHER, graph)));
+        assertTrue(ScissorsWeights.hasPlane(WEIGHER, graph.image()));
+    }
+}
@@ -0,0 +1,113 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import graph.PathfindingSnapshot;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for `SearchWindow`, which steers bounded searches.
+ */
+class SearchWindowTest {
+
+    /**
+     * Return a snapshot that reports exactly the pixels accepted by `settled` as settled.  The
+     * snapshot's own arrays are not consulted, so it may stand in for searches of any image.
+     */
+    private static PathfindingSnapshot snapshot(IntPredicate settled) {
+        return new PathfindingSnapshot(0, new int[1], new int[]{-1}, new BitSet()) {
+            @Override
+            public boolean settled(int id) {
+                return settled.test(id);
+            }
+        };
+    }
+
+    @DisplayName("WHEN a window is created around a pixel near the image's corner, THEN it is "
+            + "clipped to the image, AND it contains exactly the pixels in its clipped bounds")
+    @Test
+    void testAroundClipped() {
+        ImageGraph graph = new ImageGraph(new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB));
+        SearchWindow window = SearchWindow.around(graph, 1, 2, 3);
+        // Columns [0..4] and rows [0..5].
+        assertEquals(5 * 6, window.area());
+        assertTrue(window.contains(0, 0));
+        assertTrue(window.contains(4, 5));
+        assertFalse(window.contains(5, 5));
+        assertFalse(window.contains(4, 6));
+    }
+
+    @DisplayName("GIVEN a window, WHEN it is asked for its next unsettled pixel as a search "
+            + "progresses, THEN it returns the first unsettled pixel in row-major order, AND its "
+            + "percentage settled counts the pixels before it, AND once every pixel is settled it "
+            + "returns -1 and reports 100 percent")
+    @Test
+    void testNextUnsettled() {
+        int width = 20;
+        ImageGraph graph = new ImageGraph(new BufferedImage(width, 10,
+                BufferedImage.TYPE_INT_RGB));
+        SearchWindow window = new SearchWindow(graph, new Rectangle(5, 3, 4, 5));
+        BitSet settled = new BitSet();
+        PathfindingSnapshot paths = snapshot(settled::get);
+
+        assertEquals(ImageVertex.xyToId(5, 3, width), window.nextUnsettled(paths));
+        assertEquals(0, window.percentSettled());
+
+        // Settle the first row of the window and one pixel beyond it.
+        for (int x = 5; x < 9; ++x) {
+            settled.set(ImageVertex.xyToId(x, 3, width));
+        }
+        settled.set(ImageVertex.xyToId(6, 4, width));
+        assertEquals(ImageVertex.xyToId(5, 4, width), window.nextUnsettled(paths));
+        assertEquals(4 * 100 / 20, window.percentSettled());
+
+        settled.set(0, width * 10);
+        assertEquals(-1, window.nextUnsettled(paths));
+        assertEquals(100, window.percentSettled());
+    }
+
+    @DisplayName("GIVEN a window of more than 21.4 million pixels, all but the last of which are "
+            + "settled, WHEN its percentage settled is requested, THEN it is 99 rather than an "
+            + "overflowed negative value")
+    @Test
+    void testPercentSettledLargeWindow() {
+        int size = 5000;
+        SearchWindow window = new SearchWindow(size, size, new Rectangle(size, size));
+        int last = ImageVertex.xyToId(size - 1, size - 1, size);
+        assertEquals(last, window.nextUnsettled(snapshot(id -> id != last)));
+        assertEquals(99, window.percentSettled());
+    }
+
+    @DisplayName("GIVEN a window, WHEN it is grown to include a pixel outside of it, THEN the "
+            + "grown window contains the original window, the pixel, and a margin of at least half "
+            + "the original window's larger dimension around the pixel, clipped to the image, AND "
+            + "its scan starts over")
+    @Test
+    void testGrownToInclude() {
+        ImageGraph graph = new ImageGraph(new BufferedImage(100, 80,
+                BufferedImage.TYPE_INT_RGB));
+        SearchWindow window = new SearchWindow(graph, new Rectangle(40, 30, 10, 6));
+        window.nextUnsettled(snapshot(id -> true));
+        assertEquals(100, window.percentSettled());
+
+        SearchWindow grown = window.grownToInclude(graph, 70, 33);
+        for (int y = 30; y < 36; ++y) {
+            for (int x = 40; x < 50; ++x) {
+                assertTrue(grown.contains(x, y));
+            }
+        }
+        assertTrue(grown.contains(70, 33));
+        assertTrue(grown.contains(75, 38));
+        assertTrue(grown.contains(75, 28));
+        assertEquals(0, grown.percentSettled());
+
+        SearchWindow clipped = window.grownToInclude(graph, 99, 79);
+        assertTrue(clipped.contains(99, 79));
+        assertTrue(clipped.area() <= 100 * 80);
+    }
+}
@@ -0,0 +1,180 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test suite for `TiledWeightPlane`, checking its lazily computed tiles against the eagerly
+ * computed `ScissorsWeights.crossGradPlane()` of the same image.
+ */
+class TiledWeightPlaneTest {
+
+    /**
+     * The dimensions of our test image: not multiples of `TILE_SIZE`, so that the last column and
+     * row of tiles are partial, and spanning more than `MIN_TILES` tiles, so that a plane with the
+     * smallest budget must evict some.
+     */
+    private static final int WIDTH = 4 * TiledWeightPlane.TILE_SIZE + 77;
+    private static final int HEIGHT = 2 * TiledWeightPlane.TILE_SIZE + 131;
+
+    /**
+     * The number of tiles covering our test image.
+     */
+    private static final int TILE_COUNT = Math.ceilDiv(WIDTH, TiledWeightPlane.TILE_SIZE)
+            * Math.ceilDiv(HEIGHT, TiledWeightPlane.TILE_SIZE);
+
+    /**
+     * Return an RGB image of size `width` x `height` whose pixels mix smooth ramps with noise drawn
+     * from a generator seeded with `seed`, so that its weights vary across every tile.
+     */
+    private static BufferedImage testImage(int width, int height, long seed) {
+        Random rng = new Random(seed);
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                int r = (x + rng.nextInt(64)) & 0xFF;
+                int g = (y * 3 + rng.nextInt(16)) & 0xFF;
+                int b = ((x ^ y) + rng.nextInt(128)) & 0xFF;
+                img.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return img;
+    }
+
+    /**
+     * A source of cross-gradient tiles of a raster's luminance that counts how many tiles it has
+     * computed.
+     */
+    private static class CountingSource implements TiledWeightPlane.TileSource {
+
+        private final TiledWeightPlane.TileSource source;
+
+        final AtomicInteger computed = new AtomicInteger();
+
+        CountingSource(Raster raster) {
+            source = ScissorsWeights.crossGradTiles(raster, PixelPlane::luminance);
+        }
+
+        @Override
+        public ScissorsWeights.PixelWeigher forRegion(int x0, int y0, int w, int h) {
+            computed.incrementAndGet();
+            return source.forRegion(x0, y0, w, h);
+        }
+    }
+
+    /**
+     * Assert that every edge leaving pixel (`x`, `y`) weighs the same in `tiled` as in `expected`,
+     * and that `tiled` holds no more than `maxTiles` tiles.
+     */
+    private static void assertPixelMatches(WeightPlane expected, TiledWeightPlane tiled,
+            int maxTiles, int x, int y) {
+        for (int dir = 0; dir < 8; ++dir) {
+            int nx = x + CompiledImageGraph.DX[dir];
+            int ny = y + CompiledImageGraph.DY[dir];
+            if (nx < 0 || nx >= WIDTH || ny < 0 || ny >= HEIGHT) {
+                continue;
+            }
+            assertEquals(expected.weight(x, y, dir), tiled.weight(x, y, dir),
+                    "Edge from (" + x + ", " + y + ") in direction " + dir);
+            assertEquals(expected.weight(ImageVertex.xyToId(x, y, WIDTH), dir),
+                    tiled.weight(ImageVertex.xyToId(x, y, WIDTH), dir));
+        }
+        int loaded = tiled.loadedTiles();
+        assertTrue(loaded <= maxTiles, loaded + " tiles loaded, but at most " + maxTiles
+                + " are allowed");
+    }
+
+    @DisplayName("GIVEN an image whose size is not a multiple of the tile size, WHEN every edge is "
+            + "weighed by a tiled plane with room for all tiles, THEN every weight matches the "
+            + "eagerly computed plane, including at tile boundaries and the image's border, AND "
+            + "every tile ends up loaded")
+    @Test
+    void testMatchesPlane() {
+        Raster raster = testImage(WIDTH, HEIGHT, 1).getRaster();
+        WeightPlane expected = ScissorsWeights.crossGradPlane(PixelPlane.luminance(raster));
+        TiledWeightPlane tiled = new TiledWeightPlane(WIDTH, HEIGHT,
+                new CountingSource(raster), Long.MAX_VALUE, 0, 0);
+        for (int y = 0; y < HEIGHT; ++y) {
+            for (int x = 0; x < WIDTH; ++x) {
+                assertPixelMatches(expected, tiled, TILE_COUNT, x, y);
+            }
+        }
+        assertEquals(TILE_COUNT, tiled.loadedTiles());
+    }
+
+    @DisplayName("GIVEN a tiled plane whose budget only fits the fewest tiles it keeps, WHEN every "
+            + "edge is weighed in a forward sweep and again in a backward sweep, THEN tiles are "
+            + "evicted and reloaded, AND every weight still matches the eagerly computed plane, "
+            + "AND no more tiles than allowed are ever loaded")
+    @Test
+    void testEvictionAndReload() {
+        Raster raster = testImage(WIDTH, HEIGHT, 2).getRaster();
+        WeightPlane expected = ScissorsWeights.crossGradPlane(PixelPlane.luminance(raster));
+        CountingSource source = new CountingSource(raster);
+        TiledWeightPlane tiled = new TiledWeightPlane(WIDTH, HEIGHT, source,
+                TiledWeightPlane.TILE_BYTES, 0, 0);
+        int maxTiles = TiledWeightPlane.MIN_TILES;
+        assertTrue(TILE_COUNT > maxTiles);
+
+        for (int y = 0; y < HEIGHT; ++y) {
+            for (int x = 0; x < WIDTH; ++x) {
+                assertPixelMatches(expected, tiled, maxTiles, x, y);
+            }
+        }
+        for (int y = HEIGHT - 1; y >= 0; --y) {
+            for (int x = WIDTH - 1; x >= 0; --x) {
+                assertPixelMatches(expected, tiled, maxTiles, x, y);
+            }
+        }
+        assertTrue(source.computed.get() > TILE_COUNT,
+                "Only " + source.computed.get() + " tiles were computed, so none were reloaded");
+    }
+
+    @DisplayName("GIVEN a tiled plane whose budget only fits the fewest tiles it keeps, WHEN "
+            + "several threads sweep interleaved rows at once, THEN every weight matches the "
+            + "eagerly computed plane, AND no more tiles than allowed are ever loaded")
+    @Test
+    void testConcurrentReaders() throws InterruptedException {
+        Raster raster = testImage(WIDTH, HEIGHT, 3).getRaster();
+        WeightPlane expected = ScissorsWeights.crossGradPlane(PixelPlane.luminance(raster));
+        TiledWeightPlane tiled = new TiledWeightPlane(WIDTH, HEIGHT, new CountingSource(raster),
+                0, 0, 0);
+        int maxTiles = TiledWeightPlane.MIN_TILES;
+        int threadCount = 4;
+
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; ++i) {
+            int firstRow = i;
+            Thread thread = new Thread(() -> {
+                // Threads load and evict the same tiles at about the same time.
+                for (int y = firstRow; y < HEIGHT; y += threadCount) {
+                    for (int x = 0; x < WIDTH; ++x) {
+                        assertPixelMatches(expected, tiled, maxTiles, x, y);
+                    }
+                }
+            });
+            thread.setUncaughtExceptionHandler((t, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!failures.isEmpty()) {
+            fail(failures.getFirst());
+        }
+    }
+}
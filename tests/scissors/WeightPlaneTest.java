@@ -0,0 +1,148 @@
+package scissors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import scissors.ScissorsWeights.PixelWeigher;
+
+/**
+ * A test suite for `WeightPlane`, checking that storing four directions per pixel reproduces the
+ * weights of all eight, and that `matches()` notices any edge that disagrees.
+ */
+class WeightPlaneTest {
+
+    /**
+     * Image sizes to test, including single rows and columns.
+     */
+    private static final int[][] SIZES = {{1, 1}, {1, 5}, {5, 1}, {2, 2}, {7, 4}, {16, 9}};
+
+    /**
+     * A weight that no valid edge has, returned for edges that leave the image.
+     */
+    private static final int INVALID = 999;
+
+    /**
+     * Return a symmetric weigher for an image of size `width` x `height` that gives every edge a
+     * weight in [0..255] determined by the pair of pixels it joins, so that edges in opposite
+     * directions between the same pixels agree and different edges mostly do not.  Edges leaving
+     * the image weigh `INVALID`.
+     */
+    private static PixelWeigher pairWeigher(int width, int height) {
+        return (x, y, dir) -> {
+            int nx = x + CompiledImageGraph.DX[dir];
+            int ny = y + CompiledImageGraph.DY[dir];
+            if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                return INVALID;
+            }
+            int a = ImageVertex.xyToId(x, y, width);
+            int b = ImageVertex.xyToId(nx, ny, width);
+            int lo = Math.min(a, b);
+            int hi = Math.max(a, b);
+            return ((lo * 37 + hi * 101) ^ (hi >> 2)) & 0xFF;
+        };
+    }
+
+    /**
+     * Return `source`, except that the edge leaving the pixel at (`x0`, `y0`) in direction `dir0`
+     * weighs one more (modulo 256), making it disagree with the edge in the opposite direction.
+     */
+    private static PixelWeigher perturbed(PixelWeigher source, int x0, int y0, int dir0) {
+        return (x, y, dir) -> {
+            int w = source.weight(x, y, dir);
+            return (x == x0 && y == y0 && dir == dir0) ? (w + 1) & 0xFF : w;
+        };
+    }
+
+    /**
+     * Return whether the neighbor of the pixel at (`x`, `y`) in direction `dir` is within an image
+     * of size `width` x `height`.
+     */
+    private static boolean inImage(int x, int y, int dir, int width, int height) {
+        int nx = x + CompiledImageGraph.DX[dir];
+        int ny = y + CompiledImageGraph.DY[dir];
+        return nx >= 0 && nx < width && ny >= 0 && ny < height;
+    }
+
+    @DisplayName("GIVEN a symmetric weigher, WHEN its plane is built, THEN every edge in all eight "
+            + "directions weighs what the weigher says, AND each edge weighs the same as the edge "
+            + "back from its neighbor, AND only directions 0-3 are stored for each pixel, with "
+            + "slots for edges leaving the image left 0, AND the plane's minimum weights are the "
+            + "least straight and diagonal weights")
+    @Test
+    void testSymmetricSlots() {
+        for (int[] size : SIZES) {
+            int width = size[0];
+            int height = size[1];
+            String description = width + "x" + height;
+            ImageGraph graph = new ImageGraph(new BufferedImage(width, height,
+                    BufferedImage.TYPE_INT_RGB));
+            PixelWeigher source = pairWeigher(width, height);
+            WeightPlane plane = WeightPlane.build(graph, source, 255);
+            ByteBuffer stored = plane.weights();
+            assertEquals(WeightPlane.SLOTS * width * height, stored.remaining(), description);
+
+            int minStraight = 255;
+            int minDiagonal = 255;
+            for (int y = 0; y < height; ++y) {
+                for (int x = 0; x < width; ++x) {
+                    int id = ImageVertex.xyToId(x, y, width);
+                    for (int dir = 0; dir < 8; ++dir) {
+                        String edge = description + ": edge from (" + x + ", " + y
+                                + ") in direction " + dir;
+                        boolean valid = inImage(x, y, dir, width, height);
+                        if (dir < WeightPlane.SLOTS) {
+                            int slot = stored.get(WeightPlane.SLOTS * id + dir) & 0xFF;
+                            assertEquals(valid ? source.weight(x, y, dir) : 0, slot, edge);
+                        }
+                        if (!valid) {
+                            continue;
+                        }
+                        int w = plane.weight(x, y, dir);
+                        assertEquals(source.weight(x, y, dir), w, edge);
+                        assertEquals(w, plane.weight(id, dir), edge);
+                        int back = (dir + 4) % 8;
+                        assertEquals(w, plane.weight(x + CompiledImageGraph.DX[dir],
+                                y + CompiledImageGraph.DY[dir], back), edge);
+                        if (dir % 2 == 0) {
+                            minStraight = Math.min(minStraight, w);
+                        } else {
+                            minDiagonal = Math.min(minDiagonal, w);
+                        }
+                    }
+                }
+            }
+            assertEquals(minStraight, plane.minStraightWeight(), description);
+            assertEquals(minDiagonal, plane.minDiagonalWeight(), description);
+            assertTrue(plane.matches(source), description);
+        }
+    }
+
+    @DisplayName("GIVEN a plane, WHEN it is matched against a weigher that disagrees with it on a "
+            + "single edge in any direction, including those read from a neighbor's slots and "
+            + "those at the image's corners, THEN it does not match, AND it still matches its own "
+            + "weigher, whose weights for edges leaving the image are ignored")
+    @Test
+    void testMatches() {
+        int width = 7;
+        int height = 4;
+        ImageGraph graph = new ImageGraph(new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_RGB));
+        PixelWeigher source = pairWeigher(width, height);
+        WeightPlane plane = WeightPlane.build(graph, source, 255);
+        assertTrue(plane.matches(source));
+
+        int[][] pixels = {{0, 0}, {width - 1, 0}, {0, height - 1}, {width - 1, height - 1},
+                {3, 2}};
+        for (int[] p : pixels) {
+            for (int dir = 0; dir < 8; ++dir) {
+                if (inImage(p[0], p[1], dir, width, height)) {
+                    assertFalse(plane.matches(perturbed(source, p[0], p[1], dir)),
+                            "Edge from (" + p[0] + ", " + p[1] + ") in direction " + dir);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package selector;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static selector.SelectionModel.SelectionState.*;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import scissors.ImagePathsSnapshot;
+import scissors.ScissorsSelectionModel;
+
+/**
+ * A test suite for `ProgressOverlay`, replaying the progress snapshots published by a real solve
+ * and checking the overlay's shading against each snapshot's statuses.
+ */
+class ProgressOverlayTest {
+
+    /**
+     * The dimensions of our test image: large enough that its solve publishes several snapshots.
+     */
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 200;
+
+    private static final int SETTLED = 0x80C0C060;
+    private static final int FRONTIER = 0x806060C0;
+
+    /**
+     * The progress snapshots published by a solve from the middle of our test image, in order.
+     */
+    private static List<ImagePathsSnapshot> snapshots;
+
+    /**
+     * Solve for paths from the middle of a noisy image, recording every progress snapshot.
+     * Snapshots stay valid views of the solve's statuses at the time they were published, so they
+     * may be replayed once the solve is done.
+     */
+    @BeforeAll
+    static void recordSolve() throws Exception {
+        Random rng = new Random(17);
+        BufferedImage img = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < HEIGHT; ++y) {
+            for (int x = 0; x < WIDTH; ++x) {
+                img.setRGB(x, y, rng.nextInt(1 << 24));
+            }
+        }
+        ScissorsSelectionModel model = new ScissorsSelectionModel("CrossGradMono", false);
+        model.setImage(img);
+        List<ImagePathsSnapshot> recorded = new ArrayList<>();
+        model.addPropertyChangeListener(e -> {
+            if (e.getPropertyName().equals("pending-paths")
+                    && e.getNewValue() instanceof ImagePathsSnapshot snapshot) {
+                recorded.add(snapshot);
+            }
+        });
+        SwingUtilities.invokeAndWait(() -> model.addPoint(new Point(WIDTH / 2, HEIGHT / 2)));
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (model.state() == PROCESSING) {
+            assertTrue(System.currentTimeMillis() < deadline, "Solve did not finish");
+            Thread.sleep(10);
+        }
+        // Deliver any snapshots still queued for the EDT.
+        SwingUtilities.invokeAndWait(() -> {});
+        snapshots = recorded;
+        assertTrue(snapshots.size() >= 3, "Only " + snapshots.size() + " snapshots published");
+    }
+
+    /**
+     * Assert that `overlay` shades exactly the pixels of `region` by their statuses in `snapshot`,
+     * and leaves every other pixel transparent.
+     */
+    private static void assertShows(ImagePathsSnapshot snapshot, Rectangle region,
+            ProgressOverlay overlay, String description) {
+        Point p = new Point();
+        for (p.y = 0; p.y < HEIGHT; ++p.y) {
+            for (p.x = 0; p.x < WIDTH; ++p.x) {
+                int expected = !region.contains(p) ? 0
+                        : snapshot.settled(p) ? SETTLED
+                        : snapshot.discovered(p) ? FRONTIER : 0;
+                if (overlay.colorAt(p.x, p.y) != expected) {
+                    fail(description + ": pixel " + p + " shaded "
+                            + Integer.toHexString(overlay.colorAt(p.x, p.y)) + " instead of "
+                            + Integer.toHexString(expected));
+                }
+            }
+        }
+    }
+
+    @DisplayName("GIVEN a solve's snapshots, each of which lists its changes since the last, WHEN "
+            + "they are applied in order to an overlay of part of the image, THEN after each one "
+            + "the overlay shows that snapshot's statuses within its region and nothing outside")
+    @Test
+    void testIncremental() {
+        for (int i = 1; i < snapshots.size(); ++i) {
+            assertTrue(snapshots.get(i).follows(snapshots.get(i - 1)),
+                    "Snapshot " + i + " does not list its changes");
+        }
+        Rectangle region = new Rectangle(40, 30, 170, 120);
+        ProgressOverlay overlay = new ProgressOverlay(WIDTH, SETTLED, FRONTIER);
+        for (int i = 0; i < snapshots.size(); ++i) {
+            overlay.update(snapshots.get(i), region);
+            assertShows(snapshots.get(i), region, overlay, "Snapshot " + i);
+        }
+    }
+
+    @DisplayName("GIVEN an overlay showing a solve's first snapshot, WHEN it is given a snapshot "
+            + "that does not follow the one it shows, THEN it rescans its region to show that "
+            + "snapshot's statuses, AND later snapshots that follow it are applied incrementally")
+    @Test
+    void testRescanAfterSkip() {
+        Rectangle region = new Rectangle(WIDTH, HEIGHT);
+        ProgressOverlay overlay = new ProgressOverlay(WIDTH, SETTLED, FRONTIER);
+        overlay.update(snapshots.get(0), region);
+        int skipTo = snapshots.size() / 2 + 1;
+        overlay.update(snapshots.get(skipTo), region);
+        assertShows(snapshots.get(skipTo), region, overlay, "Skipped to snapshot " + skipTo);
+        for (int i = skipTo + 1; i < snapshots.size(); ++i) {
+            overlay.update(snapshots.get(i), region);
+            assertShows(snapshots.get(i), region, overlay, "Snapshot " + i);
+        }
+    }
+
+    @DisplayName("GIVEN an overlay partway through a solve, WHEN its region moves (as when the "
+            + "view is scrolled or resized), THEN it shows the current snapshot's statuses in the "
+            + "new region, AND later snapshots are applied there, AND it restarts cleanly when a "
+            + "new solve begins")
+    @Test
+    void testRegionMoves() {
+        ProgressOverlay overlay = new ProgressOverlay(WIDTH, SETTLED, FRONTIER);
+        Rectangle first = new Rectangle(0, 0, 120, 90);
+        int middle = snapshots.size() / 2;
+        for (int i = 0; i <= middle; ++i) {
+            overlay.update(snapshots.get(i), first);
+        }
+
+        // Same size, elsewhere, so the buffer is reused.
+        Rectangle second = new Rectangle(150, 100, 120, 90);
+        overlay.update(snapshots.get(middle), second);
+        assertShows(snapshots.get(middle), second, overlay, "Moved");
+
+        // A different size, so the buffer is replaced.
+        Rectangle third = new Rectangle(100, 50, 200, 150);
+        overlay.update(snapshots.get(middle), third);
+        assertShows(snapshots.get(middle), third, overlay, "Resized");
+        for (int i = middle + 1; i < snapshots.size(); ++i) {
+            overlay.update(snapshots.get(i), third);
+            assertShows(snapshots.get(i), third, overlay, "Snapshot " + i);
+        }
+
+        // Replaying the solve from its start clears what the last snapshot showed.
+        overlay.update(snapshots.get(0), third);
+        assertShows(snapshots.get(0), third, overlay, "Restarted");
+
+        // Hidden views shade nothing.
+        overlay.update(snapshots.get(1), new Rectangle());
+        assertShows(snapshots.get(1), new Rectangle(), overlay, "Hidden");
+    }
+}